@@ -0,0 +1,71 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.model.Gender;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applicant Factory
+ * <p>
+ *     Produces valid {@link CreateApplicant} DTOs whose unique identifiers
+ *     (email, phone, driver's license and Social Security number) never repeat
+ *     within a JVM so benchmark invocations never hit a conflict.
+ * </p>
+ */
+public final class ApplicantFactory {
+
+    /**
+     * Income that passes the default underwriting rules. ($45,000.00)
+     */
+    public static final int APPROVED_INCOME = 4500000;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ApplicantFactory() {
+    }
+
+    /**
+     * Create a unique applicant DTO.
+     * @param income Annual income in cents.
+     * @return CreateApplicant with unique identifiers.
+     */
+    public static CreateApplicant createApplicant(int income) {
+        long n = SEQUENCE.incrementAndGet();
+        return CreateApplicant.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .gender(Gender.FEMALE)
+                .dateOfBirth(LocalDate.of(1985, 4, 12))
+                .email(String.format("bench%d@benchmark.com", n))
+                .phone(String.format("(%03d) %03d-%04d", 200 + n / 10000000 % 800, n / 10000 % 1000, n % 10000))
+                .socialSecurity(String.format("%03d-%02d-%04d", 100 + n / 900000 % 800, 10 + n / 10000 % 90, n % 10000))
+                .driversLicense(String.format("BM%010d", n))
+                .address("1234 Benchmark St.")
+                .city("Townsville")
+                .state("Maine")
+                .zipcode("12345")
+                .mailingAddress("1234 Benchmark St.")
+                .mailingCity("Townsville")
+                .mailingState("Maine")
+                .mailingZipcode("12345")
+                .income(income)
+                .build();
+    }
+
+    /**
+     * Create a set of unique applicant DTOs that will be approved.
+     * @param count Amount of applicants in the set.
+     * @return LinkedHashSet of applicants. The first one is the primary applicant.
+     */
+    public static LinkedHashSet<CreateApplicant> createApplicants(int count) {
+        LinkedHashSet<CreateApplicant> applicants = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            applicants.add(createApplicant(APPROVED_INCOME));
+        }
+        return applicants;
+    }
+
+}
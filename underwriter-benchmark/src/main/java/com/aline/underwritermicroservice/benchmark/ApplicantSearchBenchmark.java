@@ -0,0 +1,129 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.repository.ApplicantRepository;
+import com.aline.core.util.SearchSpecification;
+import com.aline.underwritermicroservice.repository.SpecificationRepository;
+import com.aline.underwritermicroservice.service.ApplicantSearchIndex;
+import com.aline.underwritermicroservice.service.ApplicantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applicant Search Benchmark
+ * <p>
+ *     Compares the latency of the first page of an applicant search answered by the
+ *     {@link ApplicantSearchIndex} against the <code>LIKE</code> based {@link SearchSpecification}
+ *     query and count it replaces, with 100 thousand and 1 million applicants.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ApplicantSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"John", "Mary", "Bruce", "Diana", "Peter", "Tony", "Barry", "Clark"};
+    private static final String[] LAST_NAMES = {"Smith", "Wayne", "Prince", "Parker", "Stark", "Allen", "Kent", "Jones"};
+    private static final String[][] CITIES = {
+            {"Los Angeles", "California"}, {"Detroit", "Michigan"}, {"Chicago", "Illinois"},
+            {"Houston", "Texas"}, {"Miami", "Florida"}, {"Seattle", "Washington"}
+    };
+    private static final int INSERT_BATCH_SIZE = 5000;
+
+    @Param({"100000", "1000000"})
+    int applicants;
+
+    @Param({"michigan", "john smith", "kent42"})
+    String search;
+
+    private ConfigurableApplicationContext context;
+    private ApplicantService applicantService;
+    private ApplicantRepository applicantRepository;
+    private SpecificationRepository specificationRepository;
+
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        applicantService = context.getBean(ApplicantService.class);
+        applicantRepository = context.getBean(ApplicantRepository.class);
+        specificationRepository = context.getBean(SpecificationRepository.class);
+
+        insertApplicants(context.getBean(JdbcTemplate.class));
+        context.getBean(ApplicantSearchIndex.class).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void indexedSearch(Blackhole blackhole) {
+        blackhole.consume(applicantService.getApplicants(pageable, search));
+    }
+
+    @Benchmark
+    public void specificationSearch(Blackhole blackhole) {
+        SearchSpecification<Applicant> spec = new SearchSpecification<>(search);
+        blackhole.consume(specificationRepository.findContent(Applicant.class, spec, pageable));
+        blackhole.consume(applicantRepository.count(spec));
+    }
+
+    private void insertApplicants(JdbcTemplate jdbcTemplate) {
+        String sql = "insert into applicant (id, first_name, middle_name, last_name, date_of_birth, gender, email, phone, " +
+                "social_security, drivers_license, address, city, state, zipcode, mailing_address, mailing_city, " +
+                "mailing_state, mailing_zipcode, income) values (?, ?, null, ?, ?, 'FEMALE', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Date dateOfBirth = Date.valueOf(LocalDate.of(1985, 4, 12));
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= applicants; i++) {
+            String[] city = CITIES[i % CITIES.length];
+            String[] mailingCity = CITIES[(i / CITIES.length) % CITIES.length];
+            String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + i;
+            batch.add(new Object[] {
+                    i, FIRST_NAMES[i % FIRST_NAMES.length], lastName, dateOfBirth,
+                    String.format("applicant%d@email.com", i),
+                    String.format("(%03d) %03d-%04d", 200 + i / 10_000_000, (i / 10000) % 1000, i % 10000),
+                    String.format("%03d-%02d-%04d", i / 1_000_000, (i / 10000) % 100, i % 10000),
+                    String.format("DL%010d", i),
+                    String.format("%d Main St", i), city[0], city[1], "12345",
+                    String.format("PO Box %d", i), mailingCity[0], mailingCity[1], "54321",
+                    ApplicantFactory.APPROVED_INCOME
+            });
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+}
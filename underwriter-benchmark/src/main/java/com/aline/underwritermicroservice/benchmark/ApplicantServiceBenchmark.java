@@ -0,0 +1,63 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.underwritermicroservice.service.ApplicantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applicant Service Benchmark
+ * <p>
+ *     Measures {@link ApplicantService#createApplicant(CreateApplicant)}, the first
+ *     stage of the apply pipeline (mapping, uniqueness validation and insert).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApplicantServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ApplicantService applicantService;
+
+    private CreateApplicant createApplicant;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        applicantService = context.getBean(ApplicantService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareApplicant() {
+        createApplicant = ApplicantFactory.createApplicant(ApplicantFactory.APPROVED_INCOME);
+    }
+
+    @Benchmark
+    public void createApplicant(Blackhole blackhole) {
+        blackhole.consume(applicantService.createApplicant(createApplicant));
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.service.ApplicantService;
+import com.aline.underwritermicroservice.service.ApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apply Benchmark
+ * <p>
+ *     Measures the whole {@link ApplicationService#apply(ApplyRequest)} pipeline
+ *     (applicant creation, application save, underwriting, member and account creation)
+ *     for both new applicants and existing applicants (<code>noApplicants</code>).
+ * </p>
+ * <p>
+ *     Every invocation uses never-before-seen applicant identifiers so each
+ *     application is approved and fully provisioned.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApplyBenchmark {
+
+    @Param({"1", "2", "5"})
+    int applicantsPerRequest;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationService applicationService;
+    private ApplicantService applicantService;
+
+    private ApplyRequest request;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        applicationService = context.getBean(ApplicationService.class);
+        applicantService = context.getBean(ApplicantService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Build the request for the next invocation.
+     * <p>
+     *     Existing applicants are created here so only the apply call itself is measured.
+     * </p>
+     * @param params Used to figure out which benchmark is running.
+     */
+    @Setup(Level.Invocation)
+    public void prepareRequest(BenchmarkParams params) {
+        if (params.getBenchmark().endsWith("applyExistingApplicants")) {
+            LinkedHashSet<Long> applicantIds = new LinkedHashSet<>();
+            ApplicantFactory.createApplicants(applicantsPerRequest)
+                    .forEach(createApplicant -> applicantIds.add(applicantService.createApplicant(createApplicant).getId()));
+            request = ApplyRequest.builder()
+                    .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                    .noApplicants(true)
+                    .applicantIds(applicantIds)
+                    .build();
+        } else {
+            request = ApplyRequest.builder()
+                    .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                    .applicants(ApplicantFactory.createApplicants(applicantsPerRequest))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public void applyNewApplicants(Blackhole blackhole) {
+        blackhole.consume(applicationService.apply(request));
+    }
+
+    @Benchmark
+    public void applyExistingApplicants(Blackhole blackhole) {
+        blackhole.consume(applicationService.apply(request));
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Member;
+import com.aline.core.model.account.Account;
+import com.aline.core.repository.ApplicationRepository;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import com.aline.underwritermicroservice.service.AccountService;
+import com.aline.underwritermicroservice.service.ApplicantService;
+import com.aline.underwritermicroservice.service.ApplicationService;
+import com.aline.underwritermicroservice.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Apply Stage Benchmark
+ * <p>
+ *     Measures every database stage of {@link ApplicationService#apply(ApplyRequest)} on its own,
+ *     so a change to one stage shows up in its own result instead of only in the whole pipeline
+ *     of the {@link ApplyBenchmark}. The stages match the <code>apply.stage</code> timers:
+ * </p>
+ * <ul>
+ *     <li><code>checkUniqueness</code>: mapping the new applicants and the uniqueness query.</li>
+ *     <li><code>createApplicants</code>: uniqueness check and insert of the new applicants.</li>
+ *     <li><code>saveApplication</code>: insert of the pending application and its applicant rows.</li>
+ *     <li><code>createMembers</code>: insert of a member for every applicant.</li>
+ *     <li><code>createAccounts</code>: insert of the accounts of existing members.</li>
+ *     <li><code>provisionMembersAndAccounts</code>: everything an approval writes, members, accounts
+ *     and the rows joining them.</li>
+ * </ul>
+ * <p>
+ *     The underwriting decision is measured by the {@link UnderwriterServiceBenchmark}. Every stage
+ *     runs and commits in its own transaction. The rows it builds on are created before each
+ *     invocation and referenced by ID. Entities whose <code>hashCode</code> reads their fields are
+ *     loaded by primary key when they are added to a set, which apply does not need for the rows
+ *     it has just saved, so compare these results with each other rather than with the pipeline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApplyStageBenchmark {
+
+    @Param({"1", "2", "5"})
+    int applicantsPerRequest;
+
+    private ConfigurableApplicationContext context;
+    private ApplicantService applicantService;
+    private MemberService memberService;
+    private AccountService accountService;
+    private ApplicationRepository applicationRepository;
+    private DtoMapper mapper;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+
+    private LinkedHashSet<CreateApplicant> createApplicants;
+    private List<Long> applicantIds;
+    private List<Long> memberIds;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        applicantService = context.getBean(ApplicantService.class);
+        memberService = context.getBean(MemberService.class);
+        accountService = context.getBean(AccountService.class);
+        applicationRepository = context.getBean(ApplicationRepository.class);
+        mapper = context.getBean(DtoMapper.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Create the rows the next invocation builds on.
+     * @param params Used to figure out which benchmark is running.
+     */
+    @Setup(Level.Invocation)
+    public void prepareStage(BenchmarkParams params) {
+        createApplicants = ApplicantFactory.createApplicants(applicantsPerRequest);
+        String benchmark = params.getBenchmark();
+        if (benchmark.endsWith("checkUniqueness") || benchmark.endsWith("createApplicants"))
+            return;
+
+        applicantIds = transactionTemplate.execute(status -> applicantService.createApplicants(createApplicants).stream()
+                .map(Applicant::getId)
+                .collect(Collectors.toList()));
+        if (benchmark.endsWith("createAccounts")) {
+            memberIds = transactionTemplate.execute(status -> memberService.createMembers(references(Applicant.class, applicantIds))
+                    .stream()
+                    .map(Member::getId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Benchmark
+    public void checkUniqueness(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Applicant> applicants = createApplicants.stream()
+                    .map(mapper::toApplicant)
+                    .collect(Collectors.toList());
+            ApplicantIdentifiers existing = applicantService.findExistingIdentifiers(applicants);
+            applicantService.validateUniqueness(applicants, existing, new ApplicantIdentifiers());
+            blackhole.consume(existing);
+        });
+    }
+
+    @Benchmark
+    public void createApplicants(Blackhole blackhole) {
+        blackhole.consume(transactionTemplate.execute(status -> applicantService.createApplicants(createApplicants)));
+    }
+
+    @Benchmark
+    public void saveApplication(Blackhole blackhole) {
+        blackhole.consume(transactionTemplate.execute(status -> {
+            LinkedHashSet<Applicant> applicants = new LinkedHashSet<>(references(Applicant.class, applicantIds));
+            return applicationRepository.save(Application.builder()
+                    .primaryApplicant(applicants.iterator().next())
+                    .applicants(applicants)
+                    .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                    .applicationStatus(ApplicationStatus.PENDING)
+                    .build());
+        }));
+    }
+
+    @Benchmark
+    public void createMembers(Blackhole blackhole) {
+        blackhole.consume(transactionTemplate.execute(status ->
+                memberService.createMembers(references(Applicant.class, applicantIds))));
+    }
+
+    @Benchmark
+    public void createAccounts(Blackhole blackhole) {
+        blackhole.consume(transactionTemplate.execute(status -> {
+            LinkedHashSet<Member> members = new LinkedHashSet<>(references(Member.class, memberIds));
+            return accountService.createAccount(ApplicationType.CHECKING_AND_SAVINGS, members.iterator().next(), members);
+        }));
+    }
+
+    @Benchmark
+    public void provisionMembersAndAccounts(Blackhole blackhole) {
+        blackhole.consume(transactionTemplate.execute(status -> {
+            LinkedHashSet<Member> members = new LinkedHashSet<>(
+                    memberService.createMembers(references(Applicant.class, applicantIds)));
+            Set<Account> accounts = accountService.createAccount(ApplicationType.CHECKING_AND_SAVINGS,
+                    members.iterator().next(), members);
+            members.forEach(member -> member.setAccounts(accounts));
+            return accounts;
+        }));
+    }
+
+    /**
+     * References to existing entities of the current transaction that are not loaded.
+     */
+    private <T> List<T> references(Class<T> type, List<Long> ids) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        List<T> references = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            references.add(entityManager.getReference(type, id));
+        }
+        return references;
+    }
+
+}
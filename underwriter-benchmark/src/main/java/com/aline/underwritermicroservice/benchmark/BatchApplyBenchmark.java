@@ -0,0 +1,94 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.service.ApplicationService;
+import com.aline.underwritermicroservice.service.BatchApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch Apply Benchmark
+ * <p>
+ *     Compares applying <code>requests</code> applications with one
+ *     {@link BatchApplicationService#applyAll(List)} call against calling
+ *     {@link ApplicationService#apply(ApplyRequest)} once per application.
+ *     Every application has two new applicants and is approved and fully provisioned.
+ * </p>
+ * <p>
+ *     Results are the time of the whole set of applications, so the two
+ *     benchmarks can be compared directly for each amount of requests.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchApplyBenchmark {
+
+    @Param({"10", "100"})
+    int requests;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationService applicationService;
+    private BatchApplicationService batchApplicationService;
+
+    private List<ApplyRequest> batch;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        applicationService = context.getBean(ApplicationService.class);
+        batchApplicationService = context.getBean(BatchApplicationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Build the requests of the next invocation with never-before-seen applicants.
+     */
+    @Setup(Level.Invocation)
+    public void prepareRequests() {
+        batch = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            batch.add(ApplyRequest.builder()
+                    .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                    .applicants(ApplicantFactory.createApplicants(2))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void applyAll(Blackhole blackhole) {
+        blackhole.consume(batchApplicationService.applyAll(batch));
+    }
+
+    @Benchmark
+    public void applyOneByOne(Blackhole blackhole) {
+        for (ApplyRequest request : batch)
+            blackhole.consume(applicationService.apply(request));
+    }
+
+}
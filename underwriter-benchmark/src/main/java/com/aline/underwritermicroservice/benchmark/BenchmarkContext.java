@@ -0,0 +1,32 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.underwritermicroservice.UnderwriterMicroserviceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark Context
+ * <p>
+ *     Boots the underwriter microservice against the embedded H2
+ *     database configured in <code>application-benchmark.yml</code>.
+ * </p>
+ */
+public final class BenchmarkContext {
+
+    public static final String PROFILE = "benchmark";
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Start a new application context with the benchmark profile.
+     * @return The running application context. Close it in a trial level tear down.
+     */
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(UnderwriterMicroserviceApplication.class)
+                .profiles(PROFILE)
+                .logStartupInfo(false)
+                .run();
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark Runner
+ * <p>
+ *     Runs the JMH benchmarks with the GC profiler attached so every result
+ *     reports throughput alongside allocation rate (<code>gc.alloc.rate.norm</code>).
+ * </p>
+ * <p>
+ *     Run with <code>mvn -pl underwriter-benchmark -am package exec:exec -Djmh.include=ApplyBenchmark</code>.
+ *     Results are written to <code>target/jmh-result.json</code>.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+
+}
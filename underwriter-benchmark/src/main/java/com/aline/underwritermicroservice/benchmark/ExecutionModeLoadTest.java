@@ -0,0 +1,289 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.underwritermicroservice.UnderwriterMicroserviceApplication;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution Mode Load Test
+ * <p>
+ *     Compares how many concurrent requests each <code>underwriter.execution.mode</code> sustains.
+ *     The service is started with a fixed heap and every JDBC statement is delayed to simulate a remote
+ *     database, then <code>clients</code> closed-loop clients call <code>GET /applicants/{id}</code> as fast
+ *     as they can. Response caching is disabled so every request reaches the database.
+ * </p>
+ * <p>
+ *     Reports throughput, latency percentiles, failures (including <code>503</code> rejections),
+ *     the peak amount of platform threads and the heap used after the run, and appends them as a row to
+ *     <code>target/execution-mode-results.csv</code> so the runs of every mode can be compared side by side.
+ *     Run each mode in its own JVM with the same <code>-Xmx</code>. The <code>virtual</code> mode needs Java 21:
+ * </p>
+ * <pre>
+ *     mvn -pl underwriter-benchmark -am package dependency:build-classpath -Dmdep.outputFile=classpath.txt
+ *     java -Xmx512m -cp underwriter-benchmark/target/classes:$(cat underwriter-benchmark/classpath.txt) \
+ *         com.aline.underwritermicroservice.benchmark.ExecutionModeLoadTest virtual 2000 30 20
+ * </pre>
+ * <p>
+ *     Arguments: mode (<code>platform</code>), clients (<code>1000</code>), seconds (<code>30</code>),
+ *     JDBC latency in milliseconds (<code>20</code>) and connection pool size (<code>100</code>).
+ * </p>
+ */
+public final class ExecutionModeLoadTest {
+
+    private static final int APPLICANTS = 1000;
+    private static final Path RESULTS = Paths.get("target", "execution-mode-results.csv");
+    private static final String HEADER = "mode,clients,seconds,latency_ms,connections,throughput,ok,failed," +
+            "p50_ms,p99_ms,max_ms,peak_threads,heap_used_mb,java_version";
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = argument(args, 0, "platform");
+        int clients = Integer.parseInt(argument(args, 1, "1000"));
+        int seconds = Integer.parseInt(argument(args, 2, "30"));
+        long latency = Long.parseLong(argument(args, 3, "20"));
+        int connections = Integer.parseInt(argument(args, 4, "100"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UnderwriterMicroserviceApplication.class)
+                .profiles(BenchmarkContext.PROFILE)
+                .properties(
+                        "underwriter.execution.mode=" + mode,
+                        "underwriter.cache.enabled=false",
+                        "underwriter.search-index.enabled=false",
+                        "spring.datasource.hikari.maximum-pool-size=" + connections,
+                        "server.tomcat.accept-count=" + clients,
+                        "server.tomcat.max-connections=" + (clients * 2))
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new LatencyPostProcessor(latency)))
+                .logStartupInfo(false)
+                .run();
+
+        try {
+            insertApplicants(context.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Result result = run(port, clients, seconds);
+            System.gc();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+            double throughput = result.ok / (double) seconds;
+            long p50 = result.percentile(0.50);
+            long p99 = result.percentile(0.99);
+            long max = result.percentile(1.0);
+            int peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+            long heapUsed = memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+
+            System.out.printf("mode=%s clients=%d seconds=%d latency=%dms connections=%d%n",
+                    mode, clients, seconds, latency, connections);
+            System.out.printf("throughput=%.1f req/s ok=%d failed=%d%n", throughput, result.ok, result.failed);
+            System.out.printf("latency p50=%dms p99=%dms max=%dms%n", p50, p99, max);
+            System.out.printf("peak platform threads=%d (%d of them clients) heap used=%dMB%n",
+                    peakThreads, clients, heapUsed);
+
+            record(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d,%d,%d,%s",
+                    mode, clients, seconds, latency, connections, throughput, result.ok, result.failed,
+                    p50, p99, max, peakThreads, heapUsed, System.getProperty("java.version")));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Append a row to the results file, writing the header first if the file is new.
+     */
+    private static void record(String row) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        List<String> lines = Files.exists(RESULTS)
+                ? Collections.singletonList(row)
+                : Arrays.asList(HEADER, row);
+        Files.write(RESULTS, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.printf("Results appended to %s%n", RESULTS.toAbsolutePath());
+    }
+
+    private static String argument(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private static Result run(int port, int clients, int seconds) throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long id = ThreadLocalRandom.current().nextLong(1, APPLICANTS + 1);
+                    long start = System.nanoTime();
+                    boolean ok = get(port, id);
+                    result.record(ok, System.nanoTime() - start);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static boolean get(int port, long id) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(String.format("http://localhost:%d/applicants/%d", port, id)).openConnection();
+            connection.setConnectTimeout(30000);
+            connection.setReadTimeout(60000);
+            int status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                byte[] buffer = new byte[4096];
+                while (body.read(buffer) != -1) {
+                    // Drain so the connection is kept alive and reused.
+                }
+                body.close();
+            }
+            return status == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void insertApplicants(JdbcTemplate jdbcTemplate) {
+        String sql = "insert into applicant (id, first_name, last_name, date_of_birth, gender, email, phone, " +
+                "social_security, drivers_license, address, city, state, zipcode, mailing_address, mailing_city, " +
+                "mailing_state, mailing_zipcode, income) values (?, 'Load', 'Test', ?, 'MALE', ?, ?, ?, ?, " +
+                "'1 Main St', 'Detroit', 'Michigan', '12345', 'PO Box 1', 'Detroit', 'Michigan', '12345', ?)";
+        Date dateOfBirth = Date.valueOf(LocalDate.of(1985, 4, 12));
+        List<Object[]> batch = new ArrayList<>(APPLICANTS);
+        for (int i = 1; i <= APPLICANTS; i++) {
+            batch.add(new Object[] {
+                    i, dateOfBirth,
+                    String.format("load%d@email.com", i),
+                    String.format("(200) 000-%04d", i),
+                    String.format("000-00-%04d", i),
+                    String.format("DL%010d", i),
+                    ApplicantFactory.APPROVED_INCOME
+            });
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    /**
+     * Latencies in milliseconds of every request.
+     */
+    private static final class Result {
+        private final AtomicLong[] histogram = new AtomicLong[60001];
+        private long ok;
+        private long failed;
+
+        private Result() {
+            Arrays.setAll(histogram, i -> new AtomicLong());
+        }
+
+        private synchronized void record(boolean success, long nanos) {
+            if (success)
+                ok++;
+            else
+                failed++;
+            histogram[(int) Math.min(TimeUnit.NANOSECONDS.toMillis(nanos), histogram.length - 1)].incrementAndGet();
+        }
+
+        private long percentile(double percentile) {
+            long total = ok + failed;
+            long target = Math.max(1, (long) Math.ceil(total * percentile));
+            long seen = 0;
+            for (int millis = 0; millis < histogram.length; millis++) {
+                seen += histogram[millis].get();
+                if (seen >= target)
+                    return millis;
+            }
+            return histogram.length - 1;
+        }
+    }
+
+    /**
+     * Delays every JDBC statement execution by a fixed latency while the connection is held.
+     */
+    private static final class LatencyPostProcessor implements BeanPostProcessor {
+
+        private final long latency;
+
+        private LatencyPostProcessor(long latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof DataSource) || latency <= 0)
+                return bean;
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return delayed(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return delayed(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private Connection delayed(Connection connection) {
+            return proxy(Connection.class, connection, (method, result) -> result instanceof Statement
+                    ? proxy(method.getReturnType(), result, null)
+                    : result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, Object target, ResultMapper mapper) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if (mapper == null && method.getName().startsWith("execute"))
+                    Thread.sleep(latency);
+                try {
+                    Object result = method.invoke(target, args);
+                    return mapper == null ? result : mapper.map(method, result);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private interface ResultMapper {
+            Object map(Method method, Object result);
+        }
+
+    }
+
+}
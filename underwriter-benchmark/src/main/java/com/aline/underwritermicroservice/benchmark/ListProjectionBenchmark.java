@@ -0,0 +1,145 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicationCustomRepository;
+import com.aline.underwritermicroservice.repository.ResponseProjectionRepository;
+import com.aline.underwritermicroservice.repository.SpecificationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * List Projection Benchmark
+ * <p>
+ *     Compares building a page of 500 responses from managed entities mapped by the {@link DtoMapper}
+ *     against selecting only the response columns with the {@link ResponseProjectionRepository},
+ *     for applicants and for applications with two applicants each.
+ * </p>
+ * <p>
+ *     Run through the {@link BenchmarkRunner} so <code>gc.alloc.rate.norm</code> reports the heap
+ *     allocated per page next to the latency.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private SpecificationRepository specificationRepository;
+    private ApplicationCustomRepository applicationRepository;
+    private ResponseProjectionRepository projectionRepository;
+    private DtoMapper mapper;
+
+    private final Pageable pageable = PageRequest.of(0, ROWS, Sort.by("id"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        specificationRepository = context.getBean(SpecificationRepository.class);
+        applicationRepository = context.getBean(ApplicationCustomRepository.class);
+        projectionRepository = context.getBean(ResponseProjectionRepository.class);
+        mapper = context.getBean(DtoMapper.class);
+
+        insertRows(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void applicantEntities(Blackhole blackhole) {
+        List<ApplicantResponse> page = specificationRepository.findContent(Applicant.class, null, pageable).stream()
+                .map(mapper::toApplicantResponse)
+                .collect(Collectors.toList());
+        blackhole.consume(page);
+    }
+
+    @Benchmark
+    public void applicantProjection(Blackhole blackhole) {
+        blackhole.consume(projectionRepository.findApplicantResponses(null, pageable));
+    }
+
+    @Benchmark
+    public void applicationEntities(Blackhole blackhole) {
+        List<Long> ids = specificationRepository.findIds(Application.class, null, pageable);
+        List<ApplicationResponse> page = applicationRepository.findAllWithApplicants(ids).stream()
+                .map(mapper::toApplicationResponse)
+                .collect(Collectors.toList());
+        blackhole.consume(page);
+    }
+
+    @Benchmark
+    public void applicationProjection(Blackhole blackhole) {
+        List<Long> ids = specificationRepository.findIds(Application.class, null, pageable);
+        blackhole.consume(projectionRepository.findApplicationResponses(ids));
+    }
+
+    /**
+     * Insert 1000 applicants and 500 applications with two of them each.
+     */
+    private static void insertRows(JdbcTemplate jdbcTemplate) {
+        String applicantSql = "insert into applicant (id, first_name, last_name, date_of_birth, gender, email, phone, " +
+                "social_security, drivers_license, address, city, state, zipcode, mailing_address, mailing_city, " +
+                "mailing_state, mailing_zipcode, income) values (?, 'List', 'Projection', ?, 'FEMALE', ?, ?, ?, ?, " +
+                "'1 Main St', 'Detroit', 'Michigan', '12345', 'PO Box 1', 'Detroit', 'Michigan', '12345', ?)";
+        Date dateOfBirth = Date.valueOf(LocalDate.of(1985, 4, 12));
+        List<Object[]> applicants = new ArrayList<>(ROWS * 2);
+        for (int i = 1; i <= ROWS * 2; i++) {
+            applicants.add(new Object[] {
+                    i, dateOfBirth,
+                    String.format("list%d@email.com", i),
+                    String.format("(200) 000-%04d", i),
+                    String.format("000-00-%04d", i),
+                    String.format("DL%010d", i),
+                    ApplicantFactory.APPROVED_INCOME
+            });
+        }
+        jdbcTemplate.batchUpdate(applicantSql, applicants);
+
+        List<Object[]> applications = new ArrayList<>(ROWS);
+        List<Object[]> joins = new ArrayList<>(ROWS * 2);
+        for (int i = 1; i <= ROWS; i++) {
+            applications.add(new Object[] {i, i * 2 - 1});
+            joins.add(new Object[] {i * 2 - 1, i});
+            joins.add(new Object[] {i * 2, i});
+        }
+        jdbcTemplate.batchUpdate("insert into application (id, application_type, primary_applicant_id, application_status) " +
+                "values (?, 'CHECKING', ?, 'APPROVED')", applications);
+        jdbcTemplate.batchUpdate("insert into application_applicant (applicant_id, application_id) values (?, ?)", joins);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.service.UnderwriterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Underwriter Service Benchmark
+ * <p>
+ *     Measures {@link UnderwriterService#underwriteApplication} on an in-memory
+ *     {@link Application} so only the decision itself is measured.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnderwriterServiceBenchmark {
+
+    @Param({"1", "2", "5"})
+    int applicantsPerRequest;
+
+    private ConfigurableApplicationContext context;
+    private UnderwriterService underwriterService;
+
+    private Application application;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        underwriterService = context.getBean(UnderwriterService.class);
+
+        LinkedHashSet<Applicant> applicants = new LinkedHashSet<>();
+        for (long id = 1; id <= applicantsPerRequest; id++) {
+            applicants.add(Applicant.builder()
+                    .id(id)
+                    .firstName("Bench")
+                    .lastName("Mark")
+                    .dateOfBirth(LocalDate.of(1985, 4, 12))
+                    .income(ApplicantFactory.APPROVED_INCOME)
+                    .build());
+        }
+
+        application = Application.builder()
+                .id(1L)
+                .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .primaryApplicant(applicants.iterator().next())
+                .applicants(applicants)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void underwriteApplication(Blackhole blackhole) {
+        underwriterService.underwriteApplication(application, (status, reason) -> {
+            blackhole.consume(status);
+            blackhole.consume(reason);
+        });
+    }
+
+}
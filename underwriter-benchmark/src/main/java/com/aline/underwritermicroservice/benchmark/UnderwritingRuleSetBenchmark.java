@@ -0,0 +1,105 @@
+package com.aline.underwritermicroservice.benchmark;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.service.underwriting.ApplicationTypeRule;
+import com.aline.underwritermicroservice.service.underwriting.CoApplicantIncomeRule;
+import com.aline.underwritermicroservice.service.underwriting.MinimumAgeRule;
+import com.aline.underwritermicroservice.service.underwriting.MinimumIncomeRule;
+import com.aline.underwritermicroservice.service.underwriting.UnderwritingRule;
+import com.aline.underwritermicroservice.service.underwriting.UnderwritingRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Underwriting Rule Set Benchmark
+ * <p>
+ *     Measures the cost of a single decision of an {@link UnderwritingRuleSet}
+ *     for growing numbers of rules. Every rule passes so every rule is evaluated.
+ *     Run with the GC profiler to confirm that a decision does not allocate.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnderwritingRuleSetBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int rules;
+
+    @Param({"1", "5"})
+    int applicantsPerRequest;
+
+    private UnderwritingRuleSet ruleSet;
+    private Application application;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<UnderwritingRule> ruleList = new ArrayList<>(rules);
+        for (int i = 0; ruleList.size() < rules; i++) {
+            switch (i % 4) {
+                case 0:
+                    ruleList.add(new ApplicationTypeRule(Arrays.asList(ApplicationType.values())));
+                    break;
+                case 1:
+                    ruleList.add(new MinimumIncomeRule(1500000 - i));
+                    break;
+                case 2:
+                    ruleList.add(new CoApplicantIncomeRule(500000 - i));
+                    break;
+                default:
+                    ruleList.add(new MinimumAgeRule(18, Clock.systemUTC()));
+                    break;
+            }
+        }
+        ruleSet = new UnderwritingRuleSet(ruleList);
+
+        LinkedHashSet<Applicant> applicants = new LinkedHashSet<>();
+        for (long id = 1; id <= applicantsPerRequest; id++) {
+            applicants.add(Applicant.builder()
+                    .id(id)
+                    .firstName("Bench")
+                    .lastName("Mark")
+                    .dateOfBirth(LocalDate.of(1985, 4, 12))
+                    .income(ApplicantFactory.APPROVED_INCOME)
+                    .build());
+        }
+
+        application = Application.builder()
+                .id(1L)
+                .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .primaryApplicant(applicants.iterator().next())
+                .applicants(applicants)
+                .build();
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return ruleSet.evaluate(application);
+    }
+
+}
@@ -8,8 +8,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @ComponentScan("com.aline")
-@EnableJpaRepositories("com.aline.core.repository")
-@EntityScan("com.aline.core.model")
+@EnableJpaRepositories({"com.aline.core.repository", "com.aline.underwritermicroservice.repository"})
+@EntityScan({"com.aline.core.model", "com.aline.underwritermicroservice.model"})
 public class UnderwriterMicroserviceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,216 @@
+package com.aline.underwritermicroservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async Execution Filter
+ * <p>
+ *     Hands every request over to a bounded executor and releases the container thread right away,
+ *     so the container threads only accept requests and the executor alone bounds how many requests
+ *     wait on JDBC at the same time. Requests that find the executor and its queue full are answered
+ *     with <code>503 SERVICE UNAVAILABLE</code> instead of piling up.
+ * </p>
+ * <p>
+ *     The rest of the filter chain and the dispatcher run on the executor thread.
+ *     Requests still waiting for the executor after <code>timeout</code> milliseconds are answered with
+ *     <code>503 SERVICE UNAVAILABLE</code> as well. The timeout runs on a timer thread of the filter
+ *     instead of the container, because a container timeout would write an error response while a
+ *     running request may still be writing its own. Requests already running own the response and
+ *     are completed by their executor thread once they finish.
+ * </p>
+ * <p>
+ *     Streaming endpoints (exports and event streams) start their own asynchronous processing and
+ *     write after the handler returns. Their paths are passed through untouched.
+ * </p>
+ * @see ExecutionModeConfig
+ */
+@Slf4j(topic = "Async Execution Filter")
+public class AsyncExecutionFilter extends OncePerRequestFilter {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeout;
+    private final Set<String> streamingPaths;
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param executor Executor that runs the requests.
+     * @param timeout Milliseconds after which a request that did not start yet is answered with <code>503</code>.
+     * @param streamingPaths Paths, within the application, of endpoints that must not run on the executor.
+     */
+    public AsyncExecutionFilter(ThreadPoolTaskExecutor executor, long timeout, Collection<String> streamingPaths) {
+        this.executor = executor;
+        this.timeout = timeout;
+        this.streamingPaths = new HashSet<>(streamingPaths);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "request-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return streamingPaths.contains(pathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!request.isAsyncSupported()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AsyncContext context = request.startAsync(request, response);
+        Execution execution = new Execution();
+        // The container must never time out the request, see the timer below.
+        context.setTimeout(0);
+        context.addListener(execution);
+
+        try {
+            executor.execute(() -> {
+                if (!execution.start())
+                    return;
+                try {
+                    chain.doFilter(request, response);
+                } catch (Exception e) {
+                    log.error("Request {} {} failed.", request.getMethod(), request.getRequestURI(), e);
+                    sendError(response, HttpStatus.INTERNAL_SERVER_ERROR);
+                } finally {
+                    execution.finish();
+                    complete(context);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Request executor is saturated, rejecting {} {}.", request.getMethod(), request.getRequestURI());
+            response.setHeader("Retry-After", "1");
+            sendError(response, HttpStatus.SERVICE_UNAVAILABLE);
+            complete(context);
+            return;
+        }
+        execution.schedule(timer.schedule(() -> execution.timeout(context, response), timeout, TimeUnit.MILLISECONDS));
+    }
+
+    private static void sendError(HttpServletResponse response, HttpStatus status) {
+        if (response.isCommitted())
+            return;
+        try {
+            response.sendError(status.value(), status.getReasonPhrase());
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send {}.", status, e);
+        }
+    }
+
+    /**
+     * Complete the context unless it already completed because of a timeout.
+     */
+    private static void complete(AsyncContext context) {
+        try {
+            context.complete();
+        } catch (IllegalStateException e) {
+            log.debug("Request already completed.", e);
+        }
+    }
+
+    /**
+     * Decides whether the executor or the timeout answers a request.
+     */
+    private static final class Execution implements AsyncListener {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int FINISHED = 2;
+        private static final int CANCELLED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile Future<?> timeout;
+
+        /**
+         * @return False if the request timed out or completed while it was queued and must not run anymore.
+         */
+        private boolean start() {
+            return state.compareAndSet(QUEUED, RUNNING);
+        }
+
+        private void finish() {
+            state.set(FINISHED);
+            cancelTimeout();
+        }
+
+        private void schedule(Future<?> timeout) {
+            this.timeout = timeout;
+            // The request may have finished before its timeout was scheduled.
+            int current = state.get();
+            if (current == FINISHED || current == CANCELLED)
+                cancelTimeout();
+        }
+
+        private void cancelTimeout() {
+            Future<?> scheduled = timeout;
+            if (scheduled != null)
+                scheduled.cancel(false);
+        }
+
+        /**
+         * Answer the request with <code>503</code> if it is still queued.
+         * A running request is left to its executor thread, which completes it once it finishes.
+         */
+        private void timeout(AsyncContext context, HttpServletResponse response) {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                sendError(response, HttpStatus.SERVICE_UNAVAILABLE);
+                complete(context);
+            } else if (state.get() == RUNNING) {
+                log.warn("Request is still running after its timeout.");
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // The container completes the request on its own if the client went away.
+            state.compareAndSet(QUEUED, CANCELLED);
+            cancelTimeout();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.aline.underwritermicroservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Cache configuration.
+ * <p>
+ *     Caches the mapped responses of applicant and application lookups by ID.
+ *     Every cache holds at most <code>underwriter.cache.maximum-size</code> entries
+ *     for at most <code>underwriter.cache.ttl</code>. Statistics are recorded so hits,
+ *     misses and evictions are published as <code>cache.*</code> metrics.
+ * </p>
+ * <p>
+ *     Enabled with <code>underwriter.cache.enabled=true</code>. Every instance has its own cache.
+ *     Entries are evicted by {@link com.aline.underwritermicroservice.service.ResponseCacheEvictor}
+ *     after writes through the same instance commit, so writes through other instances or straight
+ *     to the database are only seen once the entry expires. The TTL is how stale a response may be
+ *     when more than one instance writes. Lookups that raced with a local write do not store their
+ *     value, see {@link VersionedCaffeineCache}.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "underwriter.cache.enabled")
+public class CacheConfig {
+
+    public static final String APPLICANTS = "applicants";
+    public static final String APPLICATIONS = "applications";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${underwriter.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${underwriter.cache.ttl:30s}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new VersionedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(Arrays.asList(APPLICANTS, APPLICATIONS));
+        return cacheManager;
+    }
+
+}
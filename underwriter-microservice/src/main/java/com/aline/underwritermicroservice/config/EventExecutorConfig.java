@@ -0,0 +1,39 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool that writes server-sent events to subscribers.
+ * <p>
+ *     Writing to a slow client blocks a worker instead of the thread that published the event.
+ *     The queue only holds one task per subscriber with pending events, so it is bounded by the
+ *     amount of subscribers and never runs tasks on the publishing thread. Subscribers whose writes
+ *     take <code>underwriter.events.write-timeout</code> are disconnected so they stop taking workers.
+ * </p>
+ */
+@Configuration
+public class EventExecutorConfig {
+
+    /**
+     * Executor that sends application status events.
+     * @return ThreadPoolTaskExecutor configured by the <code>underwriter.events.*</code> properties.
+     */
+    @Bean(name = "eventExecutor")
+    public ThreadPoolTaskExecutor eventExecutor(
+            @Value("${underwriter.events.pool-size:4}") int poolSize,
+            @Value("${underwriter.events.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("events-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.aline.underwritermicroservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Request execution mode.
+ * <p>
+ *     Selected with <code>underwriter.execution.mode</code>. Request handling, and with it every
+ *     JDBC call made while handling a request, runs on:
+ * </p>
+ * <ul>
+ *     <li><code>platform</code> (default): the blocking Tomcat thread pool.</li>
+ *     <li><code>virtual</code>: a new virtual thread per request. Requires Java 21 or later.
+ *     Concurrency is then bounded by the connection pool instead of the thread pool,
+ *     so size <code>spring.datasource.hikari.maximum-pool-size</code> accordingly.</li>
+ *     <li><code>async</code>: a bounded <code>requestExecutor</code> fed by the {@link AsyncExecutionFilter},
+ *     for older JVMs. The Tomcat threads only accept requests and excess requests are rejected
+ *     with <code>503</code> once the executor queue is full.</li>
+ * </ul>
+ */
+@Configuration
+@Slf4j(topic = "Execution Mode")
+public class ExecutionModeConfig {
+
+    public static final String MODE = "underwriter.execution.mode";
+
+    /**
+     * Endpoints that stream their response after the handler returns.
+     */
+    private static final List<String> STREAMING_PATHS = Arrays.asList(
+            "/applicants/export", "/applications/export", "/applications/events");
+
+    /**
+     * Run Tomcat requests on virtual threads.
+     * @return Customizer that replaces the executor of the Tomcat connector.
+     * @throws IllegalStateException If the JVM does not support virtual threads.
+     */
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "virtual")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Requests will run on virtual threads.");
+        return factory -> factory.addProtocolHandlerCustomizers(protocolHandler -> {
+            if (protocolHandler instanceof AbstractProtocol)
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(executor);
+        });
+    }
+
+    /**
+     * Executor that handles the requests in <code>async</code> mode.
+     * @return ThreadPoolTaskExecutor configured by the <code>underwriter.execution.async.*</code> properties.
+     */
+    @Bean(name = "requestExecutor")
+    @ConditionalOnProperty(name = MODE, havingValue = "async")
+    public ThreadPoolTaskExecutor requestExecutor(
+            @Value("${underwriter.execution.async.pool-size:32}") int poolSize,
+            @Value("${underwriter.execution.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        log.info("Requests will run on {} request executor threads.", poolSize);
+        return executor;
+    }
+
+    /**
+     * Register the {@link AsyncExecutionFilter} in <code>async</code> mode.
+     * <p>
+     *     It runs right after the character encoding filter so every other filter
+     *     already runs on the request executor.
+     * </p>
+     * @param requestExecutor The request executor.
+     * @param timeout Time after which a request still waiting for the executor is answered with <code>503</code>.
+     * @return FilterRegistrationBean of the filter for the applicant and application endpoints
+     * except the streaming ones.
+     */
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "async")
+    public FilterRegistrationBean<AsyncExecutionFilter> asyncExecutionFilter(
+            @Qualifier("requestExecutor") ThreadPoolTaskExecutor requestExecutor,
+            @Value("${underwriter.execution.async.timeout:60s}") Duration timeout) {
+        FilterRegistrationBean<AsyncExecutionFilter> registration =
+                new FilterRegistrationBean<>(new AsyncExecutionFilter(requestExecutor, timeout.toMillis(), STREAMING_PATHS));
+        registration.addUrlPatterns("/applicants/*", "/applications/*");
+        registration.setAsyncSupported(true);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Create <code>Executors.newVirtualThreadPerTaskExecutor()</code> reflectively
+     * so the service still compiles for and runs on older JVMs.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format(
+                    "Virtual threads require Java 21 or later but this is Java %s. Use %s=async instead.",
+                    System.getProperty("java.version"), MODE), e);
+        }
+    }
+
+}
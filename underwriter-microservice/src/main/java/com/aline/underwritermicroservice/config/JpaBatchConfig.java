@@ -0,0 +1,30 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * JDBC batching configuration for Hibernate.
+ * <p>
+ *     Groups inserts and updates of the same table into JDBC batches
+ *     of <code>underwriter.jdbc.batch-size</code> statements.
+ * </p>
+ */
+@Configuration
+public class JpaBatchConfig implements HibernatePropertiesCustomizer {
+
+    @Value("${underwriter.jdbc.batch-size:50}")
+    private int batchSize;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.jdbc.batch_size", batchSize);
+        hibernateProperties.put("hibernate.order_inserts", true);
+        hibernateProperties.put("hibernate.order_updates", true);
+        hibernateProperties.put("hibernate.jdbc.batch_versioned_data", true);
+    }
+
+}
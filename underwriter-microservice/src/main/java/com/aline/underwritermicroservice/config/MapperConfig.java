@@ -6,6 +6,10 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Bean configuration for {@link ModelMapper}.
+ * <p>
+ *     Services map through {@link com.aline.underwritermicroservice.mapper.DtoMapper}.
+ *     These beans back the <code>modelmapper</code> profile implementation.
+ * </p>
  */
 @Configuration
 public class MapperConfig {
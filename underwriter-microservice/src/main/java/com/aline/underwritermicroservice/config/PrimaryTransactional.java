@@ -0,0 +1,29 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated read in a transaction on the primary database, even when a read replica is configured.
+ * <p>
+ *     For cached reads. The cache is evicted once a write commits and the next read fills it again.
+ *     Read from a lagging replica, that next read could put the row as it was before the write back
+ *     into the cache, where it would stay until it expires. Reads that are not cached should use
+ *     {@link ReadOnlyTransactional} instead.
+ * </p>
+ * <p>
+ *     Repository methods called within keep using the primary even if they declare read-only transactions themselves,
+ *     since they join this one.
+ * </p>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional
+public @interface PrimaryTransactional {
+}
@@ -0,0 +1,28 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method in a read-only transaction.
+ * <p>
+ *     Hibernate neither flushes nor keeps dirty checking snapshots of the loaded entities,
+ *     and the connection is taken from the read replica when one is configured.
+ *     See {@link ReplicaDataSourceConfig}. Entities loaded this way must not be modified.
+ * </p>
+ * <p>
+ *     The services use <code>javax.transaction.Transactional</code> for writes,
+ *     which has no read-only flag.
+ * </p>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
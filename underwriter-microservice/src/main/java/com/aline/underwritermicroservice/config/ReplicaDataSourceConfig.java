@@ -0,0 +1,97 @@
+package com.aline.underwritermicroservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica routing.
+ * <p>
+ *     Enabled by setting <code>underwriter.datasource.replica.url</code>. Methods annotated with
+ *     {@link ReadOnlyTransactional} (the list, search and export endpoints) then read from the replica while
+ *     every other transaction uses the primary configured with <code>spring.datasource.*</code>.
+ *     When the replica cannot be reached reads fall back to the primary for
+ *     <code>underwriter.datasource.replica.cooldown</code>. Replicas lag behind the primary,
+ *     so a read right after a write may not see it yet. The cached reads by ID, which clients
+ *     poll after a write, stay on the primary. See {@link PrimaryTransactional}.
+ * </p>
+ * <p>
+ *     The replica is configured with <code>underwriter.datasource.replica.url</code>, <code>username</code>,
+ *     <code>password</code> and <code>driver-class-name</code> (defaults to the primary's), and its pool with
+ *     <code>underwriter.datasource.replica.hikari.*</code>.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "underwriter.datasource.replica.url")
+@Slf4j(topic = "Replica Data Source")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool of the primary database.
+     * @param properties The <code>spring.datasource.*</code> properties.
+     * @return HikariDataSource also configured by <code>spring.datasource.hikari.*</code>.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool of the read replica.
+     * @param properties The primary's properties, used for the driver if none is set.
+     * @return Read-only HikariDataSource.
+     */
+    @Bean
+    @ConfigurationProperties("underwriter.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${underwriter.datasource.replica.url}") String url,
+                                              @Value("${underwriter.datasource.replica.username:}") String username,
+                                              @Value("${underwriter.datasource.replica.password:}") String password,
+                                              @Value("${underwriter.datasource.replica.driver-class-name:}") String driverClassName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .driverClassName(driverClassName.isEmpty() ? properties.determineDriverClassName() : driverClassName)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Start without connections so an unavailable replica does not keep the service from starting.
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    /**
+     * Data source used by JPA and JDBC.
+     * @param primary Pool of the primary database.
+     * @param replica Pool of the read replica.
+     * @param cooldown Time the replica is skipped after it could not provide a connection.
+     * @return Lazy proxy of the {@link ReplicaRoutingDataSource}, so the connection is chosen once
+     * the transaction is known to be read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${underwriter.datasource.replica.cooldown:30s}") Duration cooldown) {
+        log.info("Read-only transactions will use the read replica.");
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, cooldown));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.aline.underwritermicroservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Replica Routing Data Source
+ * <p>
+ *     Hands out connections of the replica inside read-only transactions and of the primary otherwise.
+ *     If the replica cannot provide a connection, the primary is used instead and the replica is skipped
+ *     for <code>cooldown</code> before it is tried again.
+ * </p>
+ * <p>
+ *     Whether a transaction is read-only is only known once it started, so this data source must be
+ *     wrapped in a <code>LazyConnectionDataSourceProxy</code> that fetches the connection on the first statement.
+ * </p>
+ */
+@Slf4j(topic = "Replica Routing Data Source")
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long cooldownNanos;
+
+    private volatile long replicaDownUntil;
+    private volatile boolean replicaDown;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration cooldown) {
+        this.primary = primary;
+        this.replica = replica;
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * @return Whether the replica is skipped because it failed recently.
+     */
+    public boolean isReplicaDown() {
+        return replicaDown && System.nanoTime() - replicaDownUntil < 0;
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isReplicaDown();
+    }
+
+    private void replicaFailed(SQLException e) {
+        replicaDownUntil = System.nanoTime() + cooldownNanos;
+        replicaDown = true;
+        log.warn("Replica is unavailable, reading from the primary for {}: {}",
+                Duration.ofNanos(cooldownNanos), e.toString());
+    }
+
+}
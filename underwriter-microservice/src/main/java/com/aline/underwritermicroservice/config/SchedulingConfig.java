@@ -0,0 +1,14 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs <code>@Scheduled</code> methods such as the polling of the
+ * {@link com.aline.underwritermicroservice.service.OutboxDispatcher} and the
+ * {@link com.aline.underwritermicroservice.service.PendingApplicationSweeper}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
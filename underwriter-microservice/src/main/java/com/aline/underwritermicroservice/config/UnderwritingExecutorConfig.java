@@ -0,0 +1,41 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool for asynchronous underwriting.
+ * <p>
+ *     The pool and its queue are bounded. When both are full the submitting
+ *     thread underwrites the application itself, which slows down new
+ *     asynchronous applications instead of dropping them.
+ * </p>
+ */
+@Configuration
+public class UnderwritingExecutorConfig {
+
+    /**
+     * Executor that underwrites and provisions applications accepted with <code>async=true</code>.
+     * @return ThreadPoolTaskExecutor configured by the <code>underwriter.underwriting.*</code> properties.
+     */
+    @Bean(name = "underwritingExecutor")
+    public ThreadPoolTaskExecutor underwritingExecutor(
+            @Value("${underwriter.underwriting.core-pool-size:4}") int corePoolSize,
+            @Value("${underwriter.underwriting.max-pool-size:8}") int maxPoolSize,
+            @Value("${underwriter.underwriting.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("underwriting-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.aline.underwritermicroservice.config;
+
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.service.underwriting.ApplicationTypeRule;
+import com.aline.underwritermicroservice.service.underwriting.CoApplicantIncomeRule;
+import com.aline.underwritermicroservice.service.underwriting.MinimumAgeRule;
+import com.aline.underwritermicroservice.service.underwriting.MinimumIncomeRule;
+import com.aline.underwritermicroservice.service.underwriting.UnderwritingRule;
+import com.aline.underwritermicroservice.service.underwriting.UnderwritingRuleSet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Underwriting rule configuration.
+ * <p>
+ *     Builds the {@link UnderwritingRuleSet} from the <code>underwriter.rules.*</code>
+ *     properties. The built-in rules are evaluated first, followed by every
+ *     {@link UnderwritingRule} bean in order.
+ * </p>
+ * <ul>
+ *     <li><code>application-types</code>: Offered application types. All types by default.</li>
+ *     <li><code>minimum-income</code>: Minimum income of the primary applicant in cents. $15,000.00 by default.</li>
+ *     <li><code>co-applicant-minimum-income</code>: Minimum income of the other applicants in cents. Disabled when 0.</li>
+ *     <li><code>minimum-age</code>: Minimum age of every applicant. Disabled when 0.</li>
+ * </ul>
+ */
+@Configuration
+public class UnderwritingRuleConfig {
+
+    @Bean
+    public UnderwritingRuleSet underwritingRuleSet(
+            @Value("${underwriter.rules.application-types:}") Set<ApplicationType> applicationTypes,
+            @Value("${underwriter.rules.minimum-income:1500000}") int minimumIncome,
+            @Value("${underwriter.rules.co-applicant-minimum-income:0}") int coApplicantMinimumIncome,
+            @Value("${underwriter.rules.minimum-age:0}") int minimumAge,
+            ObjectProvider<UnderwritingRule> customRules) {
+
+        List<UnderwritingRule> rules = new ArrayList<>();
+        rules.add(new ApplicationTypeRule(applicationTypes.isEmpty()
+                ? Arrays.asList(ApplicationType.values())
+                : applicationTypes));
+        rules.add(new MinimumIncomeRule(minimumIncome));
+        if (coApplicantMinimumIncome > 0)
+            rules.add(new CoApplicantIncomeRule(coApplicantMinimumIncome));
+        if (minimumAge > 0)
+            rules.add(new MinimumAgeRule(minimumAge, Clock.systemUTC()));
+        rules.addAll(customRules.orderedStream().collect(Collectors.toList()));
+
+        return new UnderwritingRuleSet(rules);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.aline.underwritermicroservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache that does not store values loaded before an eviction of their key.
+ * <p>
+ *     A lookup that misses can read the database before a write commits and put the old value
+ *     after the write evicted the key. Every key therefore has a version that each eviction
+ *     increments. A lookup reads the version of its key before it loads the value and only stores
+ *     the value if no eviction happened in between. The version is held by the lookup itself, so
+ *     nothing outlives a loader that throws. Versions are striped, so an eviction of another key in
+ *     the same stripe can skip a put as well, which only costs a later miss.
+ * </p>
+ * <p>
+ *     Values are only stored by {@link #get(Object, Callable)}, so the cache only suits
+ *     <code>@Cacheable(sync = true)</code> lookups. Plain puts are ignored because it is unknown
+ *     when their value was loaded.
+ * </p>
+ */
+class VersionedCaffeineCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    VersionedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long version = versions.get(stripe(key));
+        ValueWrapper cached = get(key);
+        if (cached != null)
+            return (T) cached.get();
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null || isAllowNullValues())
+            store(key, value, version);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return get(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        versions.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        versions.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        return super.invalidate();
+    }
+
+    /**
+     * Store a value unless its key was evicted since the value was loaded.
+     * @param version Version of the key before the value was loaded.
+     */
+    private void store(Object key, Object value, long version) {
+        if (versions.get(stripe(key)) != version)
+            return;
+        super.put(key, value);
+        // An eviction between the check and the put might have run before the value was stored.
+        if (versions.get(stripe(key)) != version)
+            super.evict(key);
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.aline.underwritermicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Asynchronous request configuration.
+ * <p>
+ *     Streaming responses such as exports are written on a bounded pool instead of
+ *     the request threads. The timeout must cover the longest export.
+ * </p>
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final int queueCapacity;
+    private final Duration timeout;
+
+    public WebAsyncConfig(@Value("${underwriter.streaming.core-pool-size:4}") int corePoolSize,
+                          @Value("${underwriter.streaming.max-pool-size:16}") int maxPoolSize,
+                          @Value("${underwriter.streaming.queue-capacity:100}") int queueCapacity,
+                          @Value("${underwriter.streaming.timeout:30m}") Duration timeout) {
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Executor that writes streaming responses.
+     * @return ThreadPoolTaskExecutor configured by the <code>underwriter.streaming.*</code> properties.
+     */
+    @Bean(name = "streamingExecutor")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+
+}
@@ -4,7 +4,12 @@ import com.aline.core.dto.request.CreateApplicant;
 import com.aline.core.dto.request.UpdateApplicant;
 import com.aline.core.dto.response.ApplicantResponse;
 import com.aline.core.model.Applicant;
+import com.aline.underwritermicroservice.dto.response.BulkDeleteResponse;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import com.aline.underwritermicroservice.dto.response.ImportSummary;
+import com.aline.underwritermicroservice.service.ApplicantImportService;
 import com.aline.underwritermicroservice.service.ApplicantService;
+import com.aline.underwritermicroservice.service.BulkDeleteService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -14,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
@@ -27,10 +33,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Applicant Controller
@@ -48,6 +60,10 @@ public class ApplicantController {
 
     private final ApplicantService service;
 
+    private final ApplicantImportService importService;
+
+    private final BulkDeleteService bulkDeleteService;
+
     /**
      * Create Applicant
      * <p>
@@ -78,6 +94,33 @@ public class ApplicantController {
                 .body(applicant);
     }
 
+    /**
+     * Import Applicants
+     * <p>
+     *     <code>POST</code> mapping for <code>/applicants/import</code> endpoint.
+     *     The body is a UTF-8 CSV with a header row and one applicant per row.
+     *     It is read while the applicants are imported and never held in memory as a whole.
+     * </p>
+     * @param body CSV request body.
+     * @return ResponseEntity with the summary of the import.
+     * @throws IOException If the body cannot be read.
+     * @apiNote Exceptions will be caught by the GlobalExceptionHandler
+     */
+    @ApiOperation("Import Applicants (CSV)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Import finished. Rejected rows are listed in the summary."),
+            @ApiResponse(code = 400, message = "CSV header is missing or not valid.")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportSummary> importApplicants(InputStream body) throws IOException {
+        ImportSummary summary = importService.importApplicants(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(summary);
+    }
+
     /**
      * Get Applicant by ID
      * <p>
@@ -132,7 +175,8 @@ public class ApplicantController {
     @ApiOperation("Delete an Applicant by ID")
     @ApiResponses({
             @ApiResponse(code = 204, message = "Applicant was successfully deleted."),
-            @ApiResponse(code = 404, message = "Applicant to delete was not found.")
+            @ApiResponse(code = 404, message = "Applicant to delete was not found."),
+            @ApiResponse(code = 409, message = "Applicant belongs to an application or a member.")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteApplicant(@PathVariable long id) {
@@ -142,10 +186,35 @@ public class ApplicantController {
                 .build();
     }
 
+    /**
+     * Delete applicants by ID
+     * <p>
+     *     <code>DELETE</code> mapping for <code>/applicants</code> endpoint.
+     *     The body is a JSON array of applicant IDs. IDs that do not exist are reported, not rejected.
+     * </p>
+     * @param ids The IDs of the applicants to delete.
+     * @return ResponseEntity with the result of the delete.
+     * @apiNote Exceptions will be caught by the GlobalExceptionHandler
+     */
+    @ApiOperation("Delete Applicants by ID")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Existing applicants were deleted. IDs that were not found are listed."),
+            @ApiResponse(code = 400, message = "No IDs or too many IDs were given."),
+            @ApiResponse(code = 409, message = "An applicant belongs to an application or a member. Nothing was deleted.")
+    })
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteApplicants(@RequestBody List<Long> ids) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bulkDeleteService.deleteApplicants(ids));
+    }
+
     /**
      * Paginated {@link ApplicantResponse} entity.
      * <p>
      *     The endpoint returns a paginated object with the content consisting of ApplicantResponse DTOs.
+     *     Searches can be sorted by <code>rank</code> to list applicants matching more search terms first.
      * </p>
      * @param pageable Pageable object that contains the default params for the query.
      * @return ResponseEntity of type Page with generic ApplicantResponse.
@@ -166,4 +235,79 @@ public class ApplicantController {
                 .body(applicantResponsePage);
     }
 
+    /**
+     * Paginated {@link ApplicantResponse} entity using a cursor.
+     * <p>
+     *     Selected when the <code>after</code> parameter is present. Pass an empty
+     *     <code>after</code> for the first page and the <code>next</code> cursor of
+     *     a page for the page after it. Deep pages are as fast as the first one.
+     * </p>
+     * @param after Cursor of the previous page.
+     * @param pageable Pageable object that contains the default params for the query.
+     * @return ResponseEntity of type CursorPage with generic ApplicantResponse.
+     */
+    @ApiOperation("Get all Applicants (Cursor)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Retrieve a populated or empty page of applicants."),
+            @ApiResponse(code = 400, message = "Cursor or sort is not valid.")
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<ApplicantResponse>> getApplicantsAfter(
+            @RequestParam String after,
+            @PageableDefault(sort = "id", direction = Sort.Direction.ASC)
+                Pageable pageable,
+            @RequestParam(defaultValue = "") String search) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.getApplicants(after, pageable, search));
+    }
+
+    /**
+     * Export applicants.
+     * <p>
+     *     Streams every applicant matching the search as newline-delimited JSON
+     *     sorted by ID, one {@link ApplicantResponse} per line.
+     * </p>
+     * @param search Search term if any.
+     * @return ResponseEntity with a body that is written after the request thread is released.
+     */
+    @ApiOperation("Export all Applicants (NDJSON)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Applicants are streamed one per line.")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportApplicants(@RequestParam(defaultValue = "") String search) {
+        StreamingResponseBody body = out -> service.exportApplicants(search, out);
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Paginated {@link ApplicantResponse} entity without a total.
+     * <p>
+     *     Selected with <code>count=false</code>. Skips the count query and
+     *     only tells whether there is a next page.
+     * </p>
+     * @param pageable Pageable object that contains the default params for the query.
+     * @param search Search term if any.
+     * @return ResponseEntity of type Slice with generic ApplicantResponse.
+     */
+    @ApiOperation("Get all Applicants (Paginated without total)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Retrieve a populated or empty slice of applicants.")
+    })
+    @GetMapping(params = {"count=false", "!after"})
+    public ResponseEntity<Slice<ApplicantResponse>> getApplicantSlice(
+            @PageableDefault(sort = "id", direction = Sort.Direction.ASC)
+                Pageable pageable,
+            @RequestParam(defaultValue = "") String search) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.getApplicantSlice(pageable, search));
+    }
+
 }
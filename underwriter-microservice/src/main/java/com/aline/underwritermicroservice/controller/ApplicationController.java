@@ -4,7 +4,15 @@ import com.aline.core.dto.request.ApplyRequest;
 import com.aline.core.dto.response.ApplicationResponse;
 import com.aline.core.dto.response.ApplyResponse;
 import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.dto.response.BatchApplyResponse;
+import com.aline.underwritermicroservice.dto.response.BulkDeleteResponse;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import com.aline.underwritermicroservice.service.ApplicationEventBroadcaster;
 import com.aline.underwritermicroservice.service.ApplicationService;
+import com.aline.underwritermicroservice.service.BatchApplicationService;
+import com.aline.underwritermicroservice.service.BulkDeleteService;
+import com.aline.underwritermicroservice.service.IdempotencyStore;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -14,21 +22,27 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.List;
 
 /**
  * Application Controller
@@ -48,6 +62,14 @@ public class ApplicationController {
 
     private final ApplicationService service;
 
+    private final BatchApplicationService batchService;
+
+    private final BulkDeleteService bulkDeleteService;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final ApplicationEventBroadcaster eventBroadcaster;
+
     /**
      * Retrieve an application by it's ID.
      * @param id The id of the application to be retrieved.
@@ -78,6 +100,103 @@ public class ApplicationController {
                 .body(page);
     }
 
+    /**
+     * Retrieve applications using a cursor.
+     * <p>
+     *     Selected when the <code>after</code> parameter is present. Pass an empty
+     *     <code>after</code> for the first page and the <code>next</code> cursor of
+     *     a page for the page after it. Deep pages are as fast as the first one.
+     * </p>
+     * @param after Cursor of the previous page.
+     * @param pageable Size and sort of the page.
+     * @param search Search term if any.
+     * @return ResponseEntity of a CursorPage of ApplicationResponse.
+     */
+    @ApiOperation("Get all applications (Cursor)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Retrieve a populated or empty page of applications."),
+            @ApiResponse(code = 400, message = "Cursor or sort is not valid.")
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<ApplicationResponse>> getAllApplicationsAfter(
+            @RequestParam String after,
+            @PageableDefault(sort = "id", direction = Sort.Direction.ASC)
+                    Pageable pageable,
+            @RequestParam(defaultValue = "") String search) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.getAllApplications(after, pageable, search));
+    }
+
+    /**
+     * Export applications.
+     * <p>
+     *     Streams every application matching the search as newline-delimited JSON
+     *     sorted by ID, one {@link ApplicationResponse} per line.
+     * </p>
+     * @param search Search term if any.
+     * @return ResponseEntity with a body that is written after the request thread is released.
+     */
+    @ApiOperation("Export all applications (NDJSON)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Applications are streamed one per line.")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportApplications(@RequestParam(defaultValue = "") String search) {
+        StreamingResponseBody body = out -> service.exportApplications(search, out);
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Subscribe to application status changes.
+     * <p>
+     *     Streams a server-sent event named <code>status</code> with an {@link com.aline.underwritermicroservice.dto.response.ApplicationStatusEvent}
+     *     every time an application is approved or denied, instead of polling <code>GET /applications/{id}</code>.
+     *     Clients that fall too far behind are disconnected and should reconnect.
+     * </p>
+     * @param applicationId Only stream these applications. Repeat for several. All applications if absent.
+     * @param type Only stream applications of this type. All types if absent.
+     * @return SseEmitter of the subscription.
+     */
+    @ApiOperation("Stream application status changes (Server-sent events)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Status changes are streamed as they are committed.")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamApplicationEvents(@RequestParam(required = false) List<Long> applicationId,
+                                              @RequestParam(required = false) ApplicationType type) {
+        return eventBroadcaster.subscribe(applicationId, type);
+    }
+
+    /**
+     * Retrieve applications without a total.
+     * <p>
+     *     Selected with <code>count=false</code>. Skips the count query and
+     *     only tells whether there is a next page.
+     * </p>
+     * @param pageable Size and sort of the page.
+     * @param search Search term if any.
+     * @return ResponseEntity of a Slice of ApplicationResponse.
+     */
+    @ApiOperation("Get all applications (Paginated without total)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Retrieve a populated or empty slice of applications.")
+    })
+    @GetMapping(params = {"count=false", "!after"})
+    public ResponseEntity<Slice<ApplicationResponse>> getApplicationSlice(
+            @PageableDefault(sort = "id", direction = Sort.Direction.ASC)
+                    Pageable pageable,
+            @RequestParam(defaultValue = "") String search) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.getApplicationSlice(pageable, search));
+    }
+
     /**
      * Apply for a membership with this endpoint.
      * <p>
@@ -85,7 +204,19 @@ public class ApplicationController {
      *     either existing applicants or new applicants. These are flags
      *     withing the ApplyRequest dto object.
      * </p>
+     * <p>
+     *     With <code>async=true</code> the application is saved as pending and
+     *     underwritten in the background. The response is <code>202 Accepted</code>
+     *     and its location can be polled for the status of the application.
+     * </p>
+     * <p>
+     *     Requests with an <code>Idempotency-Key</code> header are applied once per key. Retries with the
+     *     same key and body get the stored response with the header <code>Idempotent-Replayed: true</code>.
+     *     Responses to requests without the header do not contain <code>Idempotent-Replayed</code>.
+     * </p>
      * @param request The apply request to dto.
+     * @param async Whether the application is underwritten in the background.
+     * @param idempotencyKey Optional key that identifies retries of the same request.
      * @return ResponseEntity of ApplicationResponse with information such as
      * if the accounts and members were created or if there was a reason for them not
      * being created.
@@ -94,25 +225,87 @@ public class ApplicationController {
     @ApiOperation("Apply for a membership.")
     @ApiResponses({
             @ApiResponse(code = 201, message = "Application was successfully created and either approved, denied, or set to pending."),
+            @ApiResponse(code = 202, message = "Application was created and will be underwritten in the background."),
             @ApiResponse(code = 404, message = "Creating an application with existing applicants and one or more of the existing applicants do not exist."),
-            @ApiResponse(code = 409, message = "There was a conflict with creating one or more of the applicants. There is a conflict with the specified unique columns."),
+            @ApiResponse(code = 409, message = "There was a conflict with creating one or more of the applicants. There is a conflict with the specified unique columns. Or the idempotency key was used for a different request."),
             @ApiResponse(code = 400, message = "Application could not be processed for some reason.")
     })
     @PostMapping
-    public ResponseEntity<ApplyResponse> apply(@RequestBody @Valid ApplyRequest request) {
-        ApplyResponse response = service.apply(request);
+    public ResponseEntity<ApplyResponse> apply(@RequestBody @Valid ApplyRequest request,
+                                               @RequestParam(defaultValue = "false") boolean async,
+                                               @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        ApplyResponse response;
+        boolean replayed = false;
+        if (idempotencyKey == null) {
+            response = async ? service.applyAsync(request) : service.apply(request);
+        } else {
+            IdempotencyStore.Execution<ApplyResponse> execution = idempotencyStore.execute(idempotencyKey,
+                    new Object[] {request, async},
+                    () -> async ? service.applyAsync(request) : service.apply(request));
+            response = execution.getResult();
+            replayed = execution.isReplayed();
+        }
 
         URI location = ServletUriComponentsBuilder
-                .fromCurrentRequest()
+                .fromCurrentRequestUri()
                 .path("/{id}")
                 .port(port)
                 .buildAndExpand(response.getId())
                 .toUri();
 
-        return ResponseEntity
-                .created(location)
+        ResponseEntity.BodyBuilder builder = async
+                ? ResponseEntity.accepted().location(location)
+                : ResponseEntity.created(location);
+        if (idempotencyKey != null)
+            builder.header(IdempotencyStore.REPLAYED_HEADER, String.valueOf(replayed));
+
+        return builder
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(response);
     }
 
+    /**
+     * Apply for many memberships at once.
+     * <p>
+     *     Every apply request goes through the same validation and underwriting as
+     *     <code>POST /applications</code>. One failing application does not abort the others.
+     * </p>
+     * @param requests The apply requests.
+     * @return ResponseEntity of BatchApplyResponse with one result per request in the same order.
+     */
+    @ApiOperation("Apply for many memberships at once.")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Batch was processed. Every result contains the status of its application."),
+            @ApiResponse(code = 400, message = "Batch is empty or contains too many applications.")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchApplyResponse> applyAll(@RequestBody List<ApplyRequest> requests) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(batchService.applyAll(requests));
+    }
+
+    /**
+     * Delete applications by ID.
+     * <p>
+     *     The body is a JSON array of application IDs. IDs that do not exist are reported, not rejected.
+     *     The applicants of the applications are kept.
+     * </p>
+     * @param ids The IDs of the applications to delete.
+     * @return ResponseEntity of BulkDeleteResponse.
+     */
+    @ApiOperation("Delete applications by ID.")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Existing applications were deleted. IDs that were not found are listed."),
+            @ApiResponse(code = 400, message = "No IDs or too many IDs were given.")
+    })
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteApplications(@RequestBody List<Long> ids) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bulkDeleteService.deleteApplications(ids));
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Status change of an application.
+ * <p>
+ *     Sent to the subscribers of <code>GET /applications/events</code>
+ *     once the new status is committed.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusEvent {
+
+    private long applicationId;
+
+    private ApplicationType applicationType;
+
+    private ApplicationStatus status;
+
+    private String reason;
+
+    private Instant occurredAt;
+
+}
@@ -0,0 +1,28 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of a batch of applications.
+ * <p>
+ *     Contains one result per apply request in the same order as the request.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchApplyResponse {
+
+    private int created;
+
+    private int failed;
+
+    private List<BatchApplyResult> results;
+
+}
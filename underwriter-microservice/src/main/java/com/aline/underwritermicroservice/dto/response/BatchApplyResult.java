@@ -0,0 +1,33 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import com.aline.core.dto.response.ApplyResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single application in a batch.
+ * <p>
+ *     <code>response</code> is only present when the application was created,
+ *     otherwise <code>message</code> contains the reason.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchApplyResult {
+
+    /**
+     * Position of the apply request in the batch.
+     */
+    private int index;
+
+    private BatchApplyStatus status;
+
+    private String message;
+
+    private ApplyResponse response;
+
+}
@@ -0,0 +1,29 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of a single application in a batch.
+ */
+public enum BatchApplyStatus {
+
+    CREATED(HttpStatus.CREATED),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    CONFLICT(HttpStatus.CONFLICT),
+    FAILED(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus httpStatus;
+
+    BatchApplyStatus(HttpStatus httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    /**
+     * @return The status code the application would have received from <code>POST /applications</code>.
+     */
+    public int getStatusCode() {
+        return httpStatus.value();
+    }
+
+}
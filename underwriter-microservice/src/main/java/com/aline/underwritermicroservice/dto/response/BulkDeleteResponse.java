@@ -0,0 +1,29 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk delete.
+ * <p>
+ *     IDs that did not exist are listed in <code>notFound</code>.
+ *     Repeated IDs are only counted once.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResponse {
+
+    private int requested;
+
+    private int deleted;
+
+    private List<Long> notFound;
+
+}
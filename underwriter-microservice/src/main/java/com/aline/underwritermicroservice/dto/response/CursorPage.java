@@ -0,0 +1,47 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Page of a list paginated with a cursor.
+ * <p>
+ *     The next page is requested by passing <code>next</code> as the <code>after</code> parameter.
+ *     There is no total count.
+ * </p>
+ * @param <T> Type of the content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    /**
+     * Cursor of the next page or <code>null</code> if this is the last page.
+     */
+    private String next;
+
+    private boolean last;
+
+    /**
+     * Map the content of the page.
+     * @param converter Function applied to every element.
+     * @param <R> Type of the mapped content.
+     * @return New page with the mapped content and the same cursor.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        return new CursorPage<>(content.stream().map(converter).collect(Collectors.toList()), size, next, last);
+    }
+
+}
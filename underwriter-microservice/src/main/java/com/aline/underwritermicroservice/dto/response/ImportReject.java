@@ -0,0 +1,24 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an applicant import that was not imported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReject {
+
+    /**
+     * Number of the row in the file. The header is row 0.
+     */
+    private long row;
+
+    private String message;
+
+}
@@ -0,0 +1,31 @@
+package com.aline.underwritermicroservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary of an applicant import.
+ * <p>
+ *     Every rejected row is counted, but only the first
+ *     <code>underwriter.import.max-rejects</code> rejects are listed.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+
+    private long rows;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<ImportReject> rejects;
+
+}
@@ -0,0 +1,27 @@
+package com.aline.underwritermicroservice.exception;
+
+import com.aline.core.exception.notfound.ApplicantNotFoundException;
+
+import java.util.Collection;
+
+/**
+ * {@link ApplicantNotFoundException} of a lookup by several IDs
+ * whose message lists every missing ID.
+ */
+public class ApplicantsNotFoundException extends ApplicantNotFoundException {
+
+    private final String message;
+
+    /**
+     * @param ids IDs of the applicants that do not exist.
+     */
+    public ApplicantsNotFoundException(Collection<Long> ids) {
+        this.message = String.format("Applicants with IDs %s do not exist.", ids);
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.aline.underwritermicroservice.mapper;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.request.UpdateApplicant;
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.Gender;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Hand-written {@link DtoMapper}.
+ * <p>
+ *     Plain getter to setter copies with no reflection or type matching at runtime.
+ *     The output is verified against {@link ModelMapperDtoMapper} in <code>CompiledDtoMapperTest</code>
+ *     so any field added to the core DTOs must be added here as well.
+ * </p>
+ */
+@Component
+@Profile("!modelmapper")
+public class CompiledDtoMapper implements DtoMapper {
+
+    @Override
+    public Applicant toApplicant(CreateApplicant createApplicant) {
+        if (createApplicant == null)
+            return null;
+        return Applicant.builder()
+                .firstName(createApplicant.getFirstName())
+                .middleName(createApplicant.getMiddleName())
+                .lastName(createApplicant.getLastName())
+                .dateOfBirth(createApplicant.getDateOfBirth())
+                .gender(createApplicant.getGender())
+                .email(createApplicant.getEmail())
+                .phone(createApplicant.getPhone())
+                .socialSecurity(createApplicant.getSocialSecurity())
+                .driversLicense(createApplicant.getDriversLicense())
+                .income(createApplicant.getIncome())
+                .address(createApplicant.getAddress())
+                .city(createApplicant.getCity())
+                .state(createApplicant.getState())
+                .zipcode(createApplicant.getZipcode())
+                .mailingAddress(createApplicant.getMailingAddress())
+                .mailingCity(createApplicant.getMailingCity())
+                .mailingState(createApplicant.getMailingState())
+                .mailingZipcode(createApplicant.getMailingZipcode())
+                .build();
+    }
+
+    @Override
+    public Applicant toApplicant(ApplicantResponse applicantResponse) {
+        if (applicantResponse == null)
+            return null;
+        return Applicant.builder()
+                .id(applicantResponse.getId())
+                .firstName(applicantResponse.getFirstName())
+                .middleName(applicantResponse.getMiddleName())
+                .lastName(applicantResponse.getLastName())
+                .dateOfBirth(applicantResponse.getDateOfBirth())
+                .gender(applicantResponse.getGender() == null ? null : Gender.valueOf(applicantResponse.getGender()))
+                .email(applicantResponse.getEmail())
+                .phone(applicantResponse.getPhone())
+                .socialSecurity(applicantResponse.getSocialSecurity())
+                .driversLicense(applicantResponse.getDriversLicense())
+                .income(applicantResponse.getIncome())
+                .address(applicantResponse.getAddress())
+                .city(applicantResponse.getCity())
+                .state(applicantResponse.getState())
+                .zipcode(applicantResponse.getZipcode())
+                .mailingAddress(applicantResponse.getMailingAddress())
+                .mailingCity(applicantResponse.getMailingCity())
+                .mailingState(applicantResponse.getMailingState())
+                .mailingZipcode(applicantResponse.getMailingZipcode())
+                .build();
+    }
+
+    @Override
+    public ApplicantResponse toApplicantResponse(Applicant applicant) {
+        if (applicant == null)
+            return null;
+        ApplicantResponse response = new ApplicantResponse();
+        response.setId(applicant.getId());
+        response.setFirstName(applicant.getFirstName());
+        response.setMiddleName(applicant.getMiddleName());
+        response.setLastName(applicant.getLastName());
+        response.setDateOfBirth(applicant.getDateOfBirth());
+        response.setGender(applicant.getGender() == null ? null : applicant.getGender().name());
+        response.setEmail(applicant.getEmail());
+        response.setPhone(applicant.getPhone());
+        response.setSocialSecurity(applicant.getSocialSecurity());
+        response.setDriversLicense(applicant.getDriversLicense());
+        response.setIncome(applicant.getIncome());
+        response.setAddress(applicant.getAddress());
+        response.setCity(applicant.getCity());
+        response.setState(applicant.getState());
+        response.setZipcode(applicant.getZipcode());
+        response.setMailingAddress(applicant.getMailingAddress());
+        response.setMailingCity(applicant.getMailingCity());
+        response.setMailingState(applicant.getMailingState());
+        response.setMailingZipcode(applicant.getMailingZipcode());
+        return response;
+    }
+
+    @Override
+    public ApplicationResponse toApplicationResponse(Application application) {
+        if (application == null)
+            return null;
+        ApplicationResponse response = new ApplicationResponse();
+        response.setId(application.getId());
+        response.setApplicationType(application.getApplicationType() == null ? null : application.getApplicationType().name());
+        response.setApplicationStatus(application.getApplicationStatus() == null ? null : application.getApplicationStatus().name());
+        if (application.getApplicants() != null) {
+            Set<ApplicantResponse> applicants = new LinkedHashSet<>();
+            for (Applicant applicant : application.getApplicants()) {
+                applicants.add(toApplicantResponse(applicant));
+            }
+            response.setApplicants(applicants);
+        }
+        return response;
+    }
+
+    @Override
+    public ApplyResponse toApplyResponse(Application application) {
+        if (application == null)
+            return null;
+        ApplyResponse response = new ApplyResponse();
+        response.setId(application.getId());
+        response.setApplicationType(application.getApplicationType());
+        response.setStatus(application.getApplicationStatus());
+        return response;
+    }
+
+    @Override
+    public void mergeNonNull(UpdateApplicant newValues, Applicant applicant) {
+        if (newValues.getFirstName() != null)
+            applicant.setFirstName(newValues.getFirstName());
+        if (newValues.getMiddleName() != null)
+            applicant.setMiddleName(newValues.getMiddleName());
+        if (newValues.getLastName() != null)
+            applicant.setLastName(newValues.getLastName());
+        if (newValues.getDateOfBirth() != null)
+            applicant.setDateOfBirth(newValues.getDateOfBirth());
+        if (newValues.getGender() != null)
+            applicant.setGender(newValues.getGender());
+        if (newValues.getEmail() != null)
+            applicant.setEmail(newValues.getEmail());
+        if (newValues.getPhone() != null)
+            applicant.setPhone(newValues.getPhone());
+        if (newValues.getSocialSecurity() != null)
+            applicant.setSocialSecurity(newValues.getSocialSecurity());
+        if (newValues.getDriversLicense() != null)
+            applicant.setDriversLicense(newValues.getDriversLicense());
+        if (newValues.getIncome() != null)
+            applicant.setIncome(newValues.getIncome());
+        if (newValues.getAddress() != null)
+            applicant.setAddress(newValues.getAddress());
+        if (newValues.getCity() != null)
+            applicant.setCity(newValues.getCity());
+        if (newValues.getState() != null)
+            applicant.setState(newValues.getState());
+        if (newValues.getZipcode() != null)
+            applicant.setZipcode(newValues.getZipcode());
+        if (newValues.getMailingAddress() != null)
+            applicant.setMailingAddress(newValues.getMailingAddress());
+        if (newValues.getMailingCity() != null)
+            applicant.setMailingCity(newValues.getMailingCity());
+        if (newValues.getMailingState() != null)
+            applicant.setMailingState(newValues.getMailingState());
+        if (newValues.getMailingZipcode() != null)
+            applicant.setMailingZipcode(newValues.getMailingZipcode());
+    }
+
+}
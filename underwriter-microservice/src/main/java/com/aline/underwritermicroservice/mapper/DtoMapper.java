@@ -0,0 +1,65 @@
+package com.aline.underwritermicroservice.mapper;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.request.UpdateApplicant;
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+
+/**
+ * DTO Mapper
+ * <p>
+ *     Maps the type pairs used by the services on hot paths.
+ * </p>
+ * <p>
+ *     {@link CompiledDtoMapper} is the default implementation.
+ *     Activate the <code>modelmapper</code> profile to use {@link ModelMapperDtoMapper} instead.
+ * </p>
+ */
+public interface DtoMapper {
+
+    /**
+     * Map a CreateApplicant DTO to a new (unsaved) Applicant.
+     * @param createApplicant DTO containing the applicant information.
+     * @return New Applicant entity.
+     */
+    Applicant toApplicant(CreateApplicant createApplicant);
+
+    /**
+     * Map an ApplicantResponse back into a detached Applicant.
+     * @param applicantResponse Response DTO of an existing applicant.
+     * @return Detached Applicant entity with the same ID.
+     */
+    Applicant toApplicant(ApplicantResponse applicantResponse);
+
+    /**
+     * Map an Applicant to an ApplicantResponse.
+     * @param applicant Applicant entity.
+     * @return ApplicantResponse DTO.
+     */
+    ApplicantResponse toApplicantResponse(Applicant applicant);
+
+    /**
+     * Map an Application to an ApplicationResponse.
+     * @param application Application entity.
+     * @return ApplicationResponse DTO.
+     */
+    ApplicationResponse toApplicationResponse(Application application);
+
+    /**
+     * Map an Application to an ApplyResponse.
+     * @param application Saved application entity.
+     * @return ApplyResponse DTO.
+     */
+    ApplyResponse toApplyResponse(Application application);
+
+    /**
+     * Copy the non-null values of an UpdateApplicant DTO into an Applicant.
+     * @param newValues The new values. Null values are skipped.
+     * @param applicant The applicant to be modified.
+     */
+    void mergeNonNull(UpdateApplicant newValues, Applicant applicant);
+
+}
@@ -0,0 +1,65 @@
+package com.aline.underwritermicroservice.mapper;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.request.UpdateApplicant;
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link DtoMapper} backed by the reflective {@link ModelMapper} beans.
+ * <p>
+ *     Only active with the <code>modelmapper</code> profile. Use it to compare
+ *     against {@link CompiledDtoMapper}.
+ * </p>
+ */
+@Component
+@Profile("modelmapper")
+public class ModelMapperDtoMapper implements DtoMapper {
+
+    private final ModelMapper mapper;
+    private final ModelMapper skipNullMapper;
+
+    public ModelMapperDtoMapper(@Qualifier("defaultModelMapper") ModelMapper mapper,
+                                @Qualifier("skipNullModelMapper") ModelMapper skipNullMapper) {
+        this.mapper = mapper;
+        this.skipNullMapper = skipNullMapper;
+    }
+
+    @Override
+    public Applicant toApplicant(CreateApplicant createApplicant) {
+        return mapper.map(createApplicant, Applicant.class);
+    }
+
+    @Override
+    public Applicant toApplicant(ApplicantResponse applicantResponse) {
+        return mapper.map(applicantResponse, Applicant.class);
+    }
+
+    @Override
+    public ApplicantResponse toApplicantResponse(Applicant applicant) {
+        return mapper.map(applicant, ApplicantResponse.class);
+    }
+
+    @Override
+    public ApplicationResponse toApplicationResponse(Application application) {
+        return mapper.map(application, ApplicationResponse.class);
+    }
+
+    @Override
+    public ApplyResponse toApplyResponse(Application application) {
+        return mapper.map(application, ApplyResponse.class);
+    }
+
+    @Override
+    public void mergeNonNull(UpdateApplicant newValues, Applicant applicant) {
+        skipNullMapper.map(newValues, applicant);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.aline.underwritermicroservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Outbox Event
+ * <p>
+ *     A notification that is written in the same transaction as the change it announces
+ *     and delivered by the {@link com.aline.underwritermicroservice.service.OutboxDispatcher}
+ *     after that transaction committed. Delivered events are deleted.
+ *     Events that ran out of attempts are kept with <code>deadAt</code> set.
+ * </p>
+ * <p>
+ *     The MySQL DDL of the table and its ID sequence is in <code>db/mysql/outbox_event.sql</code>.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "outbox_event_application_id", columnList = "application_id, id"),
+        @Index(name = "outbox_event_next_attempt_at", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_id")
+    @SequenceGenerator(name = "outbox_event_id", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Events of the same application are delivered in the order of their IDs.
+     */
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Comma separated bean names of the consumers that accepted the event.
+     */
+    @Column(name = "delivered_to", length = 1000)
+    private String deliveredTo;
+
+    @Column(name = "dead_at")
+    private Instant deadAt;
+
+}
@@ -0,0 +1,325 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.dto.request.UpdateApplicant;
+import com.aline.core.model.Applicant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * Applicant Custom Repository
+ * <p>
+ *     Queries on {@link Applicant} entities that are not covered
+ *     by the core <code>ApplicantRepository</code>.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicantCustomRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find which of the candidate identifiers already belong to an applicant.
+     * <p>
+     *     All four identifiers of every candidate are checked in a single query.
+     *     No query is issued if there are no candidates.
+     * </p>
+     * @param candidates Identifiers to look for.
+     * @return The subset of the candidates that already exist.
+     */
+    public ApplicantIdentifiers findExisting(ApplicantIdentifiers candidates) {
+        if (candidates.isEmpty())
+            return new ApplicantIdentifiers();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Applicant> root = query.from(Applicant.class);
+
+        Path<String> email = root.get("email");
+        Path<String> phone = root.get("phone");
+        Path<String> driversLicense = root.get("driversLicense");
+        Path<String> socialSecurity = root.get("socialSecurity");
+
+        List<Predicate> predicates = new ArrayList<>();
+        addInPredicate(predicates, email, candidates.getEmails());
+        addInPredicate(predicates, phone, candidates.getPhones());
+        addInPredicate(predicates, driversLicense, candidates.getDriversLicenses());
+        addInPredicate(predicates, socialSecurity, candidates.getSocialSecurities());
+
+        query.multiselect(email, phone, driversLicense, socialSecurity)
+                .where(cb.or(predicates.toArray(new Predicate[0])));
+
+        ApplicantIdentifiers found = new ApplicantIdentifiers();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            found.add(row.get(email), row.get(phone), row.get(driversLicense), row.get(socialSecurity));
+        }
+        return candidates.intersection(found);
+    }
+
+    /**
+     * Find which of the given applicant IDs exist.
+     * @param ids IDs to look for.
+     * @return The subset of the IDs that belong to an applicant.
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return new HashSet<>();
+        return new HashSet<>(entityManager.createQuery("SELECT a.id FROM Applicant a WHERE a.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    /**
+     * Find the IDs of the applications an applicant belongs to.
+     * @param applicantId ID of the applicant.
+     * @return IDs of the applications.
+     */
+    public List<Long> findApplicationIds(long applicantId) {
+        return entityManager.createQuery("SELECT DISTINCT app.id FROM Application app JOIN app.applicants a WHERE a.id = :id", Long.class)
+                .setParameter("id", applicantId)
+                .getResultList();
+    }
+
+    /**
+     * Find the unique identifiers of the given applicants.
+     * @param ids IDs of the applicants.
+     * @return Identifiers of the applicants that exist.
+     */
+    public ApplicantIdentifiers findIdentifiers(Collection<Long> ids) {
+        ApplicantIdentifiers found = new ApplicantIdentifiers();
+        if (ids.isEmpty())
+            return found;
+        List<Object[]> rows = entityManager.createQuery("SELECT a.email, a.phone, a.driversLicense, a.socialSecurity " +
+                "FROM Applicant a WHERE a.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+        for (Object[] row : rows) {
+            found.add((String) row[0], (String) row[1], (String) row[2], (String) row[3]);
+        }
+        return found;
+    }
+
+    /**
+     * Find the values of an applicant that an update depends on without loading the entity.
+     * <p>
+     *     The returned applicant is not managed and only has its ID, unique identifiers,
+     *     searchable text fields and <code>lastModifiedAt</code> set.
+     * </p>
+     * @param id ID of the applicant.
+     * @return Optional of the partial applicant. Empty if the applicant does not exist.
+     * @see #updateNonNull(long, UpdateApplicant, LocalDateTime, LocalDateTime)
+     */
+    public Optional<Applicant> findUpdateSnapshot(long id) {
+        List<Object[]> rows = entityManager.createQuery("SELECT a.firstName, a.middleName, a.lastName, a.email, a.phone, " +
+                "a.address, a.city, a.state, a.zipcode, a.mailingAddress, a.mailingCity, a.mailingState, a.mailingZipcode, " +
+                "a.driversLicense, a.socialSecurity, a.lastModifiedAt FROM Applicant a WHERE a.id = :id", Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty())
+            return Optional.empty();
+        Object[] row = rows.get(0);
+        return Optional.of(Applicant.builder()
+                .id(id)
+                .firstName((String) row[0])
+                .middleName((String) row[1])
+                .lastName((String) row[2])
+                .email((String) row[3])
+                .phone((String) row[4])
+                .address((String) row[5])
+                .city((String) row[6])
+                .state((String) row[7])
+                .zipcode((String) row[8])
+                .mailingAddress((String) row[9])
+                .mailingCity((String) row[10])
+                .mailingState((String) row[11])
+                .mailingZipcode((String) row[12])
+                .driversLicense((String) row[13])
+                .socialSecurity((String) row[14])
+                .lastModifiedAt((LocalDateTime) row[15])
+                .build());
+    }
+
+    /**
+     * Update the non-null values of an applicant without loading it.
+     * <p>
+     *     Only the columns of the non-null values and <code>lastModifiedAt</code> are set.
+     *     The update only applies while <code>lastModifiedAt</code> still equals <code>version</code>,
+     *     so an applicant that was modified in the meantime is left untouched. A managed instance
+     *     of the applicant is detached so the next lookup sees the new values.
+     *     Must run within a transaction.
+     * </p>
+     * @param id ID of the applicant.
+     * @param newValues The new values. Null values are skipped.
+     * @param version The <code>lastModifiedAt</code> value the update is based on. May be null.
+     * @param modifiedAt The new <code>lastModifiedAt</code> value. Must differ from <code>version</code>.
+     * @return Amount of updated applicants. Zero if the applicant does not exist or was modified since <code>version</code>.
+     */
+    public int updateNonNull(long id, UpdateApplicant newValues, LocalDateTime version, LocalDateTime modifiedAt) {
+        Map<String, Object> values = nonNullValues(newValues);
+        values.put("lastModifiedAt", modifiedAt);
+
+        StringJoiner assignments = new StringJoiner(", ");
+        values.keySet().forEach(field -> assignments.add(String.format("a.%1$s = :%1$s", field)));
+        String jpql = "UPDATE Applicant a SET " + assignments + " WHERE a.id = :id AND " +
+                (version == null ? "a.lastModifiedAt IS NULL" : "a.lastModifiedAt = :version");
+
+        Query query = entityManager.createQuery(jpql).setParameter("id", id);
+        values.forEach(query::setParameter);
+        if (version != null)
+            query.setParameter("version", version);
+        int updated = query.executeUpdate();
+
+        if (updated > 0)
+            entityManager.detach(entityManager.getReference(Applicant.class, id));
+        return updated;
+    }
+
+    private static Map<String, Object> nonNullValues(UpdateApplicant newValues) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putNonNull(values, "firstName", newValues.getFirstName());
+        putNonNull(values, "middleName", newValues.getMiddleName());
+        putNonNull(values, "lastName", newValues.getLastName());
+        putNonNull(values, "dateOfBirth", newValues.getDateOfBirth());
+        putNonNull(values, "gender", newValues.getGender());
+        putNonNull(values, "email", newValues.getEmail());
+        putNonNull(values, "phone", newValues.getPhone());
+        putNonNull(values, "socialSecurity", newValues.getSocialSecurity());
+        putNonNull(values, "driversLicense", newValues.getDriversLicense());
+        putNonNull(values, "income", newValues.getIncome());
+        putNonNull(values, "address", newValues.getAddress());
+        putNonNull(values, "city", newValues.getCity());
+        putNonNull(values, "state", newValues.getState());
+        putNonNull(values, "zipcode", newValues.getZipcode());
+        putNonNull(values, "mailingAddress", newValues.getMailingAddress());
+        putNonNull(values, "mailingCity", newValues.getMailingCity());
+        putNonNull(values, "mailingState", newValues.getMailingState());
+        putNonNull(values, "mailingZipcode", newValues.getMailingZipcode());
+        return values;
+    }
+
+    private static void putNonNull(Map<String, Object> values, String field, Object value) {
+        if (value != null)
+            values.put(field, value);
+    }
+
+    /**
+     * Delete an applicant without loading it.
+     * @param id ID of the applicant.
+     * @return Amount of deleted applicants. Zero if the applicant does not exist.
+     * @see #deleteAllById(Collection)
+     */
+    public int deleteById(long id) {
+        return deleteAllById(Collections.singletonList(id));
+    }
+
+    /**
+     * Delete applicants without loading them.
+     * <p>
+     *     Deletes them with one statement no matter how many IDs are given. Nothing is cascaded, so
+     *     applicants that are referenced by applications or members must not be deleted. See
+     *     {@link #findReferencedIds(Collection)}. Must run within a transaction.
+     * </p>
+     * @param ids IDs of the applicants.
+     * @return Amount of deleted applicants.
+     */
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return 0;
+        return entityManager.createQuery("DELETE FROM Applicant a WHERE a.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Find the applicants that cannot be deleted because an application or a member refers to them.
+     * @param ids IDs of the applicants.
+     * @return IDs of the applicants that are the primary applicant or an applicant of an application
+     * or the applicant of a member.
+     */
+    public Set<Long> findReferencedIds(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return new HashSet<>();
+        Set<Long> referenced = new HashSet<>();
+        referenced.addAll(entityManager.createQuery("SELECT DISTINCT a.id FROM Application app JOIN app.applicants a WHERE a.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+        referenced.addAll(entityManager.createQuery("SELECT DISTINCT app.primaryApplicant.id FROM Application app WHERE app.primaryApplicant.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+        referenced.addAll(entityManager.createQuery("SELECT DISTINCT m.applicant.id FROM Member m WHERE m.applicant.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+        return referenced;
+    }
+
+    /**
+     * Count all applicants.
+     * @return Total amount of applicants.
+     */
+    public long count() {
+        return entityManager.createQuery("SELECT COUNT(a) FROM Applicant a", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * Stream the unique identifiers of every applicant.
+     * <p>
+     *     Each row is an array of <code>[email, phone, driversLicense, socialSecurity]</code>.
+     *     Must be consumed and closed within a transaction.
+     * </p>
+     * @param fetchSize Amount of rows fetched per round trip.
+     * @return Stream of identifier rows.
+     */
+    public Stream<Object[]> streamIdentifiers(int fetchSize) {
+        return entityManager.createQuery("SELECT a.email, a.phone, a.driversLicense, a.socialSecurity FROM Applicant a", Object[].class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    /**
+     * Stream the ID and searchable text fields of every applicant.
+     * <p>
+     *     Each row is an array of the ID followed by the fields in the order of
+     *     <code>ApplicantSearchIndex.fields(Applicant)</code>.
+     *     Must be consumed and closed within a transaction.
+     * </p>
+     * @param fetchSize Amount of rows fetched per round trip.
+     * @return Stream of rows.
+     */
+    public Stream<Object[]> streamSearchFields(int fetchSize) {
+        return entityManager.createQuery("SELECT a.id, a.firstName, a.middleName, a.lastName, a.email, a.phone, " +
+                "a.address, a.city, a.state, a.zipcode, " +
+                "a.mailingAddress, a.mailingCity, a.mailingState, a.mailingZipcode FROM Applicant a", Object[].class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    private static void addInPredicate(List<Predicate> predicates, Path<String> path, Set<String> values) {
+        if (!values.isEmpty())
+            predicates.add(path.in(values));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.model.Applicant;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Applicant Identifiers
+ * <p>
+ *     The unique identifiers (email, phone, driver's license and Social Security number)
+ *     of one or more applicants. Null values are never added.
+ * </p>
+ */
+@Getter
+public class ApplicantIdentifiers {
+
+    private final Set<String> emails = new HashSet<>();
+    private final Set<String> phones = new HashSet<>();
+    private final Set<String> driversLicenses = new HashSet<>();
+    private final Set<String> socialSecurities = new HashSet<>();
+
+    /**
+     * Collect the identifiers of a collection of applicants.
+     * @param applicants Applicants to collect the identifiers from.
+     * @return ApplicantIdentifiers containing every non-null identifier.
+     */
+    public static ApplicantIdentifiers of(Collection<Applicant> applicants) {
+        ApplicantIdentifiers identifiers = new ApplicantIdentifiers();
+        applicants.forEach(applicant -> identifiers.add(applicant.getEmail(),
+                applicant.getPhone(),
+                applicant.getDriversLicense(),
+                applicant.getSocialSecurity()));
+        return identifiers;
+    }
+
+    /**
+     * Add the identifiers of a single applicant.
+     * @param email Email. (Nullable)
+     * @param phone Phone number. (Nullable)
+     * @param driversLicense Driver's license. (Nullable)
+     * @param socialSecurity Social Security number. (Nullable)
+     */
+    public void add(String email, String phone, String driversLicense, String socialSecurity) {
+        addIfNotNull(emails, email);
+        addIfNotNull(phones, phone);
+        addIfNotNull(driversLicenses, driversLicense);
+        addIfNotNull(socialSecurities, socialSecurity);
+    }
+
+    /**
+     * Add every identifier of other applicants.
+     * @param other The other identifiers.
+     */
+    public void addAll(ApplicantIdentifiers other) {
+        emails.addAll(other.emails);
+        phones.addAll(other.phones);
+        driversLicenses.addAll(other.driversLicenses);
+        socialSecurities.addAll(other.socialSecurities);
+    }
+
+    /**
+     * Identifiers that are contained in both this and the other set of identifiers.
+     * @param other The other identifiers.
+     * @return New ApplicantIdentifiers with the common identifiers.
+     */
+    public ApplicantIdentifiers intersection(ApplicantIdentifiers other) {
+        ApplicantIdentifiers intersection = new ApplicantIdentifiers();
+        retain(intersection.emails, emails, other.emails);
+        retain(intersection.phones, phones, other.phones);
+        retain(intersection.driversLicenses, driversLicenses, other.driversLicenses);
+        retain(intersection.socialSecurities, socialSecurities, other.socialSecurities);
+        return intersection;
+    }
+
+    /**
+     * Identifiers that are contained in this but not in the other set of identifiers.
+     * @param other The other identifiers.
+     * @return New ApplicantIdentifiers without the identifiers of the other.
+     */
+    public ApplicantIdentifiers difference(ApplicantIdentifiers other) {
+        ApplicantIdentifiers difference = new ApplicantIdentifiers();
+        difference.emails.addAll(emails);
+        difference.emails.removeAll(other.emails);
+        difference.phones.addAll(phones);
+        difference.phones.removeAll(other.phones);
+        difference.driversLicenses.addAll(driversLicenses);
+        difference.driversLicenses.removeAll(other.driversLicenses);
+        difference.socialSecurities.addAll(socialSecurities);
+        difference.socialSecurities.removeAll(other.socialSecurities);
+        return difference;
+    }
+
+    public boolean isEmpty() {
+        return emails.isEmpty() && phones.isEmpty() && driversLicenses.isEmpty() && socialSecurities.isEmpty();
+    }
+
+    private static void addIfNotNull(Set<String> set, String value) {
+        if (value != null)
+            set.add(value);
+    }
+
+    private static void retain(Set<String> target, Set<String> values, Set<String> other) {
+        for (String value : values) {
+            if (other.contains(value))
+                target.add(value);
+        }
+    }
+
+}
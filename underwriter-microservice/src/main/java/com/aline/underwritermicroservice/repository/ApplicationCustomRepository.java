@@ -0,0 +1,148 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Application Custom Repository
+ * <p>
+ *     Queries on {@link Application} entities that are not covered
+ *     by the core <code>ApplicationRepository</code>.
+ * </p>
+ * <p>
+ *     The <code>find*WithApplicants</code> methods fetch the applicants and the primary applicant
+ *     together with the applications, so mapping them to responses issues no further queries.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationCustomRepository {
+
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find an application with its applicants in a single query.
+     * @param id ID of the application.
+     * @return Optional of the application.
+     */
+    public Optional<Application> findWithApplicants(long id) {
+        EntityGraph<Application> graph = entityManager.createEntityGraph(Application.class);
+        graph.addAttributeNodes("applicants", "primaryApplicant");
+        return Optional.ofNullable(entityManager.find(Application.class, id,
+                Collections.singletonMap(FETCH_GRAPH, graph)));
+    }
+
+    /**
+     * Find an application and lock its row until the transaction ends.
+     * <p>
+     *     Concurrent callers wait for each other, so only one of them sees the application
+     *     in the state it had before the other one changed it.
+     * </p>
+     * @param id ID of the application.
+     * @return Optional of the locked application.
+     */
+    public Optional<Application> findForUpdate(long id) {
+        return Optional.ofNullable(entityManager.find(Application.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    /**
+     * Find the IDs of applications with a status, oldest first.
+     * @param status The status.
+     * @param limit Maximum amount of IDs.
+     * @return At most <code>limit</code> IDs in ascending order.
+     */
+    public List<Long> findIdsByStatus(ApplicationStatus status, int limit) {
+        return entityManager.createQuery("SELECT app.id FROM Application app WHERE app.applicationStatus = :status ORDER BY app.id", Long.class)
+                .setParameter("status", status)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Find applications with their applicants in a single query.
+     * <p>
+     *     Used as the second phase of paging: the IDs of a page are found first so the
+     *     limit applies to applications and not to the rows of the joined applicants.
+     * </p>
+     * @param ids IDs of the applications.
+     * @return The existing applications in the order of the IDs.
+     */
+    public List<Application> findAllWithApplicants(List<Long> ids) {
+        if (ids.isEmpty())
+            return Collections.emptyList();
+        List<Application> applications = entityManager.createQuery("SELECT DISTINCT app FROM Application app " +
+                "LEFT JOIN FETCH app.applicants " +
+                "LEFT JOIN FETCH app.primaryApplicant " +
+                "WHERE app.id IN :ids", Application.class)
+                .setParameter("ids", ids)
+                .setHint("hibernate.query.passDistinctThrough", false)
+                .getResultList();
+        Map<Long, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++)
+            positions.putIfAbsent(ids.get(i), i);
+        applications.sort(Comparator.comparing(application -> positions.get(application.getId())));
+        return applications;
+    }
+
+    /**
+     * Find which of the given application IDs exist.
+     * @param ids IDs to look for.
+     * @return The subset of the IDs that belong to an application.
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return new HashSet<>();
+        return new HashSet<>(entityManager.createQuery("SELECT app.id FROM Application app WHERE app.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    /**
+     * Delete an application without loading it.
+     * @param id ID of the application.
+     * @return Amount of deleted applications. Zero if the application does not exist.
+     * @see #deleteAllById(Collection)
+     */
+    public int deleteById(long id) {
+        return deleteAllById(Collections.singletonList(id));
+    }
+
+    /**
+     * Delete applications without loading them.
+     * <p>
+     *     Removes the applicants from the applications and deletes them with two statements,
+     *     no matter how many IDs are given. The applicants themselves are kept.
+     *     Must run within a transaction.
+     * </p>
+     * @param ids IDs of the applications.
+     * @return Amount of deleted applications.
+     */
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return 0;
+        entityManager.createNativeQuery("DELETE FROM application_applicant WHERE application_id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return entityManager.createQuery("DELETE FROM Application app WHERE app.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+}
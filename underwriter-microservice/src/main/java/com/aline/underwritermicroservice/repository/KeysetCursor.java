@@ -0,0 +1,108 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.exception.BadRequestException;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset Cursor
+ * <p>
+ *     Position in a list sorted by a single property with the ID as tie breaker.
+ *     Clients only see the opaque token returned by {@link #encode()}.
+ * </p>
+ */
+@Getter
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Sorted property.
+     */
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    /**
+     * ID of the last row of the previous page or <code>null</code> for the first page.
+     */
+    private final Long id;
+
+    /**
+     * Sorted property value of the last row of the previous page formatted as a string.
+     */
+    private final String value;
+
+    private KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * Cursor of the first page.
+     * @param sort Requested sort. Only the first order is used. Sorted by ID ascending if unsorted.
+     * @param idProperty Name of the ID property.
+     * @return Cursor before the first row.
+     */
+    public static KeysetCursor first(Sort sort, String idProperty) {
+        Sort.Order order = sort.stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(idProperty));
+        return new KeysetCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Cursor after a row.
+     * @param id ID of the row.
+     * @param value Sorted property value of the row formatted as a string.
+     * @return Cursor after the row in the same order as this cursor.
+     */
+    public KeysetCursor next(long id, String value) {
+        return new KeysetCursor(property, direction, id, value);
+    }
+
+    /**
+     * @return True if this is the cursor of the first page.
+     */
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * Encode the cursor as an URL safe token.
+     * @return The token.
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                property,
+                direction.name(),
+                String.valueOf(id),
+                value == null ? "" : "v" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token created by {@link #encode()}.
+     * @param token The token.
+     * @return The cursor.
+     * @throws BadRequestException If the token is not valid.
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4)
+                throw new BadRequestException("Cursor is not valid.");
+            String value = parts[3].isEmpty() ? null : parts[3].substring(1);
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor is not valid.");
+        }
+    }
+
+}
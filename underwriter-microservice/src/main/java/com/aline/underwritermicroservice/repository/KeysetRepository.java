@@ -0,0 +1,241 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.exception.BadRequestException;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset Repository
+ * <p>
+ *     Paginates entities by seeking past the last row of the previous page
+ *     instead of skipping an offset. Every page is a single range query on
+ *     <code>(sorted property, id)</code> that fetches one extra row to know
+ *     whether there is a next page. No count query is issued.
+ * </p>
+ * <p>
+ *     Only basic properties can be sorted. <code>NULL</code> values are
+ *     sorted as the lowest values like MySQL and H2 do.
+ * </p>
+ * <p>
+ *     Deep pages are only as fast as the first one with an index on <code>(sorted column, id)</code>,
+ *     otherwise the range predicate filters a scan. On MySQL (InnoDB) an index on the sorted column
+ *     is enough because every secondary index ends with the primary key. The ID itself is always
+ *     served by the primary key. See the <i>Database</i> section of the README.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class KeysetRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find a page of entities.
+     * @param type Entity class.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param after Token of the previous page or an empty string for the first page.
+     * @param pageable Size of the page and, for the first page, the sort.
+     * @param <T> Entity type.
+     * @return Page of entities with the token of the next page.
+     * @throws BadRequestException If the token is not valid or the sorted property cannot be sorted.
+     */
+    public <T> CursorPage<T> findPage(Class<T> type, Specification<T> spec, String after, Pageable pageable) {
+        Keyset<T> keyset = new Keyset<>(type, after, pageable);
+        CriteriaQuery<T> query = keyset.cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root);
+        keyset.restrict(query, root, spec);
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(keyset.size + 1)
+                .getResultList();
+
+        return keyset.page(rows, row -> {
+            Object lastId = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(row);
+            Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(keyset.cursor.getProperty());
+            return keyset.cursor.next(((Number) lastId).longValue(), format(lastValue));
+        });
+    }
+
+    /**
+     * Find the IDs of a page of entities.
+     * <p>
+     *     Selects only the ID and the sorted property, so the page can be loaded afterwards with a fetch plan
+     *     or a projection without paginating a join.
+     * </p>
+     * @param type Entity class.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param after Token of the previous page or an empty string for the first page.
+     * @param pageable Size of the page and, for the first page, the sort.
+     * @param <T> Entity type.
+     * @return Page of IDs in the sorted order with the token of the next page.
+     * @throws BadRequestException If the token is not valid or the sorted property cannot be sorted.
+     */
+    public <T> CursorPage<Long> findIdPage(Class<T> type, Specification<T> spec, String after, Pageable pageable) {
+        Keyset<T> keyset = new Keyset<>(type, after, pageable);
+        CriteriaQuery<Object[]> query = keyset.cb.createQuery(Object[].class);
+        Root<T> root = query.from(type);
+        query.multiselect(root.get(keyset.idProperty), root.get(keyset.cursor.getProperty()));
+        keyset.restrict(query, root, spec);
+
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setMaxResults(keyset.size + 1)
+                .getResultList();
+
+        CursorPage<Object[]> page = keyset.page(rows,
+                row -> keyset.cursor.next(((Number) row[0]).longValue(), format(row[1])));
+        return page.map(row -> ((Number) row[0]).longValue());
+    }
+
+    private static <T> Attribute<? super T, ?> sortedAttribute(EntityType<T> entityType, String property) {
+        try {
+            Attribute<? super T, ?> attribute = entityType.getAttribute(property);
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                return attribute;
+        } catch (IllegalArgumentException ignored) {
+            // Not an attribute of the entity.
+        }
+        throw new BadRequestException(String.format("Cannot paginate by property '%s'.", property));
+    }
+
+    private static Predicate after(CriteriaBuilder cb, Path<Long> id, long lastId, Sort.Direction direction) {
+        return direction.isAscending() ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Path key, Path<Long> id, KeysetCursor cursor, Comparable value) {
+        Predicate sameKey = value == null ? cb.isNull(key) : cb.equal(key, value);
+        Predicate tieBreak = cb.and(sameKey, after(cb, id, cursor.getId(), cursor.getDirection()));
+
+        if (cursor.getDirection().isAscending()) {
+            return value == null
+                    ? cb.or(tieBreak, cb.isNotNull(key))
+                    : cb.or(cb.greaterThan(key, value), tieBreak);
+        }
+        return value == null
+                ? tieBreak
+                : cb.or(cb.lessThan(key, value), tieBreak, cb.isNull(key));
+    }
+
+    private static Order order(CriteriaBuilder cb, Path<?> path, Sort.Direction direction) {
+        return direction.isAscending() ? cb.asc(path) : cb.desc(path);
+    }
+
+    private static String format(Object value) {
+        if (value == null)
+            return null;
+        if (value instanceof Enum)
+            return ((Enum<?>) value).name();
+        return value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<?> parse(String value, Class<?> type) {
+        if (value == null)
+            return null;
+        try {
+            if (type == String.class)
+                return value;
+            if (type == Long.class || type == long.class)
+                return Long.valueOf(value);
+            if (type == Integer.class || type == int.class)
+                return Integer.valueOf(value);
+            if (type == Boolean.class || type == boolean.class)
+                return Boolean.valueOf(value);
+            if (type == BigDecimal.class)
+                return new BigDecimal(value);
+            if (type == LocalDate.class)
+                return LocalDate.parse(value);
+            if (type == LocalDateTime.class)
+                return LocalDateTime.parse(value);
+            if (type.isEnum())
+                return Enum.valueOf((Class<Enum>) type, value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor is not valid.");
+        }
+        throw new BadRequestException(String.format("Cannot paginate by property of type '%s'.", type.getSimpleName()));
+    }
+
+    /**
+     * Cursor, sorted attribute and page size of one page request.
+     */
+    private final class Keyset<T> {
+
+        private final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        private final String idProperty;
+        private final KeysetCursor cursor;
+        private final Attribute<? super T, ?> attribute;
+        private final int size;
+
+        private Keyset(Class<T> type, String after, Pageable pageable) {
+            EntityType<T> entityType = entityManager.getMetamodel().entity(type);
+            this.idProperty = entityType.getId(entityType.getIdType().getJavaType()).getName();
+            this.cursor = after == null || after.isEmpty()
+                    ? KeysetCursor.first(pageable.getSort(), idProperty)
+                    : KeysetCursor.decode(after);
+            this.attribute = sortedAttribute(entityType, cursor.getProperty());
+            this.size = pageable.getPageSize();
+        }
+
+        /**
+         * Restrict a query to the rows after the cursor in the sorted order.
+         */
+        private void restrict(CriteriaQuery<?> query, Root<T> root, Specification<T> spec) {
+            Path<Long> id = root.get(idProperty);
+            boolean sortedById = cursor.getProperty().equals(idProperty);
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (spec != null) {
+                Predicate predicate = spec.toPredicate(root, query, cb);
+                if (predicate != null)
+                    predicates.add(predicate);
+            }
+            if (!cursor.isFirst()) {
+                predicates.add(sortedById
+                        ? after(cb, id, cursor.getId(), cursor.getDirection())
+                        : seek(cb, root.get(cursor.getProperty()), id, cursor, parse(cursor.getValue(), attribute.getJavaType())));
+            }
+
+            List<Order> orders = new ArrayList<>();
+            if (!sortedById)
+                orders.add(order(cb, root.get(cursor.getProperty()), cursor.getDirection()));
+            orders.add(order(cb, id, cursor.getDirection()));
+
+            query.where(predicates.toArray(new Predicate[0]))
+                    .orderBy(orders);
+        }
+
+        /**
+         * Cut the extra row off and build the cursor of the next page from the last row.
+         */
+        private <R> CursorPage<R> page(List<R> rows, Function<R, KeysetCursor> nextCursor) {
+            boolean last = rows.size() <= size;
+            List<R> content = last ? rows : new ArrayList<>(rows.subList(0, size));
+            String next = last ? null : nextCursor.apply(content.get(content.size() - 1)).encode();
+            return new CursorPage<>(content, size, next, last);
+        }
+
+    }
+
+}
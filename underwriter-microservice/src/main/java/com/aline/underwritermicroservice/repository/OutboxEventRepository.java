@@ -0,0 +1,48 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.underwritermicroservice.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outbox Event Repository
+ * <p>
+ *     Queries used to write and drain the {@link OutboxEvent} table.
+ * </p>
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Find and lock the next events that are due.
+     * <p>
+     *     An event is only due if no earlier event of the same application is still waiting,
+     *     so the events of an application are delivered in order. Rows locked by another
+     *     dispatcher are skipped on databases that support <code>SKIP LOCKED</code>.
+     * </p>
+     * @param now Current time.
+     * @param pageable Maximum amount of events.
+     * @return Due events ordered by ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.deadAt IS NULL AND e.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT p.id FROM OutboxEvent p WHERE p.applicationId = e.applicationId " +
+            "AND p.deadAt IS NULL AND p.id < e.id) ORDER BY e.id")
+    List<OutboxEvent> findDue(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * @return Creation time of the oldest undelivered event or null if there is none.
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.deadAt IS NULL")
+    Instant findOldestCreatedAt();
+
+}
@@ -0,0 +1,202 @@
+package com.aline.underwritermicroservice.repository;
+
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Gender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Response Projection Repository
+ * <p>
+ *     Selects only the columns of {@link ApplicantResponse} and {@link ApplicationResponse}
+ *     and builds the responses straight from the rows. No entity is created or managed,
+ *     so there are no persistence context entries, dirty checking snapshots or lazy loads
+ *     and no {@link com.aline.underwritermicroservice.mapper.DtoMapper} is involved.
+ * </p>
+ * <p>
+ *     Any field added to the core response DTOs must be added here as well.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResponseProjectionRepository {
+
+    /**
+     * Applicant properties in the order they are selected.
+     */
+    private static final String[] APPLICANT_PROPERTIES = {
+            "id", "firstName", "middleName", "lastName", "dateOfBirth", "gender", "email", "phone",
+            "socialSecurity", "driversLicense", "income", "address", "city", "state", "zipcode",
+            "mailingAddress", "mailingCity", "mailingState", "mailingZipcode"
+    };
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find a page of applicant responses without counting.
+     * @param spec Specification the applicants must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the page.
+     * @return At most <code>pageable.getPageSize()</code> responses.
+     */
+    public List<ApplicantResponse> findApplicantResponses(Specification<Applicant> spec, Pageable pageable) {
+        return findApplicantResponses(spec, pageable, pageable.getPageSize());
+    }
+
+    /**
+     * Find a slice of applicant responses by fetching one more row than the page size.
+     * @param spec Specification the applicants must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the slice.
+     * @return Slice that knows whether there is a next slice but not the total.
+     */
+    public Slice<ApplicantResponse> findApplicantResponseSlice(Specification<Applicant> spec, Pageable pageable) {
+        List<ApplicantResponse> rows = findApplicantResponses(spec, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ApplicantResponse> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private List<ApplicantResponse> findApplicantResponses(Specification<Applicant> spec, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Applicant> root = query.from(Applicant.class);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null)
+                query.where(predicate);
+        }
+        query.multiselect(applicantSelections(root));
+        if (pageable.getSort().isSorted())
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> toApplicantResponse(tuple, 0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find application responses with their applicants in a single query.
+     * @param ids IDs of the applications, usually of a page found with
+     * {@link SpecificationRepository#findIds(Class, Specification, Pageable)}.
+     * @return Responses of the existing applications in the order of the IDs.
+     */
+    public List<ApplicationResponse> findApplicationResponses(List<Long> ids) {
+        if (ids.isEmpty())
+            return Collections.emptyList();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Application> root = query.from(Application.class);
+        Join<Application, Applicant> applicants = root.join("applicants", JoinType.LEFT);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        selections.add(root.get("applicationType"));
+        selections.add(root.get("applicationStatus"));
+        selections.addAll(applicantSelections(applicants));
+
+        query.multiselect(selections)
+                .where(root.get("id").in(ids))
+                .orderBy(cb.asc(applicants.get("id")));
+
+        Map<Long, ApplicationResponse> responses = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            ApplicationResponse response = responses.computeIfAbsent(tuple.get(0, Long.class), id -> {
+                ApplicationType type = value(tuple, 1);
+                ApplicationStatus status = value(tuple, 2);
+                ApplicationResponse application = new ApplicationResponse();
+                application.setId(id);
+                application.setApplicationType(type == null ? null : type.name());
+                application.setApplicationStatus(status == null ? null : status.name());
+                application.setApplicants(new LinkedHashSet<>());
+                return application;
+            });
+            if (tuple.get(3) != null)
+                response.getApplicants().add(toApplicantResponse(tuple, 3));
+        }
+
+        return ids.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Selection<?>> applicantSelections(From<?, Applicant> applicant) {
+        List<Selection<?>> selections = new ArrayList<>(APPLICANT_PROPERTIES.length);
+        for (String property : APPLICANT_PROPERTIES)
+            selections.add(applicant.get(property));
+        return selections;
+    }
+
+    /**
+     * Build an applicant response from the columns selected by {@link #applicantSelections(From)}.
+     * @param tuple The row.
+     * @param offset Index of the applicant ID in the row.
+     */
+    private static ApplicantResponse toApplicantResponse(Tuple tuple, int offset) {
+        Gender gender = value(tuple, offset + 5);
+        ApplicantResponse response = new ApplicantResponse();
+        response.setId(value(tuple, offset));
+        response.setFirstName(value(tuple, offset + 1));
+        response.setMiddleName(value(tuple, offset + 2));
+        response.setLastName(value(tuple, offset + 3));
+        response.setDateOfBirth(value(tuple, offset + 4));
+        response.setGender(gender == null ? null : gender.name());
+        response.setEmail(value(tuple, offset + 6));
+        response.setPhone(value(tuple, offset + 7));
+        response.setSocialSecurity(value(tuple, offset + 8));
+        response.setDriversLicense(value(tuple, offset + 9));
+        response.setIncome(value(tuple, offset + 10));
+        response.setAddress(value(tuple, offset + 11));
+        response.setCity(value(tuple, offset + 12));
+        response.setState(value(tuple, offset + 13));
+        response.setZipcode(value(tuple, offset + 14));
+        response.setMailingAddress(value(tuple, offset + 15));
+        response.setMailingCity(value(tuple, offset + 16));
+        response.setMailingState(value(tuple, offset + 17));
+        response.setMailingZipcode(value(tuple, offset + 18));
+        return response;
+    }
+
+    /**
+     * @return The column at the index as the type of the property it was selected from.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Tuple tuple, int index) {
+        return (V) tuple.get(index);
+    }
+
+}
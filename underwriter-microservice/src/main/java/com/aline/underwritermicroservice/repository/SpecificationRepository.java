@@ -0,0 +1,200 @@
+package com.aline.underwritermicroservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Specification Repository
+ * <p>
+ *     Offset queries of a {@link Specification} that do not issue a count query
+ *     like <code>JpaSpecificationExecutor.findAll(Specification, Pageable)</code> does,
+ *     and streams of every entity matching a {@link Specification}.
+ * </p>
+ * <p>
+ *     The <code>findIds</code> methods only select the IDs of a page. They are the first phase of
+ *     paging entities whose collections are fetched with a join, since a limit on a join fetch
+ *     would either cut collections short or be applied in memory.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpecificationRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find the content of a page without counting.
+     * @param type Entity class.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the page.
+     * @param <T> Entity type.
+     * @return At most <code>pageable.getPageSize()</code> entities.
+     */
+    public <T> List<T> findContent(Class<T> type, Specification<T> spec, Pageable pageable) {
+        return query(type, spec, pageable, pageable.getPageSize()).getResultList();
+    }
+
+    /**
+     * Find a slice by fetching one more row than the page size.
+     * @param type Entity class.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the slice.
+     * @param <T> Entity type.
+     * @return Slice that knows whether there is a next slice but not the total.
+     */
+    public <T> Slice<T> findSlice(Class<T> type, Specification<T> spec, Pageable pageable) {
+        List<T> rows = query(type, spec, pageable, pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Find the IDs of a page without counting.
+     * @param type Entity class. Its ID must be a <code>Long</code>.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the page.
+     * @param <T> Entity type.
+     * @return At most <code>pageable.getPageSize()</code> IDs in the order of the page.
+     */
+    public <T> List<Long> findIds(Class<T> type, Specification<T> spec, Pageable pageable) {
+        return idQuery(type, spec, pageable, pageable.getPageSize()).getResultList().stream()
+                .map(tuple -> tuple.get(0, Long.class))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the IDs of a slice by fetching one more row than the page size.
+     * @param type Entity class. Its ID must be a <code>Long</code>.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param pageable Offset, size and sort of the slice.
+     * @param <T> Entity type.
+     * @return Slice of IDs that knows whether there is a next slice but not the total.
+     */
+    public <T> Slice<Long> findIdSlice(Class<T> type, Specification<T> spec, Pageable pageable) {
+        List<Long> ids = idQuery(type, spec, pageable, pageable.getPageSize() + 1).getResultList().stream()
+                .map(tuple -> tuple.get(0, Long.class))
+                .collect(Collectors.toList());
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<Long> content = hasNext ? new ArrayList<>(ids.subList(0, pageable.getPageSize())) : ids;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Find the IDs following an ID in ascending order.
+     * <p>
+     *     Walks every entity matching a specification in chunks, each found with a range query
+     *     on the primary key, so no cursor has to be held open between the chunks.
+     * </p>
+     * @param type Entity class. Its ID must be a <code>Long</code> named <code>id</code>.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param afterId Only IDs greater than this one are returned. Use <code>0</code> for the first chunk.
+     * @param limit Maximum amount of IDs.
+     * @param <T> Entity type.
+     * @return At most <code>limit</code> IDs sorted ascending.
+     */
+    public <T> List<Long> findIdsAfter(Class<T> type, Specification<T> spec, long afterId, int limit) {
+        Specification<T> after = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        return findIds(type, Specification.where(spec).and(after), PageRequest.of(0, limit, Sort.by("id")));
+    }
+
+    /**
+     * Stream every entity matching a specification with a forward-only cursor.
+     * <p>
+     *     Must be consumed and closed within a transaction. Entities stay in the
+     *     persistence context until they are detached or the context is cleared.
+     * </p>
+     * <p>
+     *     MySQL Connector/J ignores the fetch size and reads the whole result into memory unless
+     *     the connection URL sets <code>useCursorFetch=true</code>. No other query can run on the
+     *     connection while the stream is open, so entities must not be lazily loaded while streaming.
+     * </p>
+     * @param type Entity class.
+     * @param spec Specification the entities must match. May be <code>null</code>.
+     * @param sort Sort of the entities.
+     * @param fetchSize Amount of rows fetched per round trip.
+     * @param <T> Entity type.
+     * @return Stream of entities.
+     */
+    public <T> Stream<T> stream(Class<T> type, Specification<T> spec, Sort sort, int fetchSize) {
+        return entityManager.createQuery(criteria(type, spec, sort))
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    private <T> TypedQuery<T> query(Class<T> type, Specification<T> spec, Pageable pageable, int maxResults) {
+        return entityManager.createQuery(criteria(type, spec, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults);
+    }
+
+    /**
+     * Select the ID followed by the sorted properties, so the query stays valid
+     * when the specification makes it distinct.
+     */
+    private <T> TypedQuery<Tuple> idQuery(Class<T> type, Specification<T> spec, Pageable pageable, int maxResults) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(type);
+        String idProperty = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null)
+                query.where(predicate);
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(idProperty));
+        List<Order> orders = toOrders(pageable.getSort(), root, cb);
+        orders.forEach(order -> selections.add(order.getExpression()));
+        query.multiselect(selections);
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults);
+    }
+
+    private <T> CriteriaQuery<T> criteria(Class<T> type, Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null)
+                query.where(predicate);
+        }
+        query.select(root);
+        if (sort.isSorted())
+            query.orderBy(toOrders(sort, root, cb));
+        return query;
+    }
+
+}
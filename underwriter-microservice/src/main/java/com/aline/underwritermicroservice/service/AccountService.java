@@ -10,8 +10,9 @@ import com.aline.core.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -29,13 +30,18 @@ public class AccountService {
 
     /**
      * Create a single or multiple accounts based on the applicationType
+     * <p>
+     *     The accounts are persisted together with one <code>saveAll</code>. Account IDs are identity
+     *     columns owned by the core schema, so each account is still inserted on its own, but the join
+     *     rows of their members are sent as one JDBC batch when the transaction is flushed.
+     * </p>
      * @param applicationType See {@link ApplicationType} to see what kinds of accounts can be created.
      * @param primaryAccountHolder The primary member.
      * @param members The members attached to the account including the primary member.
      * @return A set of accounts that were created.
      */
     public Set<Account> createAccount(ApplicationType applicationType, Member primaryAccountHolder, Set<Member> members) {
-        Set<Account> accounts = new HashSet<>();
+        List<Account> accounts = new ArrayList<>(2);
         switch (applicationType) {
 
             case CHECKING:
@@ -52,27 +58,30 @@ public class AccountService {
                 break;
         }
 
-        return accounts;
+        if (accounts.isEmpty())
+            return new HashSet<>();
+        List<Account> saved = repository.saveAll(accounts);
+        if (saved.size() != accounts.size())
+            throw new BadRequestException("Account was not saved.");
+        return new HashSet<>(saved);
     }
 
     private Account createCheckingAccount(Member primaryAccountHolder, Set<Member> members) {
-        CheckingAccount account = CheckingAccount.builder()
+        return CheckingAccount.builder()
                 .primaryAccountHolder(primaryAccountHolder)
                 .balance(0)
                 .availableBalance(0)
                 .members(members)
                 .build();
-        return Optional.of(repository.save(account)).orElseThrow(() -> new BadRequestException("Account was not saved."));
     }
 
     private Account createSavingsAccount(Member primaryAccountHolder, Set<Member> members) {
-        SavingsAccount account = SavingsAccount.builder()
+        return SavingsAccount.builder()
                 .primaryAccountHolder(primaryAccountHolder)
                 .balance(0)
                 .apy(0.01f)
                 .members(members)
                 .build();
-        return Optional.of(repository.save(account)).orElseThrow(() -> new BadRequestException("Account was not saved."));
     }
 
 }
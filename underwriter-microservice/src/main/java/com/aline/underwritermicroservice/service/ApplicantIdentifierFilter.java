@@ -0,0 +1,251 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.underwritermicroservice.repository.ApplicantCustomRepository;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import com.aline.underwritermicroservice.util.CountingBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Applicant Identifier Filter
+ * <p>
+ *     In-memory prefilter for applicant uniqueness checks. Keeps one {@link CountingBloomFilter}
+ *     per unique identifier (email, phone, driver's license and Social Security number).
+ *     Identifiers that are definitely not in a filter do not need to be checked in the database.
+ * </p>
+ * <p>
+ *     The filters are built from the database once the application is ready and are maintained by
+ *     {@link ApplicantService} on create, update and delete. Until they are built every identifier
+ *     is treated as a probable hit. Writes that do not go through this instance (other instances,
+ *     scripts) are not seen, so the filter is disabled by default. Only enable it with
+ *     <code>underwriter.bloom-filter.enabled=true</code> when this instance is the only one writing applicants.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Applicant Identifier Filter")
+public class ApplicantIdentifierFilter {
+
+    private static final String[] IDENTIFIERS = {"email", "phone", "drivers_license", "social_security"};
+
+    private final ApplicantCustomRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter skippedChecks;
+    private final Counter databaseChecks;
+
+    private volatile CountingBloomFilter[] filters;
+    private volatile CountingBloomFilter[] building;
+
+    public ApplicantIdentifierFilter(ApplicantCustomRepository repository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry registry,
+                                     @Value("${underwriter.bloom-filter.enabled:false}") boolean enabled,
+                                     @Value("${underwriter.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                                     @Value("${underwriter.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.skippedChecks = Counter.builder("applicant.identifier.filter.checks")
+                .description("Uniqueness checks answered by the bloom filters alone or by the database.")
+                .tag("result", "skipped")
+                .register(registry);
+        this.databaseChecks = Counter.builder("applicant.identifier.filter.checks")
+                .description("Uniqueness checks answered by the bloom filters alone or by the database.")
+                .tag("result", "database")
+                .register(registry);
+
+        Gauge.builder("applicant.identifier.filter.skip.ratio", this, ApplicantIdentifierFilter::skipRatio)
+                .description("Ratio of uniqueness checks that did not need the database.")
+                .register(registry);
+
+        for (int i = 0; i < IDENTIFIERS.length; i++) {
+            registerGauge(registry, "applicant.identifier.filter.size", i,
+                    "Amount of counters in the bloom filter.", CountingBloomFilter::slots);
+            registerGauge(registry, "applicant.identifier.filter.insertions", i,
+                    "Amount of identifiers held by the bloom filter.", CountingBloomFilter::insertions);
+            registerGauge(registry, "applicant.identifier.filter.false.positive.rate", i,
+                    "Estimated false positive rate of the bloom filter.", CountingBloomFilter::expectedFalsePositiveRate);
+        }
+    }
+
+    /**
+     * Build the filters from every existing applicant.
+     * <p>
+     *     Identifiers committed while the filters are built are added to them as well, so a write the
+     *     scan does not see can never be reported as definitely absent. Removals committed meanwhile
+     *     are not applied and only cause extra database checks.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            log.info("Applicant identifier bloom filters are disabled.");
+            return;
+        }
+        long count = transactionTemplate.execute(status -> repository.count());
+        long size = Math.max(expectedInsertions, count * 2);
+        CountingBloomFilter[] built = new CountingBloomFilter[IDENTIFIERS.length];
+        for (int i = 0; i < built.length; i++) {
+            built[i] = new CountingBloomFilter(size, falsePositiveRate);
+        }
+        building = built;
+        transactionTemplate.execute(status -> {
+            try (Stream<Object[]> rows = repository.streamIdentifiers(1000)) {
+                rows.forEach(row -> {
+                    for (int i = 0; i < built.length; i++) {
+                        built[i].put((String) row[i]);
+                    }
+                });
+            }
+            return null;
+        });
+        filters = built;
+        building = null;
+        log.info("Applicant identifier bloom filters built from {} applicants.", count);
+    }
+
+    /**
+     * @return Whether the filters are enabled. They might not be built yet.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reduce the candidates to the identifiers that might already exist.
+     * @param candidates Identifiers to be checked for uniqueness.
+     * @return Identifiers that still need to be checked in the database.
+     * All of them if the filters are disabled or not built yet.
+     */
+    public ApplicantIdentifiers probable(ApplicantIdentifiers candidates) {
+        CountingBloomFilter[] current = filters;
+        if (current == null || candidates.isEmpty())
+            return candidates;
+
+        ApplicantIdentifiers probable = new ApplicantIdentifiers();
+        retainProbable(current[0], candidates.getEmails(), probable.getEmails());
+        retainProbable(current[1], candidates.getPhones(), probable.getPhones());
+        retainProbable(current[2], candidates.getDriversLicenses(), probable.getDriversLicenses());
+        retainProbable(current[3], candidates.getSocialSecurities(), probable.getSocialSecurities());
+
+        if (probable.isEmpty()) {
+            skippedChecks.increment();
+        } else {
+            databaseChecks.increment();
+        }
+        return probable;
+    }
+
+    /**
+     * Add the identifiers of saved applicants.
+     * <p>
+     *     Adding to built filters is done immediately. If the transaction rolls back the
+     *     identifiers only cause an extra database check. Before the filters are built the
+     *     identifiers are added once the transaction commits, to the filters being built or
+     *     to the built ones. Commits before the build starts are seen by its scan.
+     * </p>
+     * @param identifiers New identifiers.
+     */
+    public void put(ApplicantIdentifiers identifiers) {
+        if (!enabled || identifiers.isEmpty())
+            return;
+        CountingBloomFilter[] current = filters;
+        if (current != null) {
+            add(current, identifiers);
+            return;
+        }
+        afterCommit(() -> {
+            // Read building first. It is only cleared after the built filters are published.
+            CountingBloomFilter[] pending = building;
+            CountingBloomFilter[] target = pending != null ? pending : filters;
+            if (target != null)
+                add(target, identifiers);
+        });
+    }
+
+    /**
+     * Remove identifiers that no longer belong to an applicant.
+     * <p>
+     *     Removal happens after the current transaction commits (or immediately if there
+     *     is no transaction) so a rollback can never leave an existing identifier out of the filters.
+     * </p>
+     * @param identifiers Removed identifiers.
+     */
+    public void remove(ApplicantIdentifiers identifiers) {
+        if (filters == null || identifiers.isEmpty())
+            return;
+        afterCommit(() -> {
+            CountingBloomFilter[] current = filters;
+            identifiers.getEmails().forEach(current[0]::remove);
+            identifiers.getPhones().forEach(current[1]::remove);
+            identifiers.getDriversLicenses().forEach(current[2]::remove);
+            identifiers.getSocialSecurities().forEach(current[3]::remove);
+        });
+    }
+
+    private static void add(CountingBloomFilter[] target, ApplicantIdentifiers identifiers) {
+        identifiers.getEmails().forEach(target[0]::put);
+        identifiers.getPhones().forEach(target[1]::put);
+        identifiers.getDriversLicenses().forEach(target[2]::put);
+        identifiers.getSocialSecurities().forEach(target[3]::put);
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    private double skipRatio() {
+        double total = skippedChecks.count() + databaseChecks.count();
+        return total == 0 ? 0 : skippedChecks.count() / total;
+    }
+
+    private void registerGauge(MeterRegistry registry, String name, int index, String description,
+                               ToDoubleFunction<CountingBloomFilter> value) {
+        ToDoubleFunction<ApplicantIdentifierFilter> function = filter -> {
+            CountingBloomFilter[] current = filter.filters;
+            return current == null ? 0 : value.applyAsDouble(current[index]);
+        };
+        Gauge.builder(name, this, function)
+                .description(description)
+                .tag("identifier", IDENTIFIERS[index])
+                .register(registry);
+    }
+
+    private static void retainProbable(CountingBloomFilter filter, Set<String> candidates, Set<String> probable) {
+        for (String candidate : candidates) {
+            if (filter.mightContain(candidate))
+                probable.add(candidate);
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.request.CreateApplicant.CreateApplicantBuilder;
+import com.aline.core.exception.BadRequestException;
+import com.aline.core.exception.ConflictException;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Gender;
+import com.aline.underwritermicroservice.dto.response.ImportReject;
+import com.aline.underwritermicroservice.dto.response.ImportSummary;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import com.aline.underwritermicroservice.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applicant Import Service
+ * <p>
+ *     Imports applicants from CSV with the same validation and uniqueness rules as
+ *     {@link ApplicantService#createApplicant(CreateApplicant)}. The first row is a header
+ *     naming the {@link CreateApplicant} field of each column, in camel case or snake case.
+ *     Empty cells are null.
+ * </p>
+ * <ol>
+ *     <li>Rows are read one at a time and validated. Invalid rows are rejected.</li>
+ *     <li>Every <code>underwriter.import.chunk-size</code> valid rows, the uniqueness of the
+ *     whole chunk is checked with a single query. Conflicting rows are rejected, including
+ *     rows conflicting with earlier rows of the file.</li>
+ *     <li>The rest of the chunk is saved in one transaction so that the inserts are sent as
+ *     JDBC batches. If the chunk fails, its rows are saved one by one.</li>
+ * </ol>
+ * <p>
+ *     Besides the current chunk, only the identifiers of the imported applicants
+ *     and the listed rejects are kept in memory.
+ * </p>
+ */
+@Service
+@Slf4j(topic = "Applicant Import Service")
+public class ApplicantImportService {
+
+    private static final Map<String, BiConsumer<CreateApplicantBuilder, String>> COLUMNS = new HashMap<>();
+
+    static {
+        COLUMNS.put("firstname", CreateApplicantBuilder::firstName);
+        COLUMNS.put("middlename", CreateApplicantBuilder::middleName);
+        COLUMNS.put("lastname", CreateApplicantBuilder::lastName);
+        COLUMNS.put("dateofbirth", (builder, value) -> builder.dateOfBirth(LocalDate.parse(value)));
+        COLUMNS.put("gender", (builder, value) -> builder.gender(Gender.valueOf(value.toUpperCase(Locale.ROOT))));
+        COLUMNS.put("email", CreateApplicantBuilder::email);
+        COLUMNS.put("phone", CreateApplicantBuilder::phone);
+        COLUMNS.put("socialsecurity", CreateApplicantBuilder::socialSecurity);
+        COLUMNS.put("driverslicense", CreateApplicantBuilder::driversLicense);
+        COLUMNS.put("income", (builder, value) -> builder.income(Integer.parseInt(value)));
+        COLUMNS.put("address", CreateApplicantBuilder::address);
+        COLUMNS.put("city", CreateApplicantBuilder::city);
+        COLUMNS.put("state", CreateApplicantBuilder::state);
+        COLUMNS.put("zipcode", CreateApplicantBuilder::zipcode);
+        COLUMNS.put("mailingaddress", CreateApplicantBuilder::mailingAddress);
+        COLUMNS.put("mailingcity", CreateApplicantBuilder::mailingCity);
+        COLUMNS.put("mailingstate", CreateApplicantBuilder::mailingState);
+        COLUMNS.put("mailingzipcode", CreateApplicantBuilder::mailingZipcode);
+    }
+
+    private final ApplicantService applicantService;
+    private final DtoMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRejects;
+
+    public ApplicantImportService(ApplicantService applicantService,
+                                  DtoMapper mapper,
+                                  Validator validator,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${underwriter.import.chunk-size:500}") int chunkSize,
+                                  @Value("${underwriter.import.max-rejects:1000}") int maxRejects) {
+        this.applicantService = applicantService;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRejects = maxRejects;
+    }
+
+    /**
+     * Import applicants from CSV.
+     * @param reader Reader of the CSV. It is not closed.
+     * @return ImportSummary with the amount of imported and rejected rows.
+     * @throws BadRequestException If the header is missing or names an unknown column.
+     * @throws IOException If the CSV cannot be read.
+     */
+    public ImportSummary importApplicants(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<BiConsumer<CreateApplicantBuilder, String>> columns = header(csv.readRecord());
+
+        Import result = new Import();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            long rowNumber = csv.getRecordNumber() - 1;
+            if (record.size() == 1 && record.get(0).isEmpty())
+                continue;
+            result.rows++;
+
+            Row row = row(rowNumber, record, columns, result);
+            if (row == null)
+                continue;
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            importChunk(chunk, result);
+
+        log.info("Imported {} of {} applicants, {} rejected.", result.imported, result.rows, result.rejected);
+
+        return ImportSummary.builder()
+                .rows(result.rows)
+                .imported(result.imported)
+                .rejected(result.rejected)
+                .rejects(result.rejects)
+                .build();
+    }
+
+    private static List<BiConsumer<CreateApplicantBuilder, String>> header(List<String> header) {
+        if (header == null || (header.size() == 1 && header.get(0).trim().isEmpty()))
+            throw new BadRequestException("CSV does not contain a header row.");
+        List<BiConsumer<CreateApplicantBuilder, String>> columns = new ArrayList<>(header.size());
+        for (String name : header) {
+            BiConsumer<CreateApplicantBuilder, String> column = COLUMNS.get(normalize(name));
+            if (column == null)
+                throw new BadRequestException(String.format("Column '%s' is not an applicant field.", name.trim()));
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("\uFEFF", "")
+                .trim()
+                .replace("_", "")
+                .replace("-", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse and validate a row.
+     * @return The row or <code>null</code> if it was rejected.
+     */
+    private Row row(long rowNumber, List<String> record, List<BiConsumer<CreateApplicantBuilder, String>> columns, Import result) {
+        if (record.size() != columns.size()) {
+            result.reject(rowNumber, String.format("Row has %d columns but the header has %d.", record.size(), columns.size()), maxRejects);
+            return null;
+        }
+
+        CreateApplicantBuilder builder = CreateApplicant.builder();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty())
+                continue;
+            try {
+                columns.get(i).accept(builder, value);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.reject(rowNumber, String.format("Value '%s' of column %d is not valid.", value, i + 1), maxRejects);
+                return null;
+            }
+        }
+
+        CreateApplicant createApplicant = builder.build();
+        Set<ConstraintViolation<CreateApplicant>> violations = validator.validate(createApplicant);
+        if (!violations.isEmpty()) {
+            result.reject(rowNumber, violations.stream()
+                    .map(violation -> String.format("%s %s", violation.getPropertyPath(), violation.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining(", ")), maxRejects);
+            return null;
+        }
+        return new Row(rowNumber, createApplicant, mapper.toApplicant(createApplicant));
+    }
+
+    private void importChunk(List<Row> chunk, Import result) {
+        List<Applicant> applicants = chunk.stream()
+                .map(row -> row.applicant)
+                .collect(Collectors.toList());
+        ApplicantIdentifiers existing = applicantService.findExistingIdentifiers(applicants);
+
+        List<Row> unique = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            try {
+                applicantService.validateUniqueness(Collections.singletonList(row.applicant), existing, result.seen);
+                unique.add(row);
+            } catch (ConflictException e) {
+                result.reject(row.number, e.getMessage(), maxRejects);
+            }
+        }
+        if (unique.isEmpty())
+            return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> applicantService.saveApplicants(unique.stream()
+                    .map(row -> row.applicant)
+                    .collect(Collectors.toList())));
+            result.imported += unique.size();
+        } catch (RuntimeException e) {
+            log.warn("Chunk of {} applicants failed, importing them one by one: {}", unique.size(), e.getMessage());
+            for (Row row : unique) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            applicantService.saveApplicants(Collections.singletonList(mapper.toApplicant(row.request)))));
+                    result.imported++;
+                } catch (RuntimeException rowException) {
+                    result.reject(row.number, "Applicant could not be saved.", maxRejects);
+                }
+            }
+        }
+        entityManager.clear();
+    }
+
+    private static final class Row {
+        private final long number;
+        private final CreateApplicant request;
+        private final Applicant applicant;
+
+        private Row(long number, CreateApplicant request, Applicant applicant) {
+            this.number = number;
+            this.request = request;
+            this.applicant = applicant;
+        }
+    }
+
+    private static final class Import {
+        private final ApplicantIdentifiers seen = new ApplicantIdentifiers();
+        private final List<ImportReject> rejects = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private void reject(long row, String message, int maxRejects) {
+            rejected++;
+            if (rejects.size() < maxRejects)
+                rejects.add(new ImportReject(row, message));
+        }
+    }
+
+}
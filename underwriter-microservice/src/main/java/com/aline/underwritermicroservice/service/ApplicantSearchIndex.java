@@ -0,0 +1,227 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.Applicant;
+import com.aline.underwritermicroservice.repository.ApplicantCustomRepository;
+import com.aline.underwritermicroservice.util.TrigramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Applicant Search Index
+ * <p>
+ *     {@link TrigramIndex} over the searchable text fields of every applicant (names, email, phone,
+ *     address and mailing address). Answers applicant searches with the IDs of the requested page
+ *     so that only those applicants are loaded from the database instead of scanning the table
+ *     with <code>LIKE</code> predicates.
+ * </p>
+ * <p>
+ *     The index is built from the database once the application is ready and is maintained by
+ *     {@link ApplicantService} after each write commits. Until it is built searches fall back to
+ *     the database. Writes that do not go through this instance are not seen, so the index is disabled
+ *     unless <code>underwriter.search-index.enabled=true</code>. Only enable it when every applicant
+ *     is written by a single instance.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Applicant Search Index")
+public class ApplicantSearchIndex {
+
+    private final ApplicantCustomRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private volatile TrigramIndex index;
+    private volatile Build building;
+
+    public ApplicantSearchIndex(ApplicantCustomRepository repository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry registry,
+                                @Value("${underwriter.search-index.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+
+        Gauge.builder("applicant.search.index.documents", this, searchIndex -> {
+            TrigramIndex current = searchIndex.index;
+            return current == null ? 0 : current.size();
+        })
+                .description("Amount of applicants in the search index.")
+                .register(registry);
+    }
+
+    /**
+     * Build the index from every existing applicant.
+     * <p>
+     *     Writes committed while the index is built are applied to it as well. Rows of applicants
+     *     written that way are newer than the rows the build reads, so the build skips them.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            log.info("Applicant search index is disabled.");
+            return;
+        }
+        Build build = new Build();
+        building = build;
+        transactionTemplate.execute(status -> {
+            try (Stream<Object[]> rows = repository.streamSearchFields(1000)) {
+                rows.forEach(row -> {
+                    String[] fields = new String[row.length - 1];
+                    for (int i = 1; i < row.length; i++) {
+                        fields[i - 1] = (String) row[i];
+                    }
+                    build.load((Long) row[0], fields);
+                });
+            }
+            return null;
+        });
+        index = build.index;
+        building = null;
+        log.info("Applicant search index built from {} applicants.", build.index.size());
+    }
+
+    /**
+     * @return True if searches can be answered by the index.
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Search one page of applicants.
+     * @param search Whitespace separated search terms.
+     * @param ranked Whether applicants containing more terms come first.
+     * @param ascending Order by ID, or of applicants with the same rank if ranked.
+     * @param offset Amount of matching applicants to skip.
+     * @param limit Maximum amount of applicants to return.
+     * @return IDs of the page of applicants containing at least one of the terms in any searchable field
+     * and the amount of all of them.
+     * @throws IllegalStateException If the index is not ready.
+     */
+    public TrigramIndex.Result search(String search, boolean ranked, boolean ascending, long offset, int limit) {
+        TrigramIndex current = index;
+        if (current == null)
+            throw new IllegalStateException("Applicant search index is not ready.");
+        return current.search(search, ranked, ascending, offset, limit);
+    }
+
+    /**
+     * Add or replace applicants once the current transaction commits.
+     * @param applicants Saved applicants.
+     */
+    public void put(Collection<Applicant> applicants) {
+        if (!enabled || applicants.isEmpty())
+            return;
+        Map<Long, String[]> documents = new LinkedHashMap<>();
+        applicants.forEach(applicant -> documents.put(applicant.getId(), fields(applicant)));
+        afterCommit(documents.keySet(), target -> documents.forEach(target::put));
+    }
+
+    /**
+     * Remove applicants once the current transaction commits.
+     * @param ids IDs of deleted applicants.
+     */
+    public void remove(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty())
+            return;
+        List<Long> removed = new ArrayList<>(ids);
+        afterCommit(removed, target -> removed.forEach(target::remove));
+    }
+
+    /**
+     * Searchable fields of an applicant.
+     * @param applicant The applicant.
+     * @return The field values.
+     */
+    public static String[] fields(Applicant applicant) {
+        return new String[] {
+                applicant.getFirstName(),
+                applicant.getMiddleName(),
+                applicant.getLastName(),
+                applicant.getEmail(),
+                applicant.getPhone(),
+                applicant.getAddress(),
+                applicant.getCity(),
+                applicant.getState(),
+                applicant.getZipcode(),
+                applicant.getMailingAddress(),
+                applicant.getMailingCity(),
+                applicant.getMailingState(),
+                applicant.getMailingZipcode()
+        };
+    }
+
+    private void afterCommit(Collection<Long> ids, IndexUpdate update) {
+        Runnable apply = () -> {
+            // Read building first. It is only cleared after the built index is published.
+            Build pending = building;
+            TrigramIndex current = index;
+            if (pending != null)
+                pending.apply(ids, update);
+            if (current != null && (pending == null || current != pending.index))
+                update.apply(current);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply(TrigramIndex index);
+    }
+
+    /**
+     * Index that is being built with the IDs of the applicants written since the build started.
+     */
+    private static final class Build {
+
+        private final TrigramIndex index = new TrigramIndex();
+        private final Set<Long> written = new HashSet<>();
+
+        /**
+         * Add an applicant read by the build unless it was written since the build started.
+         */
+        synchronized void load(long id, String[] fields) {
+            if (!written.contains(id))
+                index.put(id, fields);
+        }
+
+        /**
+         * Apply a committed write of applicants.
+         */
+        synchronized void apply(Collection<Long> ids, IndexUpdate update) {
+            written.addAll(ids);
+            update.apply(index);
+        }
+
+    }
+
+}
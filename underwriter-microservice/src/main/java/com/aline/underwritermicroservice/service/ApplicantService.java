@@ -11,17 +11,43 @@ import com.aline.core.exception.notfound.ApplicantNotFoundException;
 import com.aline.core.model.Applicant;
 import com.aline.core.repository.ApplicantRepository;
 import com.aline.core.util.SearchSpecification;
+import com.aline.underwritermicroservice.config.CacheConfig;
+import com.aline.underwritermicroservice.config.PrimaryTransactional;
+import com.aline.underwritermicroservice.config.ReadOnlyTransactional;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import com.aline.underwritermicroservice.exception.ApplicantsNotFoundException;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicantCustomRepository;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import com.aline.underwritermicroservice.repository.KeysetRepository;
+import com.aline.underwritermicroservice.repository.ResponseProjectionRepository;
+import com.aline.underwritermicroservice.util.TrigramIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Applicant Service
@@ -32,21 +58,30 @@ import javax.validation.constraints.NotNull;
 @Slf4j(topic = "Applicant Service")
 public class ApplicantService {
 
+    /**
+     * Sort property that ranks searched applicants by the amount of search terms they contain.
+     */
+    public static final String RANK = "rank";
+
     private final ApplicantRepository repository;
 
-    private ModelMapper mapper;
+    private final ApplicantCustomRepository customRepository;
 
-    private ModelMapper skipNullMapper;
+    private final KeysetRepository keysetRepository;
 
-    @Autowired
-    public void setMapper(@Qualifier("defaultModelMapper") ModelMapper mapper) {
-        this.mapper = mapper;
-    }
+    private final ResponseProjectionRepository projectionRepository;
 
-    @Autowired
-    public void setSkipNullMapper(@Qualifier("skipNullModelMapper") ModelMapper mapper) {
-        this.skipNullMapper = mapper;
-    }
+    private final CountCache countCache;
+
+    private final ApplicantSearchIndex searchIndex;
+
+    private final ResponseCacheEvictor cacheEvictor;
+
+    private final NdjsonExporter exporter;
+
+    private final ApplicantIdentifierFilter identifierFilter;
+
+    private final DtoMapper mapper;
 
     /**
      * Creates an applicant entity with validation.
@@ -61,13 +96,49 @@ public class ApplicantService {
      * @throws ConflictException Thrown from <code>validateUniqueness</code> method.
      */
     public ApplicantResponse createApplicant(@Valid CreateApplicant createApplicant) {
-        Applicant applicant = mapper.map(createApplicant, Applicant.class);
-        validateUniqueness(applicant.getEmail(),
-                applicant.getPhone(),
-                applicant.getDriversLicense(),
-                applicant.getSocialSecurity());
+        Applicant applicant = mapper.toApplicant(createApplicant);
+        validateUniqueness(Collections.singletonList(applicant));
         Applicant saved = repository.save(applicant);
-        return mapper.map(saved, ApplicantResponse.class);
+        identifierFilter.put(ApplicantIdentifiers.of(Collections.singletonList(saved)));
+        searchIndex.put(Collections.singletonList(saved));
+        countCache.invalidate(Applicant.class);
+        return mapper.toApplicantResponse(saved);
+    }
+
+    /**
+     * Creates multiple applicant entities with validation.
+     * <p>
+     *     The uniqueness of every applicant is checked with a single query before anything is saved.
+     *     Applicants must also be unique among each other.
+     * </p>
+     * @param createApplicants DTOs that contain the applicant information. Iteration order is preserved.
+     * @return The saved applicant entities in the same order.
+     * @throws ConflictException Thrown from <code>validateUniqueness</code> method.
+     */
+    public List<Applicant> createApplicants(Collection<CreateApplicant> createApplicants) {
+        List<Applicant> applicants = createApplicants.stream()
+                .map(mapper::toApplicant)
+                .collect(Collectors.toList());
+        validateUniqueness(applicants);
+        return saveApplicants(applicants);
+    }
+
+    /**
+     * Save applicants whose uniqueness was already validated.
+     * <p>
+     *     See {@link #findExistingIdentifiers(Collection)} and
+     *     {@link #validateUniqueness(Collection, ApplicantIdentifiers, ApplicantIdentifiers)}.
+     *     Run inside a transaction so the inserts are sent as JDBC batches.
+     * </p>
+     * @param applicants Validated applicants.
+     * @return The saved applicant entities in the same order.
+     */
+    public List<Applicant> saveApplicants(Collection<Applicant> applicants) {
+        List<Applicant> saved = repository.saveAll(applicants);
+        identifierFilter.put(ApplicantIdentifiers.of(saved));
+        searchIndex.put(saved);
+        countCache.invalidate(Applicant.class);
+        return saved;
     }
 
     /**
@@ -75,27 +146,95 @@ public class ApplicantService {
      * @param id ID of the Applicant being queried.
      * @return Applicant with queried ID.
      * @throws ApplicantNotFoundException If applicant with the queried ID does not exist.
+     * @apiNote Responses are cached. See {@link CacheConfig}. Always read from the primary
+     * so a lagging replica cannot put an outdated response into the cache.
      */
+    @PrimaryTransactional
+    @Cacheable(cacheNames = CacheConfig.APPLICANTS, key = "#id", sync = true)
     public ApplicantResponse getApplicantById(long id) {
         Applicant found = repository.findById(id).orElseThrow(ApplicantNotFoundException::new);
-        return mapper.map(found, ApplicantResponse.class);
+        return mapper.toApplicantResponse(found);
+    }
+
+    /**
+     * Finds applicant entities by their IDs with a single query.
+     * @param ids IDs of the applicants being queried.
+     * @return Managed applicants in the iteration order of the IDs.
+     * @throws ApplicantsNotFoundException If one or more applicants do not exist. The message lists every missing ID.
+     */
+    public List<Applicant> getApplicantsById(Collection<Long> ids) {
+        Map<Long, Applicant> found = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Applicant::getId, Function.identity()));
+        List<Long> missing = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty())
+            throw new ApplicantsNotFoundException(missing);
+        return ids.stream()
+                .map(found::get)
+                .collect(Collectors.toList());
     }
 
     /**
      * Update applicant entity with specified ID and new values.
      * <p>The values are validated while they are also nullable.</p>
+     * <p>
+     *     Only the columns of the non-null values are updated, with a single update statement
+     *     and without loading the entity. Only identifiers that actually change are checked for uniqueness.
+     * </p>
+     * <p>
+     *     The update is guarded by <code>lastModifiedAt</code>: if the applicant is modified by another
+     *     request between reading and updating it, nothing is updated and a conflict is reported.
+     * </p>
      * @param id ID of the applicant to be updated.
      * @param newValues The new values to modify the applicant information with.
-     *
+     * @throws ApplicantNotFoundException If applicant with the queried ID does not exist.
+     * @throws ConflictException If an identifier already exists or the applicant was modified concurrently.
      */
+    @Transactional
     public void updateApplicant(long id, @Valid UpdateApplicant newValues) {
-        validateUniqueness(newValues.getEmail(),
-                newValues.getPhone(),
-                newValues.getDriversLicense(),
-                newValues.getSocialSecurity());
-        Applicant toUpdate = repository.findById(id).orElseThrow(ApplicantNotFoundException::new);
-        skipNullMapper.map(newValues, toUpdate);
-        repository.save(toUpdate);
+        Applicant snapshot = customRepository.findUpdateSnapshot(id).orElseThrow(ApplicantNotFoundException::new);
+
+        Applicant changed = Applicant.builder()
+                .email(changedValue(newValues.getEmail(), snapshot.getEmail()))
+                .phone(changedValue(newValues.getPhone(), snapshot.getPhone()))
+                .driversLicense(changedValue(newValues.getDriversLicense(), snapshot.getDriversLicense()))
+                .socialSecurity(changedValue(newValues.getSocialSecurity(), snapshot.getSocialSecurity()))
+                .build();
+        if (!ApplicantIdentifiers.of(Collections.singletonList(changed)).isEmpty())
+            validateUniqueness(Collections.singletonList(changed));
+
+        LocalDateTime version = snapshot.getLastModifiedAt();
+        if (customRepository.updateNonNull(id, newValues, version, nextModifiedAt(version)) == 0)
+            throw new ConflictException("Applicant was modified by another request. Reload it and try again.");
+
+        ApplicantIdentifiers previous = ApplicantIdentifiers.of(Collections.singletonList(snapshot));
+        mapper.mergeNonNull(newValues, snapshot);
+        ApplicantIdentifiers current = ApplicantIdentifiers.of(Collections.singletonList(snapshot));
+        identifierFilter.put(current.difference(previous));
+        identifierFilter.remove(previous.difference(current));
+        searchIndex.put(Collections.singletonList(snapshot));
+        cacheEvictor.evictApplicant(id, customRepository.findApplicationIds(id));
+        countCache.invalidate(Applicant.class);
+    }
+
+    private static String changedValue(String newValue, String currentValue) {
+        return newValue == null || newValue.equals(currentValue) ? null : newValue;
+    }
+
+    /**
+     * The next <code>lastModifiedAt</code> value.
+     * <p>
+     *     Truncated to seconds and always at least a second after <code>previous</code>
+     *     so the stored value changes no matter the precision of the column.
+     * </p>
+     */
+    private static LocalDateTime nextModifiedAt(LocalDateTime previous) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (previous == null)
+            return now;
+        LocalDateTime earliest = previous.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        return now.isBefore(earliest) ? earliest : now;
     }
 
     /**
@@ -103,55 +242,245 @@ public class ApplicantService {
      * <p>
      *    <em>Deletes the applicant if the applicant exists.</em>
      * </p>
+     * <p>
+     *     The applicant is deleted with a direct delete statement without being loaded.
+     *     Applicants that belong to an application or a member are never deleted.
+     * </p>
      * @param id ID of the applicant to be deleted.
      * @throws ApplicantNotFoundException If applicant with the queried ID does not exist.
+     * @throws ConflictException If an application or a member refers to the applicant.
      */
+    @Transactional
     public void deleteApplicant(long id) {
-        Applicant toDelete = repository.findById(id).orElseThrow(ApplicantNotFoundException::new);
-        repository.delete(toDelete);
+        List<Long> ids = Collections.singletonList(id);
+        validateNotReferenced(ids);
+        ApplicantIdentifiers identifiers = findIdentifiersToRemove(ids);
+        if (customRepository.deleteById(id) == 0)
+            throw new ApplicantNotFoundException();
+        afterDelete(ids, identifiers);
+    }
+
+    /**
+     * Delete the applicants with the specified IDs that exist.
+     * <p>
+     *     Uses a constant amount of statements no matter how many IDs are given.
+     *     Nothing is deleted if any of the applicants belongs to an application or a member.
+     * </p>
+     * @param ids IDs of the applicants to be deleted.
+     * @return IDs of the deleted applicants.
+     * @throws ConflictException If an application or a member refers to any of the applicants.
+     */
+    @Transactional
+    public Set<Long> deleteApplicants(Collection<Long> ids) {
+        Set<Long> existing = customRepository.findExistingIds(ids);
+        if (existing.isEmpty())
+            return existing;
+        validateNotReferenced(existing);
+        ApplicantIdentifiers identifiers = findIdentifiersToRemove(existing);
+        customRepository.deleteAllById(existing);
+        afterDelete(existing, identifiers);
+        return existing;
+    }
+
+    /**
+     * Make sure no application or member refers to the applicants.
+     * @param ids IDs of the applicants.
+     * @throws ConflictException If any of the applicants is referenced.
+     */
+    public void validateNotReferenced(Collection<Long> ids) {
+        Set<Long> referenced = customRepository.findReferencedIds(ids);
+        if (!referenced.isEmpty())
+            throw new ConflictException(String.format(
+                    "Applicants with IDs %s belong to an application or a member and cannot be deleted.",
+                    referenced.stream().sorted().collect(Collectors.toList())));
+    }
+
+    /**
+     * Identifiers are only needed to maintain the {@link ApplicantIdentifierFilter}.
+     */
+    private ApplicantIdentifiers findIdentifiersToRemove(Collection<Long> ids) {
+        return identifierFilter.isEnabled() ? customRepository.findIdentifiers(ids) : new ApplicantIdentifiers();
+    }
+
+    private void afterDelete(Collection<Long> ids, ApplicantIdentifiers identifiers) {
+        cacheEvictor.evictApplicants(ids, Collections.emptyList());
+        identifierFilter.remove(identifiers);
+        searchIndex.remove(ids);
+        countCache.invalidate(Applicant.class);
     }
 
 
     /**
      * Get paginated applicant response list.
+     * <p>
+     *     The total is counted only when it cannot be derived from the page
+     *     and is served from the {@link CountCache} when the same search was counted recently.
+     * </p>
+     * <p>
+     *     Searches sorted by ID or by {@link #RANK} are answered by the {@link ApplicantSearchIndex}
+     *     when it is enabled and ready. Applicants are in ID order unless they are sorted by rank,
+     *     in which case applicants matching more search terms come first. The database ignores
+     *     the rank and sorts by the other properties.
+     * </p>
+     * <p>
+     *     Otherwise only the response columns are selected and the responses are built
+     *     from the rows without loading any entities. See {@link ResponseProjectionRepository}.
+     * </p>
      * @param pageable Pageable object passed from controller.
      * @param search Search term if any. (Must be at least an empty string)
      * @return PaginatedResponse of Applicants.
      */
+    @ReadOnlyTransactional
     public PaginatedResponse<ApplicantResponse> getApplicants(@NotNull final Pageable pageable, @NotNull final String search) {
+        if (TrigramIndex.terms(search).length > 0 && searchIndex.isReady() && isSortedByRankOrId(pageable.getSort()))
+            return searchApplicants(pageable, search);
+
+        Pageable sorted = withoutRank(pageable);
         SearchSpecification<Applicant> spec = new SearchSpecification<>(search);
-        Page<ApplicantResponse> responsePage = repository.findAll(spec, pageable)
-                .map(applicant -> mapper.map(applicant, ApplicantResponse.class));
+        List<ApplicantResponse> content = projectionRepository.findApplicantResponses(spec, sorted);
+        Page<ApplicantResponse> responsePage = PageableExecutionUtils.getPage(content, sorted,
+                () -> countCache.count(Applicant.class, search, () -> repository.count(spec)));
         return new PaginatedResponse<>(responsePage.getContent(), pageable, responsePage.getTotalElements());
     }
 
+    private PaginatedResponse<ApplicantResponse> searchApplicants(Pageable pageable, String search) {
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        TrigramIndex.Result result = searchIndex.search(search,
+                pageable.getSort().getOrderFor(RANK) != null,
+                idOrder == null || idOrder.isAscending(),
+                pageable.getOffset(), pageable.getPageSize());
+
+        List<Long> pageIds = new ArrayList<>(result.getIds().length);
+        for (long id : result.getIds()) {
+            pageIds.add(id);
+        }
+
+        Map<Long, Applicant> found = repository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Applicant::getId, Function.identity()));
+        List<ApplicantResponse> content = pageIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toApplicantResponse)
+                .collect(Collectors.toList());
+        return new PaginatedResponse<>(content, pageable, result.getTotal());
+    }
+
+    private static boolean isSortedByRankOrId(Sort sort) {
+        return sort.stream().allMatch(order -> "id".equals(order.getProperty()) || RANK.equals(order.getProperty()));
+    }
+
+    private static Pageable withoutRank(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RANK) == null)
+            return pageable;
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !RANK.equals(order.getProperty()))
+                .collect(Collectors.toList()));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Export every applicant matching the search as newline-delimited JSON.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @param out Stream the applicants are written to.
+     * @return Amount of exported applicants.
+     */
+    public long exportApplicants(@NotNull final String search, OutputStream out) {
+        return exporter.export(Applicant.class, new SearchSpecification<>(search), mapper::toApplicantResponse, out);
+    }
 
     /**
-     * Validate the uniqueness of an applicant.
+     * Get a slice of applicants without counting the total.
      * <p>
-     *     Use when saving or updating an applicant.
+     *     Like the pages, only the response columns are selected. See {@link ResponseProjectionRepository}.
      * </p>
-     * @param email Email string to be checked.
-     * @param phone Phone string to be checked.
-     * @param driversLicense Driver's license to be checked.
-     * @param socialSecurity Social Security number to be checked.
+     * @param pageable Pageable object passed from controller.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @return Slice of Applicants that knows whether there is a next slice.
+     */
+    @ReadOnlyTransactional
+    public Slice<ApplicantResponse> getApplicantSlice(@NotNull final Pageable pageable, @NotNull final String search) {
+        SearchSpecification<Applicant> spec = new SearchSpecification<>(search);
+        return projectionRepository.findApplicantResponseSlice(spec, pageable);
+    }
+
+    /**
+     * Get a page of applicants after a cursor.
+     * <p>
+     *     Unlike {@link #getApplicants(Pageable, String)} the page is found with a single
+     *     range query no matter how deep it is and no total count is queried.
+     * </p>
+     * @param after Cursor returned with the previous page or an empty string for the first page.
+     * @param pageable Size of the page. The sort is only used for the first page.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @return CursorPage of Applicants.
+     */
+    @ReadOnlyTransactional
+    public CursorPage<ApplicantResponse> getApplicants(@NotNull final String after, @NotNull final Pageable pageable, @NotNull final String search) {
+        SearchSpecification<Applicant> spec = new SearchSpecification<>(search);
+        return keysetRepository.findPage(Applicant.class, spec, after, pageable)
+                .map(mapper::toApplicantResponse);
+    }
+
+
+    /**
+     * Validate the uniqueness of one or more applicants.
+     * <p>
+     *     Use when saving or updating applicants. All identifiers are checked
+     *     in a single query. Null identifiers are ignored, and so are identifiers
+     *     that the {@link ApplicantIdentifierFilter} knows do not exist.
+     * </p>
+     * <p>
+     *     Applicants are checked in order, and for each applicant the email is checked first,
+     *     then the phone, driver's license and Social Security number. An identifier that is
+     *     repeated within the collection is a conflict as well.
+     * </p>
+     * @param applicants Applicants whose identifiers will be checked.
+     * @throws EmailConflictException If an {@link Applicant} with email already exists.
+     * @throws PhoneConflictException If an {@link Applicant} with phone already exists.
+     * @throws ConflictException If driver's license or Social Security already exists.
+     */
+    private void validateUniqueness(Collection<Applicant> applicants) {
+        validateUniqueness(applicants, findExistingIdentifiers(applicants), new ApplicantIdentifiers());
+    }
+
+    /**
+     * Find which identifiers of the applicants already belong to another applicant.
+     * @param applicants Applicants whose identifiers will be checked.
+     * @return Identifiers that already exist.
+     */
+    public ApplicantIdentifiers findExistingIdentifiers(Collection<Applicant> applicants) {
+        ApplicantIdentifiers candidates = identifierFilter.probable(ApplicantIdentifiers.of(applicants));
+        return customRepository.findExisting(candidates);
+    }
+
+    /**
+     * Validate the uniqueness of applicants against identifiers that were already looked up.
+     * <p>
+     *     Allows validating several groups of applicants with a single lookup.
+     *     The identifiers of the validated applicants are added to <code>seen</code>.
+     * </p>
+     * @param applicants Applicants whose identifiers will be checked.
+     * @param existing Identifiers that already exist. See {@link #findExistingIdentifiers(Collection)}.
+     * @param seen Identifiers of previously validated applicants that will be saved as well.
      * @throws EmailConflictException If an {@link Applicant} with email already exists.
      * @throws PhoneConflictException If an {@link Applicant} with phone already exists.
      * @throws ConflictException If driver's license or Social Security already exists.
      */
-    private void validateUniqueness(
-            String email,
-            String phone,
-            String driversLicense,
-            String socialSecurity) {
-        if (repository.existsByEmail(email) && email != null)
-            throw new EmailConflictException();
-        if (repository.existsByPhone(phone) && phone != null)
-            throw new PhoneConflictException();
-        if (repository.existsByDriversLicense(driversLicense) && driversLicense != null)
-            throw new ConflictException("Driver's license already exists.");
-        if (repository.existsBySocialSecurity(socialSecurity) && socialSecurity != null)
-            throw new ConflictException("Social Security number already exists.");
+    public void validateUniqueness(Collection<Applicant> applicants, ApplicantIdentifiers existing, ApplicantIdentifiers seen) {
+        for (Applicant applicant : applicants) {
+            if (isConflict(applicant.getEmail(), existing.getEmails(), seen.getEmails()))
+                throw new EmailConflictException();
+            if (isConflict(applicant.getPhone(), existing.getPhones(), seen.getPhones()))
+                throw new PhoneConflictException();
+            if (isConflict(applicant.getDriversLicense(), existing.getDriversLicenses(), seen.getDriversLicenses()))
+                throw new ConflictException("Driver's license already exists.");
+            if (isConflict(applicant.getSocialSecurity(), existing.getSocialSecurities(), seen.getSocialSecurities()))
+                throw new ConflictException("Social Security number already exists.");
+        }
+    }
+
+    private static boolean isConflict(String value, Set<String> existing, Set<String> seen) {
+        return value != null && (existing.contains(value) || !seen.add(value));
     }
 
 }
@@ -0,0 +1,296 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.dto.response.ApplicationStatusEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application Event Broadcaster
+ * <p>
+ *     Pushes {@link ApplicationStatusEvent}s to the subscribers of <code>GET /applications/events</code>
+ *     as server-sent events. Subscribers can filter by application IDs and application type.
+ * </p>
+ * <p>
+ *     Publishing never waits for a subscriber. Every subscriber has a queue of at most
+ *     <code>underwriter.events.buffer-size</code> events that is written to the client on the
+ *     <code>eventExecutor</code>. A subscriber whose queue is full is too slow to keep up and is
+ *     disconnected instead of buffering more events. Clients can reconnect and read the current
+ *     status with <code>GET /applications/{id}</code>. Subscriptions end after
+ *     <code>underwriter.events.timeout</code>.
+ * </p>
+ * <p>
+ *     Writing an event blocks a worker until the client reads it. A subscriber is also disconnected
+ *     when one write takes <code>underwriter.events.write-timeout</code> or longer, either once the write
+ *     returns or, while it is still blocked, by the check every <code>underwriter.events.write-timeout-check</code>.
+ *     No more events are queued for it, but a blocked write only releases its worker once the client reads
+ *     or the container's connection timeout closes the socket, so keep that timeout close to the write timeout.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Application Event Broadcaster")
+public class ApplicationEventBroadcaster {
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final TaskExecutor executor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Counter dropped;
+    private final Timer writes;
+
+    public ApplicationEventBroadcaster(@Qualifier("eventExecutor") TaskExecutor executor,
+                                       MeterRegistry registry,
+                                       @Value("${underwriter.events.buffer-size:100}") int bufferSize,
+                                       @Value("${underwriter.events.timeout:30m}") Duration timeout,
+                                       @Value("${underwriter.events.write-timeout:5s}") Duration writeTimeout) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.dropped = Counter.builder("underwriter.events.dropped")
+                .description("Subscribers that were disconnected because they could not keep up.")
+                .register(registry);
+        this.writes = Timer.builder("underwriter.events.write")
+                .description("Time to write one event to a subscriber.")
+                .register(registry);
+        Gauge.builder("underwriter.events.subscribers", subscribers, Set::size)
+                .description("Current subscribers of application status events.")
+                .register(registry);
+    }
+
+    /**
+     * Subscribe to status changes.
+     * @param applicationIds Only receive events of these applications. All applications if empty or null.
+     * @param applicationType Only receive events of this type. All types if null.
+     * @return SseEmitter that receives the events.
+     */
+    public SseEmitter subscribe(Collection<Long> applicationIds, ApplicationType applicationType) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<Long> ids = applicationIds == null ? Collections.emptySet() : new HashSet<>(applicationIds);
+        Subscriber subscriber = new Subscriber(emitter, ids, applicationType, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publish an event once the current transaction commits, or immediately if there is no transaction.
+     * <p>
+     *     Events of rolled back transactions are never published.
+     * </p>
+     * @param event The status change.
+     */
+    public void publishAfterCommit(ApplicationStatusEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    /**
+     * Queue an event for every matching subscriber.
+     * @param event The status change.
+     */
+    public void publish(ApplicationStatusEvent event) {
+        if (subscribers.isEmpty())
+            return;
+        Envelope envelope = new Envelope(sequence.incrementAndGet(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.accepts(event))
+                continue;
+            if (subscriber.queue.offer(envelope)) {
+                schedule(subscriber);
+            } else {
+                log.warn("Subscriber has {} unsent events and is disconnected.", bufferSize);
+                dropped.increment();
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Disconnect subscribers whose current write has been blocked for the write timeout.
+     * <p>
+     *     The blocked worker keeps the emitter until the write returns and completes it then.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${underwriter.events.write-timeout-check:1000}")
+    public void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.writeStarted;
+            if (started != 0 && now - started >= writeTimeoutNanos) {
+                log.warn("Subscriber is blocked writing an event and is disconnected.");
+                dropped.increment();
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    /**
+     * @return Amount of current subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Make sure one task is sending the events of a subscriber.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true))
+            return;
+        if (!subscribers.contains(subscriber)) {
+            subscriber.sending.set(false);
+            return;
+        }
+        try {
+            executor.execute(() -> send(subscriber));
+        } catch (TaskRejectedException e) {
+            // Sent with the next event unless the queue fills up first.
+            subscriber.sending.set(false);
+            log.warn("Event executor is saturated, delaying events of a subscriber.");
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            Envelope envelope;
+            while (subscribers.contains(subscriber) && (envelope = subscriber.queue.poll()) != null) {
+                long started = System.nanoTime();
+                subscriber.writeStarted = started;
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(envelope.id))
+                        .name("status")
+                        .data(envelope.event, MediaType.APPLICATION_JSON));
+                long elapsed = System.nanoTime() - started;
+                subscriber.writeStarted = 0;
+                writes.record(elapsed, TimeUnit.NANOSECONDS);
+                if (elapsed >= writeTimeoutNanos && subscribers.contains(subscriber)) {
+                    log.warn("Subscriber took {} ms to read an event and is disconnected.",
+                            TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    dropped.increment();
+                    disconnect(subscriber);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Subscriber disconnected.", e);
+            disconnect(subscriber);
+        } finally {
+            subscriber.writeStarted = 0;
+            subscriber.sending.set(false);
+        }
+        if (!subscribers.contains(subscriber)) {
+            // Disconnected while this worker was writing, so the emitter was left to it.
+            subscriber.complete();
+            return;
+        }
+        // An event might have been queued after the last poll but before the flag was cleared.
+        if (!subscriber.queue.isEmpty())
+            schedule(subscriber);
+    }
+
+    /**
+     * Stop sending events to a subscriber.
+     * <p>
+     *     The emitter is locked while a worker writes to it, so it is only completed here when no
+     *     worker is sending. Otherwise the worker completes it once its write returns, and neither
+     *     publishing nor the stall check ever wait for a slow client.
+     * </p>
+     */
+    private void disconnect(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber))
+            return;
+        subscriber.queue.clear();
+        if (!subscriber.sending.get())
+            subscriber.complete();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> applicationIds;
+        private final ApplicationType applicationType;
+        private final BlockingQueue<Envelope> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        /**
+         * {@link System#nanoTime()} when the current write started, 0 while not writing.
+         */
+        private volatile long writeStarted;
+
+        private Subscriber(SseEmitter emitter, Set<Long> applicationIds, ApplicationType applicationType,
+                           BlockingQueue<Envelope> queue) {
+            this.emitter = emitter;
+            this.applicationIds = applicationIds;
+            this.applicationType = applicationType;
+            this.queue = queue;
+        }
+
+        private boolean accepts(ApplicationStatusEvent event) {
+            return (applicationIds.isEmpty() || applicationIds.contains(event.getApplicationId()))
+                    && (applicationType == null || applicationType == event.getApplicationType());
+        }
+
+        private void complete() {
+            if (!completed.compareAndSet(false, true))
+                return;
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Subscriber already completed.", e);
+            }
+        }
+
+    }
+
+    private static final class Envelope {
+
+        private final long id;
+        private final ApplicationStatusEvent event;
+
+        private Envelope(long id, ApplicationStatusEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+
+    }
+
+}
@@ -15,28 +15,52 @@ import com.aline.core.exception.notfound.ApplicationNotFoundException;
 import com.aline.core.model.Applicant;
 import com.aline.core.model.Application;
 import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
 import com.aline.core.model.Member;
 import com.aline.core.model.account.Account;
 import com.aline.core.repository.ApplicationRepository;
 import com.aline.core.util.SearchSpecification;
-import com.aline.underwritermicroservice.service.function.ApplyResponseConsumer;
+import com.aline.underwritermicroservice.config.CacheConfig;
+import com.aline.underwritermicroservice.config.PrimaryTransactional;
+import com.aline.underwritermicroservice.config.ReadOnlyTransactional;
+import com.aline.underwritermicroservice.dto.response.ApplicationStatusEvent;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import com.aline.underwritermicroservice.repository.ApplicationCustomRepository;
+import com.aline.underwritermicroservice.repository.KeysetRepository;
+import com.aline.underwritermicroservice.repository.ResponseProjectionRepository;
+import com.aline.underwritermicroservice.repository.SpecificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.DiscriminatorValue;
 import javax.transaction.Transactional;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -50,45 +74,94 @@ import java.util.stream.Collectors;
 @Slf4j(topic = "Application Service")
 public class ApplicationService {
 
-    private ModelMapper mapper;
+    private final DtoMapper mapper;
     private final ApplicantService applicantService;
     private final UnderwriterService underwriterService;
     private final MemberService memberService;
     private final AccountService accountService;
     private final ApplicationRepository repository;
+    private final ApplicationCustomRepository customRepository;
+    private final KeysetRepository keysetRepository;
+    private final SpecificationRepository specificationRepository;
+    private final ResponseProjectionRepository projectionRepository;
+    private final CountCache countCache;
+    private final ResponseCacheEvictor cacheEvictor;
+    private final NdjsonExporter exporter;
+    private final ApplyMetrics applyMetrics;
+    private final ApplyResponseOutbox outbox;
+    private final ApplicationEventBroadcaster events;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Set<Long> underwriting = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskExecutor underwritingExecutor;
 
     @Autowired
-    public void setMapper(@Qualifier("defaultModelMapper") ModelMapper mapper) {
-        this.mapper = mapper;
+    public void setUnderwritingExecutor(@Qualifier("underwritingExecutor") ThreadPoolTaskExecutor underwritingExecutor) {
+        this.underwritingExecutor = underwritingExecutor;
     }
 
     /**
      * Get Application By ID
+     * <p>
+     *     The application is fetched together with its applicants.
+     * </p>
      * @param id Id of the retrieved application.
      * @return ApplicationResponse DTO
      * @throws ApplicationNotFoundException If application with the provided ID does not exist.
+     * @apiNote Responses are cached. See {@link CacheConfig}. Always read from the primary
+     * so a lagging replica cannot put an outdated response into the cache.
      */
+    @PrimaryTransactional
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS, key = "#id", sync = true)
     public ApplicationResponse getApplicationById(long id) {
-        Application application = repository.findById(id).orElseThrow(ApplicationNotFoundException::new);
-        return mapper.map(application, ApplicationResponse.class);
+        Application application = customRepository.findWithApplicants(id).orElseThrow(ApplicationNotFoundException::new);
+        return mapper.toApplicationResponse(application);
     }
 
     /**
      * Delete an application by ID
+     * <p>
+     *     The application is deleted with a direct delete statement without being loaded.
+     * </p>
      * @param id ID of the application to be deleted.
      * @throws ApplicationNotFoundException If application with the provided ID does not exist.
      */
+    @Transactional
     public void deleteApplication(long id) {
-        Application toDelete = repository.findById(id).orElseThrow(ApplicationNotFoundException::new);
-        repository.delete(toDelete); 
+        if (customRepository.deleteById(id) == 0)
+            throw new ApplicationNotFoundException();
+        countCache.invalidate(Application.class);
+        cacheEvictor.evictApplication(id);
+    }
+
+    /**
+     * Delete the applications with the specified IDs that exist.
+     * <p>
+     *     Uses a constant amount of statements no matter how many IDs are given.
+     * </p>
+     * @param ids IDs of the applications to be deleted.
+     * @return IDs of the deleted applications.
+     */
+    @Transactional
+    public Set<Long> deleteApplications(Collection<Long> ids) {
+        Set<Long> existing = customRepository.findExistingIds(ids);
+        if (existing.isEmpty())
+            return existing;
+        customRepository.deleteAllById(existing);
+        countCache.invalidate(Application.class);
+        cacheEvictor.evictApplications(existing);
+        return existing;
     }
 
     /**
      * Create new application with all brand new applicants or all existing applicants.
+     * <p>
+     *     The response is recorded in the {@link ApplyResponseOutbox} in the same transaction.
+     *     Registered {@link com.aline.underwritermicroservice.service.function.ApplyResponseConsumer}s
+     *     receive it from the {@link OutboxDispatcher} after the transaction committed.
+     * </p>
      * @param request ApplyRequest dto with request information.
-     * @param responseConsumer ApplicationResponseConsumer contains logic to run after response is received
-     *                         from the underwriting service and before the ApplicationResponse object
-     *                         is returned by the method.
      * @return ApplicationResponse containing the newly created applicants and the application status.
      * @apiNote This method will create all of the CreateApplicant dto objects within
      * the applicants property first. If the applicants cannot be created for any reason, the process
@@ -98,150 +171,407 @@ public class ApplicationService {
      * correctness and then apply.
      */
     @Transactional(rollbackOn = {
+            ApplicantConflictException.class,
             ConflictException.class,
             NotFoundException.class,
             NullPointerException.class
     })
-    public ApplyResponse apply(@Valid ApplyRequest request, ApplyResponseConsumer responseConsumer) {
-
-        log.info("Starting new application: {}", request.getApplicationType());
-
-        Application application;
+    public ApplyResponse apply(@Valid ApplyRequest request) {
 
-        if (request.getNoApplicants() == null || !request.getNoApplicants()) {
+        ApplyMetrics.Timing timing = applyMetrics.start(request.getApplicationType(), countApplicants(request));
+        try {
+            Application savedApplication = createPendingApplication(request, timing);
+            ApplyResponse response = mapper.toApplyResponse(savedApplication);
 
-            log.info("Creating application with new applicants.");
+            underwrite(savedApplication, response, timing, true);
 
-            LinkedHashSet<Applicant> applicants = createApplicants(request.getApplicants());
-            Applicant primaryApplicant = applicants.iterator().next(); // First applicant is the primary
+            log.info("Accounts and members successfully created.");
+            timing.record(outcome(response.getStatus()));
+            return response;
+        } catch (RuntimeException e) {
+            timing.record(ApplyMetrics.Outcome.FAILED);
+            throw e;
+        }
+    }
 
-            application = Application.builder()
-                    .primaryApplicant(primaryApplicant)
-                    .applicants(applicants)
-                    .applicationType(request.getApplicationType())
-                    .applicationStatus(ApplicationStatus.PENDING)
-                    .build();
+    /**
+     * Create and underwrite an application whose applicants were validated already.
+     * <p>
+     *     Bulk path of the {@link BatchApplicationService}, which checks the uniqueness and existence of
+     *     the applicants of many requests at once. They are not checked again here and nothing is flushed,
+     *     so the caller's transaction sends the rows joining the applications to their applicants, members
+     *     and accounts of all its applications together as JDBC batches. Must run in a transaction.
+     * </p>
+     * @param applicationType Type of the application.
+     * @param applicants Either validated new applicants or existing applicants. The first one is the primary applicant.
+     * @return ApplyResponse of the underwritten application.
+     */
+    public ApplyResponse applyValidated(ApplicationType applicationType, List<Applicant> applicants) {
+        ApplyMetrics.Timing timing = applyMetrics.start(applicationType, applicants.size());
+        try {
+            List<Applicant> newApplicants = applicants.stream()
+                    .filter(applicant -> applicant.getId() == null)
+                    .collect(Collectors.toList());
+            if (!newApplicants.isEmpty())
+                timing.time(ApplyMetrics.Stage.APPLICANTS, () -> applicantService.saveApplicants(newApplicants));
 
-        } else {
+            Application savedApplication = savePendingApplication(applicationType, new LinkedHashSet<>(applicants), timing);
+            ApplyResponse response = mapper.toApplyResponse(savedApplication);
 
-            Set<Long> applicantIds = Optional.ofNullable(request.getApplicantIds())
-                    .orElseThrow(() -> new BadRequestException("Field 'noApplicants' was set to true but no existing applicant ids were provided."));
+            underwrite(savedApplication, response, timing, false);
 
-            if (applicantIds.isEmpty())
-                throw new BadRequestException("Field 'noApplicants' was set to true but field 'applicantIds' is empty.");
+            timing.record(outcome(response.getStatus()));
+            return response;
+        } catch (RuntimeException e) {
+            timing.record(ApplyMetrics.Outcome.FAILED);
+            throw e;
+        }
+    }
 
-            log.info("Creating application with existing applicants.");
+    /**
+     * Create a new application and underwrite it in the background.
+     * <p>
+     *     The application and its applicants are validated and saved with the
+     *     status {@link ApplicationStatus#PENDING} exactly like {@link #apply(ApplyRequest)}.
+     *     Once the transaction commits, underwriting and the creation of members and accounts
+     *     run on the <code>underwritingExecutor</code> in a new transaction.
+     *     The status can then be polled with {@link #getApplicationById(long)}.
+     *     Applications left pending by a restart or a failed underwriting are queued
+     *     again by the {@link PendingApplicationSweeper}.
+     * </p>
+     * @param request ApplyRequest dto with request information.
+     * @return ApplyResponse of the pending application.
+     */
+    @Transactional(rollbackOn = {
+            ConflictException.class,
+            NotFoundException.class,
+            NullPointerException.class
+    })
+    public ApplyResponse applyAsync(@Valid ApplyRequest request) {
+        ApplyMetrics.Timing timing = applyMetrics.start(request.getApplicationType(), countApplicants(request));
+        Application savedApplication;
+        try {
+            savedApplication = createPendingApplication(request, timing);
+        } catch (RuntimeException e) {
+            timing.record(ApplyMetrics.Outcome.FAILED);
+            throw e;
+        }
+        timing.record(ApplyMetrics.Outcome.PENDING);
+        long id = savedApplication.getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requeue(id);
+            }
+        });
+
+        log.info("Application {} will be underwritten asynchronously.", id);
+        return mapper.toApplyResponse(savedApplication);
+    }
 
-            LinkedHashSet<Applicant> applicants = applicantIds.stream()
-                    .map(applicantService::getApplicantById)
-                    .map(applicantResponse -> mapper.map(applicantResponse, Applicant.class))
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
+    /**
+     * Underwrite a pending application on the <code>underwritingExecutor</code>.
+     * <p>
+     *     Used once an asynchronous application committed and by the {@link PendingApplicationSweeper}
+     *     for applications that are still pending, for example because the instance that accepted them
+     *     stopped before underwriting them. Applications that are no longer pending are skipped.
+     * </p>
+     * @param id ID of the pending application.
+     * @return False if this instance is already underwriting the application.
+     */
+    public boolean requeue(long id) {
+        if (!underwriting.add(id))
+            return false;
+        try {
+            underwritingExecutor.execute(() -> {
+                try {
+                    underwrite(id);
+                } finally {
+                    underwriting.remove(id);
+                }
+            });
+        } catch (RuntimeException e) {
+            underwriting.remove(id);
+            throw e;
+        }
+        return true;
+    }
 
-            Applicant primaryApplicant = applicants.iterator().next();
+    /**
+     * @param id ID of an application.
+     * @return Whether this instance has queued or is underwriting the application.
+     */
+    public boolean isUnderwriting(long id) {
+        return underwriting.contains(id);
+    }
 
-            application = Application.builder()
-                    .applicationType(request.getApplicationType())
-                    .applicants(applicants)
-                    .primaryApplicant(primaryApplicant)
-                    .applicationStatus(ApplicationStatus.PENDING)
-                    .build();
+    /**
+     * Underwrite a pending application in its own transaction.
+     * <p>
+     *     The application row is locked, so when several instances pick up the same
+     *     application only the first one underwrites it.
+     * </p>
+     * @param id ID of the pending application.
+     */
+    private void underwrite(long id) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Application application = customRepository.findForUpdate(id).orElseThrow(ApplicationNotFoundException::new);
+                if (application.getApplicationStatus() != ApplicationStatus.PENDING)
+                    return;
+                ApplyMetrics.Timing timing = applyMetrics.start(application.getApplicationType(), application.getApplicants().size());
+                ApplyResponse response = mapper.toApplyResponse(application);
+                try {
+                    underwrite(application, response, timing, true);
+                } catch (RuntimeException e) {
+                    timing.record(ApplyMetrics.Outcome.FAILED);
+                    throw e;
+                }
+                timing.record(outcome(response.getStatus()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Application {} could not be underwritten and is still pending.", id, e);
         }
+    }
 
-        if (application != null) {
+    private static int countApplicants(ApplyRequest request) {
+        if (request.getNoApplicants() != null && request.getNoApplicants())
+            return request.getApplicantIds() == null ? 0 : request.getApplicantIds().size();
+        return request.getApplicants() == null ? 0 : request.getApplicants().size();
+    }
 
-            log.info("Create application and application response.");
+    private static ApplyMetrics.Outcome outcome(ApplicationStatus status) {
+        if (status == ApplicationStatus.APPROVED)
+            return ApplyMetrics.Outcome.APPROVED;
+        if (status == ApplicationStatus.DENIED)
+            return ApplyMetrics.Outcome.DENIED;
+        return ApplyMetrics.Outcome.PENDING;
+    }
 
-            Application savedApplication = repository.save(application);
-            ApplyResponse response = mapper.map(savedApplication, ApplyResponse.class);
+    /**
+     * Save a new pending application with either new or existing applicants.
+     * @param request ApplyRequest dto with request information.
+     * @param timing Timing of the apply.
+     * @return The saved application.
+     */
+    private Application createPendingApplication(ApplyRequest request, ApplyMetrics.Timing timing) {
 
-            underwriterService.underwriteApplication(savedApplication,
-                    (status, reason) -> {
-                        log.info("Received underwriting status: {}\nAnd reason: {}", status, reason);
-                        savedApplication.setApplicationStatus(status);
-                        response.setStatus(status);
-                        response.setReason(reason);
+        log.info("Starting new application: {}", request.getApplicationType());
 
-                        if (status == ApplicationStatus.APPROVED) {
-                            log.info("Application was approved... Creating members.");
-                            LinkedHashSet<Member> members = savedApplication.getApplicants().stream()
-                                    .map(memberService::createMember)
-                                    .collect(Collectors.toCollection(LinkedHashSet::new));
-                            Member primaryMember = members.iterator().next();
+        LinkedHashSet<Applicant> applicants;
 
-                            log.info("Creating accounts: {}", request.getApplicationType());
-                            Set<Account> accounts = accountService.createAccount(savedApplication.getApplicationType(), primaryMember, members);
+        if (request.getNoApplicants() == null || !request.getNoApplicants()) {
 
-                            log.info("Attaching members to accounts...");
-                            members.forEach(member -> member.setAccounts(accounts));
+            log.info("Creating application with new applicants.");
 
-                            List<Member> savedMembers = memberService.saveAll(members);
+            applicants = createApplicants(request.getApplicants(), timing);
 
-                            Set<ApplyAccountResponse> createdAccounts = accounts.stream()
-                                            .map(account -> new ApplyAccountResponse(account.getId(),
-                                                    account.getClass().getAnnotation(DiscriminatorValue.class).value()))
-                                            .collect(Collectors.toSet());
+        } else {
 
-                            Set<ApplyMemberResponse> createdMembers = savedMembers.stream()
-                                            .map(member -> new ApplyMemberResponse(member.getId(),
-                                                    String.format("%s %s",
-                                                            member.getApplicant().getFirstName(),
-                                                            member.getApplicant().getLastName())))
-                                                    .collect(Collectors.toSet());
+            Set<Long> applicantIds = Optional.ofNullable(request.getApplicantIds())
+                    .orElseThrow(() -> new BadRequestException("Field 'noApplicants' was set to true but no existing applicant ids were provided."));
 
-                            response.setAccountsCreated(true);
-                            response.setCreatedAccounts(createdAccounts);
-                            response.setMembersCreated(true);
-                            response.setCreatedMembers(createdMembers);
-                        }
-                    });
+            if (applicantIds.isEmpty())
+                throw new BadRequestException("Field 'noApplicants' was set to true but field 'applicantIds' is empty.");
 
-            // Call onRespond if a responseConsumer was provided.
-            if (responseConsumer != null)
-                responseConsumer.onRespond(response);
+            log.info("Creating application with existing applicants.");
 
-            log.info("Accounts and members successfully created.");
-            return response;
+            applicants = timing.time(ApplyMetrics.Stage.APPLICANTS,
+                    () -> new LinkedHashSet<>(applicantService.getApplicantsById(applicantIds)));
         }
-        throw new BadRequestException("Application could not be processed.");
+
+        return savePendingApplication(request.getApplicationType(), applicants, timing);
+    }
+
+    /**
+     * Save a new pending application of saved applicants.
+     * @param applicationType Type of the application.
+     * @param applicants Saved applicants. The first one is the primary applicant.
+     * @param timing Timing of the apply.
+     * @return The saved application.
+     */
+    private Application savePendingApplication(ApplicationType applicationType, LinkedHashSet<Applicant> applicants,
+                                               ApplyMetrics.Timing timing) {
+        Applicant primaryApplicant = applicants.iterator().next(); // First applicant is the primary
+
+        Application application = Application.builder()
+                .primaryApplicant(primaryApplicant)
+                .applicants(applicants)
+                .applicationType(applicationType)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .build();
+
+        log.info("Create application and application response.");
+
+        Application savedApplication = timing.time(ApplyMetrics.Stage.APPLICATION, () -> repository.save(application));
+        countCache.invalidate(Application.class);
+        return savedApplication;
+    }
+
+    /**
+     * Underwrite a saved application and create its members and accounts if it is approved.
+     * <p>
+     *     The final response is recorded in the {@link ApplyResponseOutbox} and the new status
+     *     is published to the {@link ApplicationEventBroadcaster} once the transaction commits.
+     * </p>
+     * @param savedApplication The pending application.
+     * @param response The response that will receive the status, reason and created members and accounts.
+     * @param timing Timing of the apply.
+     * @param flush Whether the rows joining members and accounts are sent right away. The bulk path
+     * leaves them to the end of its transaction so they are batched with those of other applications.
+     */
+    private void underwrite(Application savedApplication, ApplyResponse response, ApplyMetrics.Timing timing,
+                            boolean flush) {
+        long underwritingStartedAt = timing.now();
+        underwriterService.underwriteApplication(savedApplication,
+                (status, reason) -> {
+                    timing.stop(ApplyMetrics.Stage.UNDERWRITING, underwritingStartedAt);
+                    log.info("Received underwriting status: {}\nAnd reason: {}", status, reason);
+                    savedApplication.setApplicationStatus(status);
+                    countCache.invalidate(Application.class);
+                    cacheEvictor.evictApplication(savedApplication.getId());
+                    response.setStatus(status);
+                    response.setReason(reason);
+                    events.publishAfterCommit(ApplicationStatusEvent.builder()
+                            .applicationId(savedApplication.getId())
+                            .applicationType(savedApplication.getApplicationType())
+                            .status(status)
+                            .reason(reason)
+                            .occurredAt(Instant.now())
+                            .build());
+
+                    if (status == ApplicationStatus.APPROVED) {
+                        log.info("Application was approved... Creating members.");
+                        LinkedHashSet<Member> members = timing.time(ApplyMetrics.Stage.MEMBERS,
+                                () -> new LinkedHashSet<>(memberService.createMembers(savedApplication.getApplicants())));
+                        Member primaryMember = members.iterator().next();
+
+                        log.info("Creating accounts: {}", savedApplication.getApplicationType());
+                        Set<Account> accounts = timing.time(ApplyMetrics.Stage.ACCOUNTS,
+                                () -> accountService.createAccount(savedApplication.getApplicationType(), primaryMember, members));
+
+                        log.info("Attaching members to accounts...");
+                        members.forEach(member -> member.setAccounts(accounts));
+
+                        // Members and accounts are inserted already. Send the batched rows joining them now.
+                        if (flush)
+                            timing.time(ApplyMetrics.Stage.SAVE_MEMBERS, repository::flush);
+
+                        Set<ApplyAccountResponse> createdAccounts = accounts.stream()
+                                        .map(account -> new ApplyAccountResponse(account.getId(),
+                                                account.getClass().getAnnotation(DiscriminatorValue.class).value()))
+                                        .collect(Collectors.toSet());
+
+                        Set<ApplyMemberResponse> createdMembers = members.stream()
+                                        .map(member -> new ApplyMemberResponse(member.getId(),
+                                                String.format("%s %s",
+                                                        member.getApplicant().getFirstName(),
+                                                        member.getApplicant().getLastName())))
+                                                .collect(Collectors.toSet());
+
+                        response.setAccountsCreated(true);
+                        response.setCreatedAccounts(createdAccounts);
+                        response.setMembersCreated(true);
+                        response.setCreatedMembers(createdMembers);
+                    }
+                });
+        outbox.add(response);
     }
 
     /**
      * Get paginated application response list.
+     * <p>
+     *     The total is counted only when it cannot be derived from the page
+     *     and is served from the {@link CountCache} when the same search was counted recently.
+     * </p>
+     * <p>
+     *     The IDs of the page are selected first and the response columns of the applications and
+     *     their applicants are then selected with one join, so a page costs the same amount of queries
+     *     no matter how large it is. No entities are loaded. See {@link ResponseProjectionRepository}.
+     * </p>
      * @param pageable Pageable object passed from controller.
      * @param search Search term if any. (Must be at least an empty string)
      * @return PaginatedResponse of Applications.
      */
+    @ReadOnlyTransactional
     public PaginatedResponse<ApplicationResponse> getAllApplications(@NotNull   Pageable pageable, @NotNull final String search) {
         SearchSpecification<Application> spec = new SearchSpecification<>(search);
-        Page<ApplicationResponse> responsePage = repository.findAll(spec, pageable)
-                .map(application -> mapper.map(application, ApplicationResponse.class));
+        List<Long> ids = specificationRepository.findIds(Application.class, spec, pageable);
+        List<ApplicationResponse> content = projectionRepository.findApplicationResponses(ids);
+        Page<ApplicationResponse> responsePage = PageableExecutionUtils.getPage(content, pageable,
+                () -> countCache.count(Application.class, search, () -> repository.count(spec)));
 
         return new PaginatedResponse<>(responsePage.getContent(), pageable, responsePage.getTotalElements());
     }
 
     /**
-     * Overloaded method of apply with no consumer.
+     * Export every application matching the search as newline-delimited JSON.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @param out Stream the applications are written to.
+     * @return Amount of exported applications.
      */
-    @Transactional(rollbackOn = {
-            ApplicantConflictException.class,
-            ConflictException.class,
-            NotFoundException.class,
-            NullPointerException.class
-    })
-    public ApplyResponse apply(@Valid ApplyRequest request) {
-        return apply(request, null);
+    public long exportApplications(@NotNull final String search, OutputStream out) {
+        return exporter.exportChunks(Application.class, new SearchSpecification<>(search),
+                projectionRepository::findApplicationResponses, out);
+    }
+
+    /**
+     * Get a slice of applications without counting the total.
+     * <p>
+     *     The responses of the slice are selected with their applicants in one join, like the pages.
+     * </p>
+     * @param pageable Pageable object passed from controller.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @return Slice of Applications that knows whether there is a next slice.
+     */
+    @ReadOnlyTransactional
+    public Slice<ApplicationResponse> getApplicationSlice(@NotNull Pageable pageable, @NotNull final String search) {
+        SearchSpecification<Application> spec = new SearchSpecification<>(search);
+        Slice<Long> ids = specificationRepository.findIdSlice(Application.class, spec, pageable);
+        List<ApplicationResponse> content = projectionRepository.findApplicationResponses(ids.getContent());
+        return new SliceImpl<>(content, pageable, ids.hasNext());
+    }
+
+    /**
+     * Get a page of applications after a cursor.
+     * <p>
+     *     Unlike {@link #getAllApplications(Pageable, String)} the page is found with a single
+     *     range query no matter how deep it is and no total count is queried.
+     * </p>
+     * <p>
+     *     Like the offset pages, the range query only selects the IDs and the sorted property and the
+     *     responses of the page are then selected with their applicants in one join. See
+     *     {@link KeysetRepository#findIdPage(Class, org.springframework.data.jpa.domain.Specification, String, Pageable)}.
+     * </p>
+     * @param after Cursor returned with the previous page or an empty string for the first page.
+     * @param pageable Size of the page. The sort is only used for the first page.
+     * @param search Search term if any. (Must be at least an empty string)
+     * @return CursorPage of Applications.
+     */
+    @ReadOnlyTransactional
+    public CursorPage<ApplicationResponse> getAllApplications(@NotNull final String after, @NotNull Pageable pageable, @NotNull final String search) {
+        SearchSpecification<Application> spec = new SearchSpecification<>(search);
+        CursorPage<Long> ids = keysetRepository.findIdPage(Application.class, spec, after, pageable);
+        return new CursorPage<>(projectionRepository.findApplicationResponses(ids.getContent()),
+                ids.getSize(), ids.getNext(), ids.isLast());
     }
 
     /**
      * Create Applicants from a list of applicants
      * @param createApplicants LinkedHashSet of applicants.
+     * @param timing Timing of the apply.
      * @return LinkedHashSet of saved applicants.
      */
-    private LinkedHashSet<Applicant> createApplicants(Set<CreateApplicant> createApplicants) {
-        return createApplicants.stream()
-                .map(applicantService::createApplicant)
-                .map(applicantResponse -> mapper.map(applicantResponse, Applicant.class))
-                .collect(Collectors.toCollection(LinkedHashSet<Applicant>::new));
+    private LinkedHashSet<Applicant> createApplicants(Set<CreateApplicant> createApplicants, ApplyMetrics.Timing timing) {
+        List<Applicant> applicants = createApplicants.stream()
+                .map(mapper::toApplicant)
+                .collect(Collectors.toList());
+        timing.time(ApplyMetrics.Stage.UNIQUENESS, () -> applicantService.validateUniqueness(applicants,
+                applicantService.findExistingIdentifiers(applicants), new ApplicantIdentifiers()));
+        return new LinkedHashSet<>(timing.time(ApplyMetrics.Stage.APPLICANTS, () -> applicantService.saveApplicants(applicants)));
     }
 
 }
@@ -0,0 +1,215 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.ApplicationType;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Apply Metrics
+ * <p>
+ *     Micrometer timers of every stage of {@link ApplicationService#apply(com.aline.core.dto.request.ApplyRequest)}.
+ *     Every stage is recorded as <code>underwriter.apply.stage</code> tagged with the stage, the application
+ *     type, the amount of applicants (<code>1</code>, <code>2</code>, <code>3</code> or <code>4+</code>) and the
+ *     outcome. The whole apply is recorded as <code>underwriter.apply</code> with the same tags except the stage.
+ * </p>
+ * <p>
+ *     Stage durations are collected in a {@link Timing} while applying and only recorded once the outcome is
+ *     known. Timers are registered on first use and then looked up by index, so recording costs a few
+ *     <code>nanoTime</code> calls and no allocation per stage. Set <code>underwriter.metrics.apply.histogram</code>
+ *     to publish percentile histograms as well.
+ * </p>
+ */
+@Component
+public class ApplyMetrics {
+
+    /**
+     * Stages of an apply.
+     */
+    public enum Stage {
+        /** Uniqueness check of the new applicants. */
+        UNIQUENESS,
+        /** Saving the new applicants or loading the existing ones. */
+        APPLICANTS,
+        /** Saving the pending application. */
+        APPLICATION,
+        /** Evaluating the underwriting rules. */
+        UNDERWRITING,
+        /** Creating the members of an approved application. */
+        MEMBERS,
+        /** Creating the accounts of an approved application. */
+        ACCOUNTS,
+        /** Sending the batched rows that join the members and their accounts. */
+        SAVE_MEMBERS
+    }
+
+    /**
+     * Outcomes of an apply.
+     */
+    public enum Outcome {
+        APPROVED,
+        DENIED,
+        /** Accepted to be underwritten asynchronously. */
+        PENDING,
+        /** Failed with an exception. */
+        FAILED
+    }
+
+    private static final int APPLICANT_BUCKETS = 4;
+    private static final ApplicationType[] TYPES = ApplicationType.values();
+    private static final Stage[] STAGES = Stage.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final boolean histogram;
+
+    /**
+     * Timers indexed by stage (the last index is the whole apply), type, applicants and outcome.
+     */
+    private final AtomicReferenceArray<Timer> timers =
+            new AtomicReferenceArray<>((STAGES.length + 1) * (TYPES.length + 1) * APPLICANT_BUCKETS * OUTCOMES.length);
+
+    public ApplyMetrics(MeterRegistry registry,
+                        @Value("${underwriter.metrics.apply.histogram:false}") boolean histogram) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.histogram = histogram;
+    }
+
+    /**
+     * Start timing an apply.
+     * @param type Type of the application. May be null.
+     * @param applicants Amount of applicants.
+     * @return Timing that collects the stage durations of the apply.
+     */
+    public Timing start(ApplicationType type, int applicants) {
+        return new Timing(type, applicants);
+    }
+
+    private Timer timer(int stage, ApplicationType type, int applicants, Outcome outcome) {
+        int typeIndex = type == null ? TYPES.length : type.ordinal();
+        int applicantBucket = Math.max(1, Math.min(applicants, APPLICANT_BUCKETS)) - 1;
+        int index = ((stage * (TYPES.length + 1) + typeIndex) * APPLICANT_BUCKETS + applicantBucket)
+                * OUTCOMES.length + outcome.ordinal();
+
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            boolean total = stage == STAGES.length;
+            Timer.Builder builder = Timer.builder(total ? "underwriter.apply" : "underwriter.apply.stage")
+                    .description(total ? "Duration of applications." : "Duration of the stages of applications.")
+                    .tag("type", type == null ? "none" : type.name().toLowerCase(Locale.ROOT))
+                    .tag("applicants", applicantBucket + 1 == APPLICANT_BUCKETS ? APPLICANT_BUCKETS + "+" : String.valueOf(applicantBucket + 1))
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram(histogram);
+            if (!total)
+                builder.tag("stage", STAGES[stage].name().toLowerCase(Locale.ROOT));
+            timer = builder.register(registry);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Stage durations of a single apply. Not thread-safe.
+     */
+    public final class Timing {
+
+        private final long startedAt;
+        private final long[] durations = new long[STAGES.length];
+        private ApplicationType type;
+        private int applicants;
+        private boolean recorded;
+
+        private Timing(ApplicationType type, int applicants) {
+            this.startedAt = clock.monotonicTime();
+            this.type = type;
+            this.applicants = applicants;
+            Arrays.fill(durations, -1);
+        }
+
+        /**
+         * @return Current monotonic time to pass to {@link #stop(Stage, long)}.
+         */
+        public long now() {
+            return clock.monotonicTime();
+        }
+
+        /**
+         * Add the time since <code>startedAt</code> to a stage.
+         * @param stage The stage.
+         * @param startedAt Start of the stage returned by {@link #now()}.
+         */
+        public void stop(Stage stage, long startedAt) {
+            long duration = clock.monotonicTime() - startedAt;
+            int index = stage.ordinal();
+            durations[index] = durations[index] < 0 ? duration : durations[index] + duration;
+        }
+
+        /**
+         * Time a stage.
+         * @param stage The stage.
+         * @param supplier Work of the stage. The stage is timed even if it throws.
+         * @param <T> Result type.
+         * @return The result of the supplier.
+         */
+        public <T> T time(Stage stage, Supplier<T> supplier) {
+            long stageStartedAt = now();
+            try {
+                return supplier.get();
+            } finally {
+                stop(stage, stageStartedAt);
+            }
+        }
+
+        /**
+         * Time a stage.
+         * @param stage The stage.
+         * @param runnable Work of the stage. The stage is timed even if it throws.
+         */
+        public void time(Stage stage, Runnable runnable) {
+            long stageStartedAt = now();
+            try {
+                runnable.run();
+            } finally {
+                stop(stage, stageStartedAt);
+            }
+        }
+
+        /**
+         * Correct the tags once they are known.
+         * @param type Type of the application.
+         * @param applicants Amount of applicants.
+         */
+        public void tag(ApplicationType type, int applicants) {
+            this.type = type;
+            this.applicants = applicants;
+        }
+
+        /**
+         * Record the stages that ran and the whole apply. Only the first call records anything.
+         * @param outcome Outcome of the apply.
+         */
+        public void record(Outcome outcome) {
+            if (recorded)
+                return;
+            recorded = true;
+            for (int stage = 0; stage < durations.length; stage++) {
+                if (durations[stage] >= 0)
+                    timer(stage, type, applicants, outcome).record(durations[stage], TimeUnit.NANOSECONDS);
+            }
+            timer(STAGES.length, type, applicants, outcome)
+                    .record(clock.monotonicTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.underwritermicroservice.model.OutboxEvent;
+import com.aline.underwritermicroservice.repository.OutboxEventRepository;
+import com.aline.underwritermicroservice.service.function.ApplyResponseConsumer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Apply Response Outbox
+ * <p>
+ *     Records {@link ApplyResponse}s as {@link OutboxEvent}s in the current transaction.
+ *     The {@link OutboxDispatcher} hands them to every {@link ApplyResponseConsumer} bean
+ *     once the transaction committed, so no notification work runs while an application is
+ *     being applied and a rolled back application is never announced.
+ * </p>
+ * <p>
+ *     Every response is recorded, also while there is no consumer bean. The dispatcher then
+ *     deletes the events without handing them to anyone.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplyResponseOutbox {
+
+    public static final String TYPE = "APPLY_RESPONSE";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Record a response to be delivered to the consumers.
+     * @param response The response of an underwritten application.
+     */
+    public void add(ApplyResponse response) {
+        Instant now = Instant.now();
+        repository.save(OutboxEvent.builder()
+                .applicationId(response.getId())
+                .type(TYPE)
+                .payload(serialize(response))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    /**
+     * Read the response of an event.
+     * @param event An event recorded by {@link #add(ApplyResponse)}.
+     * @return The response.
+     */
+    public ApplyResponse read(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), ApplyResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format("Outbox event %d could not be read.", event.getId()), e);
+        }
+    }
+
+    private String serialize(ApplyResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Apply response could not be written to the outbox.", e);
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.exception.BadRequestException;
+import com.aline.core.exception.ConflictException;
+import com.aline.core.exception.NotFoundException;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.dto.response.BatchApplyResponse;
+import com.aline.underwritermicroservice.dto.response.BatchApplyResult;
+import com.aline.underwritermicroservice.dto.response.BatchApplyStatus;
+import com.aline.underwritermicroservice.mapper.DtoMapper;
+import com.aline.underwritermicroservice.repository.ApplicantCustomRepository;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch Application Service
+ * <p>
+ *     Processes many {@link ApplyRequest}s at once with the same validation and
+ *     underwriting rules as {@link ApplicationService#apply(ApplyRequest)}.
+ *     A failing application never aborts the others.
+ * </p>
+ * <ol>
+ *     <li>Every request is validated. Uniqueness of all new applicants and existence of all
+ *     existing applicants are each checked with a single query for the whole batch.</li>
+ *     <li>Valid requests are applied in chunks with {@link ApplicationService#applyValidated(ApplicationType, List)},
+ *     each chunk in one transaction. The checks are not repeated per request, existing applicants of the
+ *     chunk are loaded with one query and the persistence context is only flushed on commit, so the rows
+ *     joining applications, applicants, members and accounts of the whole chunk are sent as JDBC batches.
+ *     Applicants, applications, members and accounts have identity IDs owned by the core and are still
+ *     inserted one statement each.</li>
+ *     <li>If a chunk fails, its requests are applied again one by one with all checks in their own transactions.</li>
+ * </ol>
+ */
+@Service
+@Slf4j(topic = "Batch Application Service")
+public class BatchApplicationService {
+
+    private final ApplicationService applicationService;
+    private final ApplicantService applicantService;
+    private final ApplicantCustomRepository applicantRepository;
+    private final DtoMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRequests;
+    private final int chunkSize;
+
+    public BatchApplicationService(ApplicationService applicationService,
+                                   ApplicantService applicantService,
+                                   ApplicantCustomRepository applicantRepository,
+                                   DtoMapper mapper,
+                                   Validator validator,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${underwriter.batch.max-requests:1000}") int maxRequests,
+                                   @Value("${underwriter.batch.chunk-size:100}") int chunkSize) {
+        this.applicationService = applicationService;
+        this.applicantService = applicantService;
+        this.applicantRepository = applicantRepository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRequests = maxRequests;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Apply a batch of applications.
+     * @param requests Apply requests.
+     * @return BatchApplyResponse with one result per request in the same order.
+     * @throws BadRequestException If the batch is empty or larger than <code>underwriter.batch.max-requests</code>.
+     */
+    public BatchApplyResponse applyAll(List<ApplyRequest> requests) {
+        if (requests == null || requests.isEmpty())
+            throw new BadRequestException("Batch does not contain any applications.");
+        if (requests.size() > maxRequests)
+            throw new BadRequestException(String.format("Batch cannot contain more than %d applications.", maxRequests));
+
+        log.info("Starting batch of {} applications.", requests.size());
+
+        BatchApplyResult[] results = new BatchApplyResult[requests.size()];
+        List<List<Applicant>> newApplicants = new ArrayList<>(requests.size());
+        List<Integer> accepted = validate(requests, results, newApplicants);
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            applyChunk(requests, newApplicants, chunk, results);
+        }
+
+        List<BatchApplyResult> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream()
+                .filter(result -> result.getStatus() == BatchApplyStatus.CREATED)
+                .count();
+
+        log.info("Batch finished. {} created, {} failed.", created, results.length - created);
+
+        return BatchApplyResponse.builder()
+                .created(created)
+                .failed(results.length - created)
+                .results(resultList)
+                .build();
+    }
+
+    /**
+     * Validate every request and reject the invalid ones.
+     * @param newApplicants Receives the mapped new applicants of every request.
+     * @return Indexes of the requests that can be applied.
+     */
+    private List<Integer> validate(List<ApplyRequest> requests, BatchApplyResult[] results, List<List<Applicant>> newApplicants) {
+        List<Applicant> allNewApplicants = new ArrayList<>();
+        Set<Long> allApplicantIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ApplyRequest request = requests.get(i);
+            List<Applicant> applicants = new ArrayList<>();
+            newApplicants.add(applicants);
+
+            String violations = violations(request);
+            if (violations != null) {
+                results[i] = failure(i, BatchApplyStatus.BAD_REQUEST, violations);
+            } else if (isNewApplicants(request)) {
+                if (request.getApplicants() == null || request.getApplicants().isEmpty()) {
+                    results[i] = failure(i, BatchApplyStatus.BAD_REQUEST, "Application does not contain any applicants.");
+                    continue;
+                }
+                for (CreateApplicant createApplicant : request.getApplicants()) {
+                    applicants.add(mapper.toApplicant(createApplicant));
+                }
+                allNewApplicants.addAll(applicants);
+            } else if (request.getApplicantIds() == null) {
+                results[i] = failure(i, BatchApplyStatus.BAD_REQUEST, "Field 'noApplicants' was set to true but no existing applicant ids were provided.");
+            } else if (request.getApplicantIds().isEmpty()) {
+                results[i] = failure(i, BatchApplyStatus.BAD_REQUEST, "Field 'noApplicants' was set to true but field 'applicantIds' is empty.");
+            } else {
+                allApplicantIds.addAll(request.getApplicantIds());
+            }
+        }
+
+        // Identifiers of accepted requests are taken as well, rejected requests must not take any.
+        ApplicantIdentifiers taken = applicantService.findExistingIdentifiers(allNewApplicants);
+        Set<Long> existingIds = applicantRepository.findExistingIds(allApplicantIds);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null)
+                continue;
+            ApplyRequest request = requests.get(i);
+            if (isNewApplicants(request)) {
+                ApplicantIdentifiers requested = new ApplicantIdentifiers();
+                try {
+                    applicantService.validateUniqueness(newApplicants.get(i), taken, requested);
+                } catch (ConflictException e) {
+                    results[i] = failure(i, BatchApplyStatus.CONFLICT, e.getMessage());
+                    continue;
+                }
+                taken.addAll(requested);
+            } else if (!existingIds.containsAll(request.getApplicantIds())) {
+                results[i] = failure(i, BatchApplyStatus.NOT_FOUND, "One or more applicants do not exist.");
+                continue;
+            }
+            accepted.add(i);
+        }
+        return accepted;
+    }
+
+    /**
+     * Apply a chunk of valid requests in one transaction.
+     * Falls back to applying them one by one if the chunk fails.
+     */
+    private void applyChunk(List<ApplyRequest> requests, List<List<Applicant>> newApplicants, List<Integer> chunk,
+                            BatchApplyResult[] results) {
+        try {
+            List<ApplyResponse> responses = transactionTemplate.execute(status -> {
+                FlushModeType flushMode = entityManager.getFlushMode();
+                // Nothing queried in the chunk depends on unflushed rows, so keep them for the batches on commit.
+                entityManager.setFlushMode(FlushModeType.COMMIT);
+                try {
+                    Map<Long, Applicant> existing = findExistingApplicants(requests, chunk);
+                    List<ApplyResponse> chunkResponses = new ArrayList<>(chunk.size());
+                    for (int index : chunk) {
+                        ApplyRequest request = requests.get(index);
+                        List<Applicant> applicants = isNewApplicants(request)
+                                ? newApplicants.get(index)
+                                : request.getApplicantIds().stream().map(existing::get).collect(Collectors.toList());
+                        chunkResponses.add(applicationService.applyValidated(request.getApplicationType(), applicants));
+                    }
+                    entityManager.flush();
+                    return chunkResponses;
+                } finally {
+                    entityManager.setFlushMode(flushMode);
+                }
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                results[index] = created(index, responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Chunk of {} applications failed, applying them one by one: {}", chunk.size(), e.getMessage());
+            for (int index : chunk) {
+                results[index] = applySingle(requests.get(index), index);
+            }
+        }
+    }
+
+    /**
+     * Load the existing applicants of every request of a chunk with one query.
+     */
+    private Map<Long, Applicant> findExistingApplicants(List<ApplyRequest> requests, List<Integer> chunk) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int index : chunk) {
+            ApplyRequest request = requests.get(index);
+            if (!isNewApplicants(request))
+                ids.addAll(request.getApplicantIds());
+        }
+        if (ids.isEmpty())
+            return Collections.emptyMap();
+        return applicantService.getApplicantsById(ids).stream()
+                .collect(Collectors.toMap(Applicant::getId, Function.identity()));
+    }
+
+    private BatchApplyResult applySingle(ApplyRequest request, int index) {
+        try {
+            return created(index, applicationService.apply(request));
+        } catch (ConflictException e) {
+            return failure(index, BatchApplyStatus.CONFLICT, e.getMessage());
+        } catch (NotFoundException e) {
+            return failure(index, BatchApplyStatus.NOT_FOUND, e.getMessage());
+        } catch (BadRequestException e) {
+            return failure(index, BatchApplyStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Application {} of batch failed.", index, e);
+            return failure(index, BatchApplyStatus.FAILED, "Application could not be processed.");
+        }
+    }
+
+    private String violations(ApplyRequest request) {
+        if (request == null)
+            return "Apply request is null.";
+        Set<ConstraintViolation<ApplyRequest>> violations = validator.validate(request);
+        if (violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> String.format("%s %s", violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static boolean isNewApplicants(ApplyRequest request) {
+        return request.getNoApplicants() == null || !request.getNoApplicants();
+    }
+
+    private static BatchApplyResult created(int index, ApplyResponse response) {
+        return BatchApplyResult.builder()
+                .index(index)
+                .status(BatchApplyStatus.CREATED)
+                .response(response)
+                .build();
+    }
+
+    private static BatchApplyResult failure(int index, BatchApplyStatus status, String message) {
+        return BatchApplyResult.builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.exception.BadRequestException;
+import com.aline.core.exception.ConflictException;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.underwritermicroservice.dto.response.BulkDeleteResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bulk Delete Service
+ * <p>
+ *     Deletes many {@link Applicant} or {@link Application} entities by ID without loading them.
+ *     The IDs are deleted in chunks of <code>underwriter.delete.chunk-size</code>, each chunk in its
+ *     own transaction, so a large delete never holds its locks for long. A chunk that was deleted
+ *     stays deleted even if a later chunk fails.
+ * </p>
+ * <p>
+ *     Applicants that belong to an application or a member cannot be deleted. All chunks are
+ *     checked before the first one is deleted, so such a request deletes nothing.
+ * </p>
+ */
+@Service
+@Slf4j(topic = "Bulk Delete Service")
+public class BulkDeleteService {
+
+    private final ApplicantService applicantService;
+    private final ApplicationService applicationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxIds;
+    private final int chunkSize;
+
+    public BulkDeleteService(ApplicantService applicantService,
+                             ApplicationService applicationService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${underwriter.delete.max-ids:10000}") int maxIds,
+                             @Value("${underwriter.delete.chunk-size:500}") int chunkSize) {
+        this.applicantService = applicantService;
+        this.applicationService = applicationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Delete applicants by ID.
+     * @param ids IDs of the applicants.
+     * @return BulkDeleteResponse listing the IDs that were not found.
+     * @throws BadRequestException If there are no IDs, a null ID or more than
+     * <code>underwriter.delete.max-ids</code> IDs.
+     * @throws ConflictException If an application or a member refers to any of the applicants.
+     */
+    public BulkDeleteResponse deleteApplicants(List<Long> ids) {
+        return delete(ids, applicantService::validateNotReferenced, applicantService::deleteApplicants);
+    }
+
+    /**
+     * Delete applications by ID.
+     * @param ids IDs of the applications.
+     * @return BulkDeleteResponse listing the IDs that were not found.
+     * @throws BadRequestException If there are no IDs, a null ID or more than
+     * <code>underwriter.delete.max-ids</code> IDs.
+     */
+    public BulkDeleteResponse deleteApplications(List<Long> ids) {
+        return delete(ids, chunk -> { }, applicationService::deleteApplications);
+    }
+
+    private BulkDeleteResponse delete(List<Long> ids, Consumer<Collection<Long>> validateChunk,
+                                      Function<Collection<Long>, Set<Long>> deleteChunk) {
+        if (ids == null || ids.isEmpty())
+            throw new BadRequestException("At least one ID is required.");
+        if (ids.contains(null))
+            throw new BadRequestException("IDs cannot be null.");
+
+        List<Long> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (unique.size() > maxIds)
+            throw new BadRequestException(String.format("Cannot delete more than %d IDs at once.", maxIds));
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < unique.size(); from += chunkSize)
+            chunks.add(unique.subList(from, Math.min(from + chunkSize, unique.size())));
+        for (List<Long> chunk : chunks)
+            transactionTemplate.executeWithoutResult(status -> validateChunk.accept(chunk));
+
+        int deleted = 0;
+        List<Long> notFound = new ArrayList<>();
+        for (List<Long> chunk : chunks) {
+            Set<Long> chunkDeleted = transactionTemplate.execute(status -> deleteChunk.apply(chunk));
+            deleted += chunkDeleted.size();
+            for (Long id : chunk) {
+                if (!chunkDeleted.contains(id))
+                    notFound.add(id);
+            }
+        }
+        log.info("Deleted {} of {} requested IDs.", deleted, unique.size());
+
+        return BulkDeleteResponse.builder()
+                .requested(unique.size())
+                .deleted(deleted)
+                .notFound(notFound)
+                .build();
+    }
+
+}
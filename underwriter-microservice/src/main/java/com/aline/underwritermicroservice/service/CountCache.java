@@ -0,0 +1,142 @@
+package com.aline.underwritermicroservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Count Cache
+ * <p>
+ *     Short lived cache of the total amount of entities matching a search.
+ *     Saves the count query of paginated searches that are repeated within
+ *     <code>underwriter.count-cache.ttl</code>, for example while paging through results.
+ * </p>
+ * <p>
+ *     Search terms are normalized (case, whitespace, order and duplicates of the terms)
+ *     so equivalent searches share a count. Every count of an entity is invalidated when
+ *     the entity is written through this instance. Writes from anywhere else are seen once
+ *     the count expires. A TTL of 0 disables the cache.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Count Cache")
+public class CountCache {
+
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CountCache(MeterRegistry registry,
+                      @Value("${underwriter.count-cache.ttl:5s}") Duration ttl,
+                      @Value("${underwriter.count-cache.max-size:1000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("search.count.cache")
+                .description("Search counts served from the cache or queried.")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("search.count.cache")
+                .description("Search counts served from the cache or queried.")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * Get the count of a search from the cache or query it.
+     * @param type Entity class.
+     * @param search Search term.
+     * @param counter Count query run on a miss.
+     * @return The count.
+     */
+    public long count(Class<?> type, String search, LongSupplier counter) {
+        if (ttlNanos <= 0)
+            return counter.getAsLong();
+
+        Key key = new Key(type, normalize(search));
+        long now = System.nanoTime();
+        Entry entry = counts.get(key);
+        if (entry != null && now - entry.createdAt < ttlNanos) {
+            hits.increment();
+            return entry.count;
+        }
+
+        misses.increment();
+        long count = counter.getAsLong();
+        if (counts.size() >= maxSize)
+            evict(now);
+        counts.put(key, new Entry(count, now));
+        return count;
+    }
+
+    /**
+     * Invalidate every count of an entity.
+     * <p>
+     *     Happens after the current transaction commits, or immediately if there is no transaction,
+     *     so that a count cached while the transaction runs cannot outlive the write.
+     * </p>
+     * @param type Entity class that was written.
+     */
+    public void invalidate(Class<?> type) {
+        if (ttlNanos <= 0)
+            return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counts.keySet().removeIf(key -> key.type == type);
+                }
+            });
+        } else {
+            counts.keySet().removeIf(key -> key.type == type);
+        }
+    }
+
+    private void evict(long now) {
+        counts.values().removeIf(entry -> now - entry.createdAt >= ttlNanos);
+        if (counts.size() >= maxSize) {
+            log.debug("Count cache is full. Clearing {} counts.", counts.size());
+            counts.clear();
+        }
+    }
+
+    static String normalize(String search) {
+        if (search == null)
+            return "";
+        return Arrays.stream(search.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final Class<?> type;
+        private final String search;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final long count;
+        private final long createdAt;
+    }
+
+}
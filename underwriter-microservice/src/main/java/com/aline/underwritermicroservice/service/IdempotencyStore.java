@@ -0,0 +1,161 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.exception.BadRequestException;
+import com.aline.core.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Store
+ * <p>
+ *     Runs a request at most once per idempotency key. The result of the first request is stored,
+ *     and repeated requests with the same key get the stored result without running again.
+ *     Duplicates that arrive while the first request is still running wait for its result.
+ * </p>
+ * <p>
+ *     A key belongs to the request it was first used with. Reusing it with a different request is a
+ *     conflict. If the first request fails, the key is released so the request can be retried.
+ *     At most <code>underwriter.idempotency.maximum-size</code> keys are stored, each for
+ *     <code>underwriter.idempotency.ttl</code>. Keys are only known to this instance.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Idempotency Store")
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${underwriter.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${underwriter.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${underwriter.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Run a request once per key.
+     * @param key Idempotency key sent by the client.
+     * @param request The request. Its JSON identifies the request the key belongs to.
+     * @param action Runs the request.
+     * @param <T> Type of the result.
+     * @return The result and whether it was replayed.
+     * @throws BadRequestException If the key is blank or longer than 255 characters.
+     * @throws ConflictException If the key was used for a different request or the first request takes
+     * longer than <code>underwriter.idempotency.wait-timeout</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Execution<T> execute(String key, Object request, Supplier<T> action) {
+        if (key.trim().isEmpty() || key.length() > MAX_KEY_LENGTH)
+            throw new BadRequestException(String.format("%s must contain 1 to %d characters.", HEADER, MAX_KEY_LENGTH));
+
+        Entry entry = new Entry(fingerprint(request));
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+
+        if (existing != null) {
+            if (!Arrays.equals(existing.fingerprint, entry.fingerprint))
+                throw new ConflictException(String.format("%s was already used for a different request.", HEADER));
+            log.info("Replaying request with idempotency key {}.", key);
+            return new Execution<>((T) await(existing), true);
+        }
+
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return new Execution<>(result, false);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException(String.format("A request with the same %s is still in progress.", HEADER));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the result of an idempotent request.", e);
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request could not be fingerprinted.", e);
+        }
+    }
+
+    /**
+     * Result of an idempotent request.
+     * @param <T> Type of the result.
+     */
+    public static final class Execution<T> {
+
+        private final T result;
+        private final boolean replayed;
+
+        private Execution(T result, boolean replayed) {
+            this.result = result;
+            this.replayed = replayed;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        /**
+         * @return Whether the result was stored by an earlier request with the same key.
+         */
+        public boolean isReplayed() {
+            return replayed;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+}
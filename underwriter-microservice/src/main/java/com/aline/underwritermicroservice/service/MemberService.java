@@ -9,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,22 +33,22 @@ public class MemberService {
     }
 
     /**
-     * Create a member from an applicant.
-     * @param applicant Applicant to attach to the member.
-     * @return Saved member.
+     * Create a member for every applicant.
+     * <p>
+     *     Member IDs are identity columns owned by the core schema, so every member is inserted
+     *     as it is persisted. Its accounts are attached afterwards and their join rows are sent
+     *     as a JDBC batch when the transaction is flushed, instead of saving the members again.
+     * </p>
+     * @param applicants Applicants to attach to the members.
+     * @return Saved members in the iteration order of the applicants.
      */
-    public Member createMember(Applicant applicant) {
-        Member member = new Member();
-        member.setApplicant(applicant);
-        return repository.save(member);
-    }
-
-    /**
-     * Batch call to saving members
-     * @param members Members to be saved.
-     * @return A list of saved members.
-     */
-    public List<Member> saveAll(Iterable<Member> members) {
+    public List<Member> createMembers(Collection<Applicant> applicants) {
+        List<Member> members = new ArrayList<>(applicants.size());
+        for (Applicant applicant : applicants) {
+            Member member = new Member();
+            member.setApplicant(applicant);
+            members.add(member);
+        }
         return repository.saveAll(members);
     }
 
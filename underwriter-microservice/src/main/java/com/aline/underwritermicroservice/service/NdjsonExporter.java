@@ -0,0 +1,146 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.underwritermicroservice.repository.SpecificationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON Exporter
+ * <p>
+ *     Writes every entity matching a specification as newline-delimited JSON.
+ *     Entities are read with a forward-only cursor of <code>underwriter.export.fetch-size</code>
+ *     rows in a read-only transaction. Each entity is mapped, written and detached, and the
+ *     persistence context is cleared after every fetch so heap usage does not grow with the
+ *     size of the table.
+ * </p>
+ * <p>
+ *     The cursor only streams on MySQL if the connection URL sets <code>useCursorFetch=true</code>,
+ *     for example <code>jdbc:mysql://host:3306/aline?useCursorFetch=true</code>. Without it Connector/J
+ *     reads the whole result before the first row is written. Entities with collections are exported
+ *     with {@link #exportChunks(Class, Specification, Function, OutputStream)} instead, which holds no
+ *     cursor open and loads each chunk with its collections in one query.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "NDJSON Exporter")
+public class NdjsonExporter {
+
+    private static final int NEW_LINE = '\n';
+
+    private final SpecificationRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+
+    public NdjsonExporter(SpecificationRepository repository,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper,
+                          @Value("${underwriter.export.fetch-size:500}") int fetchSize) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Export entities sorted by ID.
+     * @param type Entity class.
+     * @param spec Specification the entities must match.
+     * @param mapper Maps each entity to the written DTO.
+     * @param out Stream the lines are written to. It is flushed but not closed.
+     * @param <T> Entity type.
+     * @return Amount of exported entities.
+     */
+    public <T> long export(Class<T> type, Specification<T> spec, Function<T, ?> mapper, OutputStream out) {
+        Long exported = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<T> entities = repository.stream(type, spec, Sort.by("id"), fetchSize)) {
+                Iterator<T> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    T entity = iterator.next();
+                    writer.writeValue(out, mapper.apply(entity));
+                    out.write(NEW_LINE);
+                    entityManager.detach(entity);
+                    if (++count % fetchSize == 0) {
+                        entityManager.clear();
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        log.info("Exported {} {} entities.", exported, type.getSimpleName());
+        return exported == null ? 0 : exported;
+    }
+
+    /**
+     * Export entities sorted by ID in chunks of <code>underwriter.export.fetch-size</code> IDs.
+     * <p>
+     *     Every chunk is one range query for the IDs and one call of the loader, so collections are
+     *     not loaded lazily per entity and no query has to run while a cursor is streaming.
+     * </p>
+     * @param type Entity class. Its ID must be a <code>Long</code> named <code>id</code>.
+     * @param spec Specification the entities must match.
+     * @param loader Loads the written DTOs of a chunk of IDs in the order of the IDs.
+     * @param out Stream the lines are written to. It is flushed but not closed.
+     * @param <T> Entity type.
+     * @return Amount of exported entities.
+     */
+    public <T> long exportChunks(Class<T> type, Specification<T> spec, Function<List<Long>, List<?>> loader,
+                                 OutputStream out) {
+        Long exported = transactionTemplate.execute(status -> {
+            long count = 0;
+            long lastId = 0;
+            try {
+                List<Long> ids;
+                do {
+                    ids = repository.findIdsAfter(type, spec, lastId, fetchSize);
+                    if (ids.isEmpty())
+                        break;
+                    for (Object dto : loader.apply(ids)) {
+                        writer.writeValue(out, dto);
+                        out.write(NEW_LINE);
+                        count++;
+                    }
+                    lastId = ids.get(ids.size() - 1);
+                    entityManager.clear();
+                    out.flush();
+                } while (ids.size() == fetchSize);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        log.info("Exported {} {} entities.", exported, type.getSimpleName());
+        return exported == null ? 0 : exported;
+    }
+
+}
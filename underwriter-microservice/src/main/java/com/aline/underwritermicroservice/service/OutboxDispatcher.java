@@ -0,0 +1,259 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.underwritermicroservice.model.OutboxEvent;
+import com.aline.underwritermicroservice.repository.OutboxEventRepository;
+import com.aline.underwritermicroservice.service.function.ApplyResponseConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Outbox Dispatcher
+ * <p>
+ *     Drains the {@link OutboxEvent} table in the background. Every
+ *     <code>underwriter.outbox.poll-interval</code> milliseconds the due events are claimed in batches of
+ *     <code>underwriter.outbox.batch-size</code>: a short transaction locks them and moves their next attempt
+ *     <code>underwriter.outbox.lease</code> ahead, so no other dispatcher picks them up while they are
+ *     delivered. The events are then handed to every {@link ApplyResponseConsumer} bean outside of any
+ *     transaction and deleted once all consumers accepted them. An event whose dispatcher stopped before it
+ *     was done is due again when the lease ends, so the lease must be longer than a batch takes to deliver.
+ * </p>
+ * <p>
+ *     Every event records the consumers that accepted it and is only handed to the others when it is retried.
+ *     Delivery is still at least once: consumers must tolerate seeing the same response again.
+ *     Events are recorded whether or not there is a consumer bean. Without one they are deleted as
+ *     delivered, so consumers can be added without changing how applications are applied.
+ * </p>
+ * <p>
+ *     The events of an application are delivered one at a time in the order they were recorded.
+ *     A failed event is retried with exponential backoff starting at <code>underwriter.outbox.initial-backoff</code>
+ *     up to <code>underwriter.outbox.max-backoff</code> and holds back the later events of its application.
+ *     After <code>underwriter.outbox.max-attempts</code> it is kept with <code>deadAt</code> set and no longer
+ *     holds anything back.
+ * </p>
+ * <p>
+ *     Polling is disabled with <code>underwriter.outbox.dispatcher.enabled=false</code>.
+ *     {@link #dispatch()} can still be called directly.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Outbox Dispatcher")
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository repository;
+    private final ApplyResponseOutbox outbox;
+    private final ListableBeanFactory beanFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Timer lag;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final AtomicReference<Instant> oldestCreatedAt = new AtomicReference<>();
+
+    public OutboxDispatcher(OutboxEventRepository repository,
+                            ApplyResponseOutbox outbox,
+                            ListableBeanFactory beanFactory,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry registry,
+                            @Value("${underwriter.outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${underwriter.outbox.batch-size:100}") int batchSize,
+                            @Value("${underwriter.outbox.lease:5m}") Duration lease,
+                            @Value("${underwriter.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${underwriter.outbox.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${underwriter.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.repository = repository;
+        this.outbox = outbox;
+        this.beanFactory = beanFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.lag = Timer.builder("underwriter.outbox.lag")
+                .description("Time from recording an outbox event until it was delivered.")
+                .register(registry);
+        this.delivered = events(registry, "delivered");
+        this.retried = events(registry, "retried");
+        this.dead = events(registry, "dead");
+        TimeGauge.builder("underwriter.outbox.oldest.age", oldestCreatedAt, TimeUnit.MILLISECONDS, oldest -> {
+            Instant createdAt = oldest.get();
+            return createdAt == null ? 0 : Duration.between(createdAt, Instant.now()).toMillis();
+        })
+                .description("Age of the oldest undelivered outbox event as of the last poll.")
+                .register(registry);
+    }
+
+    private static Counter events(MeterRegistry registry, String result) {
+        return Counter.builder("underwriter.outbox.events")
+                .description("Outbox events that were delivered, will be retried or ran out of attempts.")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Dispatch until no event is due.
+     */
+    @Scheduled(fixedDelayString = "${underwriter.outbox.poll-interval:1000}")
+    public void poll() {
+        if (!enabled)
+            return;
+        try {
+            while (dispatch() > 0) {
+                // Later events of the delivered applications might be due now.
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox events could not be dispatched.", e);
+        }
+    }
+
+    /**
+     * Claim one batch of due events, deliver them and record the outcome.
+     * <p>
+     *     At most one event per application is due at a time.
+     * </p>
+     * @return Amount of events that were delivered or failed.
+     */
+    public int dispatch() {
+        Map<String, ApplyResponseConsumer> consumers = consumers();
+        List<OutboxEvent> events = claim();
+        List<OutboxEvent> deliveredEvents = new ArrayList<>(events.size());
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (deliver(event, consumers))
+                deliveredEvents.add(event);
+            else
+                failedEvents.add(event);
+        }
+
+        if (!events.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!deliveredEvents.isEmpty())
+                    repository.deleteInBatch(deliveredEvents);
+                if (!failedEvents.isEmpty())
+                    repository.saveAll(failedEvents);
+            });
+        }
+        oldestCreatedAt.set(repository.findOldestCreatedAt());
+        return events.size();
+    }
+
+    /**
+     * Lock the due events and lease them to this dispatcher.
+     * @return The claimed events, detached once the claim committed.
+     */
+    private List<OutboxEvent> claim() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> due = repository.findDue(now, PageRequest.of(0, batchSize));
+            Instant leasedUntil = now.plus(lease);
+            due.forEach(event -> event.setNextAttemptAt(leasedUntil));
+            return due;
+        });
+        return events == null ? new ArrayList<>() : events;
+    }
+
+    /**
+     * Hand an event to the consumers that have not accepted it yet.
+     * @return Whether every consumer accepted the event.
+     */
+    private boolean deliver(OutboxEvent event, Map<String, ApplyResponseConsumer> consumers) {
+        ApplyResponse response;
+        try {
+            response = outbox.read(event);
+        } catch (RuntimeException e) {
+            failed(event, e);
+            return false;
+        }
+
+        Set<String> deliveredTo = deliveredTo(event);
+        RuntimeException failure = null;
+        for (Map.Entry<String, ApplyResponseConsumer> consumer : consumers.entrySet()) {
+            if (deliveredTo.contains(consumer.getKey()))
+                continue;
+            try {
+                consumer.getValue().onRespond(response);
+                deliveredTo.add(consumer.getKey());
+            } catch (RuntimeException e) {
+                if (failure == null)
+                    failure = e;
+            }
+        }
+        event.setDeliveredTo(String.join(",", deliveredTo));
+
+        if (failure != null) {
+            failed(event, failure);
+            return false;
+        }
+        lag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        delivered.increment();
+        return true;
+    }
+
+    private Map<String, ApplyResponseConsumer> consumers() {
+        return beanFactory.getBeansOfType(ApplyResponseConsumer.class);
+    }
+
+    private static Set<String> deliveredTo(OutboxEvent event) {
+        Set<String> deliveredTo = new LinkedHashSet<>();
+        if (event.getDeliveredTo() != null && !event.getDeliveredTo().isEmpty())
+            deliveredTo.addAll(Arrays.asList(event.getDeliveredTo().split(",")));
+        return deliveredTo;
+    }
+
+    private void failed(OutboxEvent event, RuntimeException e) {
+        Instant now = Instant.now();
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String error = e.toString();
+        event.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            event.setDeadAt(now);
+            dead.increment();
+            log.error("Outbox event {} of application {} failed {} times and will not be retried.",
+                    event.getId(), event.getApplicationId(), attempts, e);
+        } else {
+            Duration backoff = backoff(attempts);
+            event.setNextAttemptAt(now.plus(backoff));
+            retried.increment();
+            log.warn("Outbox event {} of application {} failed, retrying in {}: {}",
+                    event.getId(), event.getApplicationId(), backoff, e.toString());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(millis, maxBackoff.toMillis()));
+    }
+
+}
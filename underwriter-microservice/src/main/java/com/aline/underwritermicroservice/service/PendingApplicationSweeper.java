@@ -0,0 +1,114 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.ApplicationStatus;
+import com.aline.underwritermicroservice.repository.ApplicationCustomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pending Application Sweeper
+ * <p>
+ *     Queues asynchronous applications for underwriting again when nobody is underwriting them,
+ *     for example because the instance that accepted them stopped before it got to them or its
+ *     underwriting failed.
+ * </p>
+ * <p>
+ *     Applications do not record when they were created, so an application counts as stale once it
+ *     was pending in two consecutive sweeps, <code>underwriter.async.sweep.interval</code> apart, and
+ *     this instance is not underwriting it. Every pending application is stale in the sweep at startup.
+ *     Each sweep looks at no more than <code>underwriter.async.sweep.batch-size</code> applications.
+ *     Underwriting locks the application, so an application another instance is still underwriting
+ *     is not underwritten twice.
+ * </p>
+ */
+@Component
+@Slf4j(topic = "Pending Application Sweeper")
+public class PendingApplicationSweeper {
+
+    private final ApplicationService applicationService;
+    private final ApplicationCustomRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter requeued;
+
+    private Set<Long> previouslyPending = Collections.emptySet();
+
+    public PendingApplicationSweeper(ApplicationService applicationService,
+                                     ApplicationCustomRepository repository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry registry,
+                                     @Value("${underwriter.async.sweep.enabled:true}") boolean enabled,
+                                     @Value("${underwriter.async.sweep.batch-size:100}") int batchSize) {
+        this.applicationService = applicationService;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.requeued = Counter.builder("underwriter.async.requeued")
+                .description("Pending applications that were queued for underwriting again.")
+                .register(registry);
+    }
+
+    /**
+     * Queue every pending application left over from before this instance started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        if (!enabled)
+            return;
+        sweep(true);
+    }
+
+    /**
+     * Queue the applications that are still pending since the last sweep.
+     */
+    @Scheduled(fixedDelayString = "${underwriter.async.sweep.interval:60000}",
+            initialDelayString = "${underwriter.async.sweep.interval:60000}")
+    public void sweepStale() {
+        if (!enabled)
+            return;
+        sweep(false);
+    }
+
+    /**
+     * @param all Whether every pending application is stale.
+     * @return Amount of queued applications.
+     */
+    synchronized int sweep(boolean all) {
+        try {
+            List<Long> pending = transactionTemplate.execute(status ->
+                    repository.findIdsByStatus(ApplicationStatus.PENDING, batchSize));
+            int queued = 0;
+            for (Long id : pending) {
+                if ((all || previouslyPending.contains(id)) && !applicationService.isUnderwriting(id)
+                        && applicationService.requeue(id))
+                    queued++;
+            }
+            previouslyPending = new HashSet<>(pending);
+            if (queued > 0) {
+                requeued.increment(queued);
+                log.warn("Queued {} pending applications for underwriting again.", queued);
+            }
+            return queued;
+        } catch (RuntimeException e) {
+            log.error("Pending applications could not be swept.", e);
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.underwritermicroservice.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Response Cache Evictor
+ * <p>
+ *     Evicts cached applicant and application responses of this instance that a write makes stale.
+ *     Eviction happens after the current transaction commits (or immediately if there
+ *     is no transaction) so a lookup running during the transaction cannot cache the
+ *     old value again. Does nothing when caching is disabled.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheEvictor {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    /**
+     * Evict an applicant and the applications that contain it.
+     * @param id ID of the applicant.
+     * @param applicationIds IDs of the applications of the applicant.
+     */
+    public void evictApplicant(long id, Collection<Long> applicationIds) {
+        evictApplicants(Collections.singletonList(id), applicationIds);
+    }
+
+    /**
+     * Evict applicants and the applications that contain them.
+     * @param ids IDs of the applicants.
+     * @param applicationIds IDs of the applications of the applicants.
+     */
+    public void evictApplicants(Collection<Long> ids, Collection<Long> applicationIds) {
+        List<Long> applicants = new ArrayList<>(ids);
+        List<Long> applications = new ArrayList<>(applicationIds);
+        afterCommit(() -> {
+            applicants.forEach(applicantId -> evict(CacheConfig.APPLICANTS, applicantId));
+            applications.forEach(applicationId -> evict(CacheConfig.APPLICATIONS, applicationId));
+        });
+    }
+
+    /**
+     * Evict an application.
+     * @param id ID of the application.
+     */
+    public void evictApplication(long id) {
+        evictApplications(Collections.singletonList(id));
+    }
+
+    /**
+     * Evict applications.
+     * @param ids IDs of the applications.
+     */
+    public void evictApplications(Collection<Long> ids) {
+        List<Long> applications = new ArrayList<>(ids);
+        afterCommit(() -> applications.forEach(applicationId -> evict(CacheConfig.APPLICATIONS, applicationId)));
+    }
+
+    private void evict(String cacheName, long id) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager == null)
+            return;
+        Cache cache = manager.getCache(cacheName);
+        if (cache != null)
+            cache.evict(id);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+}
@@ -3,6 +3,8 @@ package com.aline.underwritermicroservice.service;
 import com.aline.core.model.Application;
 import com.aline.core.model.ApplicationStatus;
 import com.aline.underwritermicroservice.service.function.UnderwriterConsumer;
+import com.aline.underwritermicroservice.service.underwriting.UnderwritingRuleSet;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -10,13 +12,17 @@ import org.springframework.stereotype.Service;
  * <p>Used to approve or deny applications automatically.</p>
  */
 @Service
+@RequiredArgsConstructor
 public class UnderwriterService {
 
+    private final UnderwritingRuleSet ruleSet;
+
     /**
      * This method is used to underwrite an application.
-     * The logic is not variable but the result can be used
-     * within one of the functions in any way that is fit.
-     * When the application is approved, the {@link UnderwriterConsumer}
+     * The application is approved if it meets every rule of the
+     * {@link UnderwritingRuleSet}. Otherwise it is denied with the
+     * reason of the first rule it does not meet.
+     * When the application is underwritten, the {@link UnderwriterConsumer}
      * will provide an ApplicationStatus object as a parameter in
      * the function that can be used to either apply to the application
      * or for other logic.
@@ -24,10 +30,11 @@ public class UnderwriterService {
      * @param underwriterConsumer Function for approving or denying an application.
      */
     public void underwriteApplication(Application application, UnderwriterConsumer underwriterConsumer) {
-        if (application.getPrimaryApplicant().getIncome() >= 1500000) { // Income must be over or equal to $15,000.00 annually.
+        String reason = ruleSet.evaluate(application);
+        if (reason == null) {
             underwriterConsumer.respond(ApplicationStatus.APPROVED, "Application was approved.");
         } else {
-            underwriterConsumer.respond(ApplicationStatus.DENIED, "Income is not sufficient for approval.");
+            underwriterConsumer.respond(ApplicationStatus.DENIED, reason);
         }
     }
 
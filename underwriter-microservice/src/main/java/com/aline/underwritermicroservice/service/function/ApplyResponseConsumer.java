@@ -2,6 +2,14 @@ package com.aline.underwritermicroservice.service.function;
 
 import com.aline.core.dto.response.ApplyResponse;
 
+/**
+ * Receives the response of every underwritten application.
+ * <p>
+ *     Register implementations as beans. They are called by the
+ *     {@link com.aline.underwritermicroservice.service.OutboxDispatcher} after the
+ *     application committed, in order per application and at least once.
+ * </p>
+ */
 @FunctionalInterface
 public interface ApplyResponseConsumer {
 
@@ -0,0 +1,32 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+
+/**
+ * Applicant Rule
+ * <p>
+ *     An {@link UnderwritingRule} that every applicant of the application must meet.
+ * </p>
+ */
+public abstract class ApplicantRule implements UnderwritingRule {
+
+    @Override
+    public boolean test(Application application) {
+        Applicant primaryApplicant = application.getPrimaryApplicant();
+        for (Applicant applicant : application.getApplicants()) {
+            if (!test(applicant, applicant == primaryApplicant))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test a single applicant.
+     * @param applicant The applicant.
+     * @param primary Whether the applicant is the primary applicant of the application.
+     * @return True if the applicant meets this rule.
+     */
+    protected abstract boolean test(Applicant applicant, boolean primary);
+
+}
@@ -0,0 +1,34 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationType;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Application Type Rule
+ * <p>
+ *     Only applications of the offered types can be approved.
+ * </p>
+ */
+public class ApplicationTypeRule implements UnderwritingRule {
+
+    @Getter
+    private final String reason = "Application type is not offered.";
+
+    private final EnumSet<ApplicationType> offeredTypes;
+
+    public ApplicationTypeRule(Collection<ApplicationType> offeredTypes) {
+        this.offeredTypes = offeredTypes.isEmpty()
+                ? EnumSet.noneOf(ApplicationType.class)
+                : EnumSet.copyOf(offeredTypes);
+    }
+
+    @Override
+    public boolean test(Application application) {
+        return offeredTypes.contains(application.getApplicationType());
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Applicant;
+import lombok.Getter;
+
+/**
+ * Co-Applicant Income Rule
+ * <p>
+ *     The annual income in cents of every applicant other than the
+ *     primary applicant must be at least the minimum income.
+ * </p>
+ */
+public class CoApplicantIncomeRule extends ApplicantRule {
+
+    @Getter
+    private final String reason = "Co-applicant income is not sufficient for approval.";
+
+    private final int minimumIncome;
+
+    public CoApplicantIncomeRule(int minimumIncome) {
+        this.minimumIncome = minimumIncome;
+    }
+
+    @Override
+    protected boolean test(Applicant applicant, boolean primary) {
+        if (primary)
+            return true;
+        Integer income = applicant.getIncome();
+        return income != null && income >= minimumIncome;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Applicant;
+import lombok.Getter;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Minimum Age Rule
+ * <p>
+ *     Every applicant must be at least the minimum age.
+ * </p>
+ * <p>
+ *     The latest allowed date of birth only changes once a day, so it is
+ *     computed on the first evaluation of a day (UTC) and reused after that.
+ * </p>
+ */
+public class MinimumAgeRule extends ApplicantRule {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    @Getter
+    private final String reason;
+
+    private final int minimumAge;
+    private final Clock clock;
+
+    private volatile Cutoff cutoff = new Cutoff(Long.MIN_VALUE, LocalDate.MIN);
+
+    public MinimumAgeRule(int minimumAge, Clock clock) {
+        this.minimumAge = minimumAge;
+        this.clock = clock;
+        this.reason = String.format("All applicants must be at least %d years old.", minimumAge);
+    }
+
+    @Override
+    protected boolean test(Applicant applicant, boolean primary) {
+        LocalDate dateOfBirth = applicant.getDateOfBirth();
+        return dateOfBirth != null && !dateOfBirth.isAfter(latestDateOfBirth());
+    }
+
+    private LocalDate latestDateOfBirth() {
+        long epochDay = Math.floorDiv(clock.millis(), MILLIS_PER_DAY);
+        Cutoff current = cutoff;
+        if (current.epochDay != epochDay) {
+            current = new Cutoff(epochDay, LocalDate.ofEpochDay(epochDay).minusYears(minimumAge));
+            cutoff = current;
+        }
+        return current.latestDateOfBirth;
+    }
+
+    private static final class Cutoff {
+        private final long epochDay;
+        private final LocalDate latestDateOfBirth;
+
+        private Cutoff(long epochDay, LocalDate latestDateOfBirth) {
+            this.epochDay = epochDay;
+            this.latestDateOfBirth = latestDateOfBirth;
+        }
+    }
+
+}
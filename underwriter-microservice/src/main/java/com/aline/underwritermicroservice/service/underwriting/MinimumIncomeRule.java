@@ -0,0 +1,29 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Application;
+import lombok.Getter;
+
+/**
+ * Minimum Income Rule
+ * <p>
+ *     The primary applicant's annual income in cents must be at least the minimum income.
+ * </p>
+ */
+public class MinimumIncomeRule implements UnderwritingRule {
+
+    @Getter
+    private final String reason = "Income is not sufficient for approval.";
+
+    private final int minimumIncome;
+
+    public MinimumIncomeRule(int minimumIncome) {
+        this.minimumIncome = minimumIncome;
+    }
+
+    @Override
+    public boolean test(Application application) {
+        Integer income = application.getPrimaryApplicant().getIncome();
+        return income != null && income >= minimumIncome;
+    }
+
+}
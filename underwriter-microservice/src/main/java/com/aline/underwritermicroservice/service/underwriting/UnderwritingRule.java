@@ -0,0 +1,41 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationType;
+
+/**
+ * Underwriting Rule
+ * <p>
+ *     A single condition an {@link Application} must meet to be approved.
+ *     Rules are compiled into an {@link UnderwritingRuleSet} and evaluated for every
+ *     application, so implementations should not allocate while testing.
+ * </p>
+ * <p>
+ *     Rules registered as beans are evaluated after the built-in rules in their
+ *     {@link org.springframework.core.annotation.Order}.
+ * </p>
+ */
+public interface UnderwritingRule {
+
+    /**
+     * Whether the rule is evaluated for applications of this type.
+     * @param applicationType The type of the application.
+     * @return True by default.
+     */
+    default boolean appliesTo(ApplicationType applicationType) {
+        return true;
+    }
+
+    /**
+     * Test the application.
+     * @param application The application being underwritten.
+     * @return True if the application meets this rule.
+     */
+    boolean test(Application application);
+
+    /**
+     * @return The reason given when an application does not meet this rule.
+     */
+    String getReason();
+
+}
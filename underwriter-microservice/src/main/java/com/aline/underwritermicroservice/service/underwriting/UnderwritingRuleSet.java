@@ -0,0 +1,60 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Underwriting Rule Set
+ * <p>
+ *     An ordered list of {@link UnderwritingRule}s compiled once into an array per
+ *     {@link ApplicationType} that holds only the rules applying to that type.
+ *     Evaluating an application walks a single array and does not allocate.
+ * </p>
+ */
+public class UnderwritingRuleSet {
+
+    private final EnumMap<ApplicationType, UnderwritingRule[]> compiled = new EnumMap<>(ApplicationType.class);
+    private final UnderwritingRule[] allRules;
+    private final List<UnderwritingRule> rules;
+
+    public UnderwritingRuleSet(List<UnderwritingRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.allRules = this.rules.toArray(new UnderwritingRule[0]);
+        for (ApplicationType type : ApplicationType.values()) {
+            compiled.put(type, this.rules.stream()
+                    .filter(rule -> rule.appliesTo(type))
+                    .toArray(UnderwritingRule[]::new));
+        }
+    }
+
+    /**
+     * Evaluate the rules in order.
+     * @param application The application being underwritten.
+     * @return The reason of the first rule the application does not meet,
+     * or <code>null</code> if it meets every rule. Applications without a type
+     * are evaluated against every rule.
+     */
+    public String evaluate(Application application) {
+        UnderwritingRule[] applicable = application.getApplicationType() == null
+                ? allRules
+                : compiled.get(application.getApplicationType());
+        for (UnderwritingRule rule : applicable) {
+            if (!rule.test(application))
+                return rule.getReason();
+        }
+        return null;
+    }
+
+    /**
+     * @return The rules in evaluation order.
+     */
+    public List<UnderwritingRule> getRules() {
+        return rules;
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.aline.underwritermicroservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom Filter
+ * <p>
+ *     Probabilistic set of strings that supports removal. Every slot is a 4-bit
+ *     counter (16 counters per <code>long</code>) instead of a single bit.
+ * </p>
+ * <ul>
+ *     <li><code>mightContain</code> returning false means the value was definitely never added (or was removed).</li>
+ *     <li><code>mightContain</code> returning true means the value was probably added.</li>
+ * </ul>
+ * <p>
+ *     Counters saturate at 15 and are never decremented afterwards, so removing a value
+ *     can never produce a false negative. The filter is thread-safe and lock-free.
+ * </p>
+ */
+public class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = 0xFL;
+
+    private final AtomicLongArray words;
+    private final int slots;
+    private final int hashFunctions;
+    private final AtomicLong occupiedSlots = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Create a filter sized for the expected amount of values.
+     * @param expectedInsertions Amount of values the filter is expected to hold.
+     * @param falsePositiveRate Desired false positive rate at the expected amount of values. (Between 0 and 1 exclusive)
+     */
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0)
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+
+        long optimalSlots = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.slots = (int) Math.min(optimalSlots, (long) Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) slots / expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((slots + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    /**
+     * Add a value to the filter.
+     * @param value Value to add. Null values are ignored.
+     */
+    public void put(String value) {
+        if (value == null)
+            return;
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            increment(slot(h1, h2, i));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Remove a value that was previously added.
+     * <p>
+     *     Only remove values that are known to have been added,
+     *     otherwise other values could be removed as well.
+     * </p>
+     * @param value Value to remove. Null values are ignored.
+     */
+    public void remove(String value) {
+        if (value == null || !mightContain(value))
+            return;
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            decrement(slot(h1, h2, i));
+        }
+        insertions.decrementAndGet();
+    }
+
+    /**
+     * Check if the value might have been added.
+     * @param value Value to check.
+     * @return False if the value was definitely not added, true if it probably was.
+     */
+    public boolean mightContain(String value) {
+        if (value == null)
+            return false;
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            if (counter(slot(h1, h2, i)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The amount of counters in the filter.
+     */
+    public int slots() {
+        return slots;
+    }
+
+    /**
+     * @return The amount of values currently held by the filter.
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * Estimate the current false positive rate from the amount of non-zero counters.
+     * @return Probability that <code>mightContain</code> returns true for a value that was never added.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) occupiedSlots.get() / slots, hashFunctions);
+    }
+
+    private int slot(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        if (combined < 0)
+            combined = ~combined;
+        return combined % slots;
+    }
+
+    private long counter(int slot) {
+        int shift = (slot % COUNTERS_PER_WORD) * COUNTER_BITS;
+        return (words.get(slot / COUNTERS_PER_WORD) >>> shift) & COUNTER_MASK;
+    }
+
+    private void increment(int slot) {
+        int index = slot / COUNTERS_PER_WORD;
+        int shift = (slot % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while (true) {
+            long word = words.get(index);
+            long counter = (word >>> shift) & COUNTER_MASK;
+            if (counter == COUNTER_MASK)
+                return; // Saturated
+            if (words.compareAndSet(index, word, word + (1L << shift))) {
+                if (counter == 0)
+                    occupiedSlots.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void decrement(int slot) {
+        int index = slot / COUNTERS_PER_WORD;
+        int shift = (slot % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while (true) {
+            long word = words.get(index);
+            long counter = (word >>> shift) & COUNTER_MASK;
+            if (counter == 0 || counter == COUNTER_MASK)
+                return; // Empty or saturated counters are left alone
+            if (words.compareAndSet(index, word, word - (1L << shift))) {
+                if (counter == 1)
+                    occupiedSlots.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes followed by a finalizer mix.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.aline.underwritermicroservice.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV Reader
+ * <p>
+ *     Streaming reader of comma separated values as described by RFC 4180.
+ *     Records are read one at a time, so only the current record is held in memory.
+ * </p>
+ * <p>
+ *     Fields may be quoted with <code>"</code>. Quoted fields may contain commas,
+ *     line breaks and quotes escaped as <code>""</code>. Records end with <code>\n</code>
+ *     or <code>\r\n</code>. The reader is lenient: a quote inside an unquoted field is kept
+ *     as is and an unterminated quoted field ends at the end of the input.
+ * </p>
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long recordNumber;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     * @return Fields of the record or <code>null</code> at the end of the input.
+     * An empty line is a record with a single empty field.
+     * @throws IOException If the underlying reader fails.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1)
+            return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    break;
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n' && next != -1)
+                    position--;
+                fields.add(field.toString());
+                break;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+
+        recordNumber++;
+        return fields;
+    }
+
+    /**
+     * @return Amount of records read so far.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,426 @@
+package com.aline.underwritermicroservice.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram Index
+ * <p>
+ *     In-memory inverted index answering case-insensitive substring searches over the
+ *     text fields of documents identified by a <code>long</code> ID. Every trigram (three
+ *     consecutive characters of a field) maps to the sorted IDs of the documents containing it,
+ *     and so does every single character and pair of consecutive characters.
+ * </p>
+ * <p>
+ *     A search term of three or more characters is looked up by intersecting the posting lists
+ *     of its trigrams. Candidates are verified against the stored text so the result is exactly
+ *     the same as a <code>LIKE '%term%'</code> on every field. Shorter terms are exactly the
+ *     posting list of the term itself.
+ * </p>
+ * <p>
+ *     Documents match a query if they contain any of its terms. They are returned by ID or ranked
+ *     by the amount of terms they contain. The sorted matches of every term are merged, so a search
+ *     only keeps the requested page and counts the rest. The index is thread-safe. Searches share
+ *     a read lock.
+ * </p>
+ */
+public class TrigramIndex {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add or replace a document.
+     * @param id ID of the document.
+     * @param fields Text fields of the document. Null fields are ignored.
+     */
+    public void put(long id, String... fields) {
+        String text = text(fields);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, text);
+            for (long gram : grams(text)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document.
+     * @param id ID of the document. Unknown IDs are ignored.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Amount of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the documents.
+     * @param query Whitespace separated search terms.
+     * @param ascending Order of documents with the same rank by ID.
+     * @return IDs of the documents containing at least one term. Documents containing more
+     * terms come first. Empty if the query has no terms.
+     */
+    public long[] search(String query, boolean ascending) {
+        return search(query, true, ascending, 0, Integer.MAX_VALUE).getIds();
+    }
+
+    /**
+     * Search one page of the documents.
+     * @param query Whitespace separated search terms.
+     * @param ranked Whether documents containing more terms come first.
+     * @param ascending Order by ID, or of documents with the same rank if ranked.
+     * @param offset Amount of matching documents to skip.
+     * @param limit Maximum amount of documents to return.
+     * @return The page of matching documents and the amount of all matching documents.
+     */
+    public Result search(String query, boolean ranked, boolean ascending, long offset, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0)
+            return new Result(new long[0], 0);
+
+        lock.readLock().lock();
+        try {
+            PostingList[] matches = new PostingList[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                matches[i] = matches(terms[i]);
+            }
+            long end = Math.min(offset + limit, Integer.MAX_VALUE);
+            return ranked
+                    ? top(matches, ascending, offset, (int) end)
+                    : page(matches, ascending, offset, (int) end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split a query into distinct lower case terms.
+     * @param query The query.
+     * @return The terms.
+     */
+    public static String[] terms(String query) {
+        if (query == null)
+            return new String[0];
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Sorted IDs of the documents containing a term.
+     * <p>
+     *     The posting list of a short term is returned as is and must not be modified.
+     * </p>
+     */
+    private PostingList matches(String term) {
+        if (term.length() < 3) {
+            PostingList list = postings.get(gram(term, 0, term.length()));
+            return list == null ? PostingList.EMPTY : list;
+        }
+
+        Set<Long> trigrams = grams(term, 3);
+        List<PostingList> lists = new ArrayList<>(trigrams.size());
+        for (long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null)
+                return PostingList.EMPTY;
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        PostingList smallest = lists.get(0);
+        PostingList matches = new PostingList();
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id))
+                    continue candidates;
+            }
+            if (documents.get(id).contains(term))
+                matches.insert(matches.size, id);
+        }
+        return matches;
+    }
+
+    /**
+     * Documents from <code>from</code> to <code>to</code> in ID order.
+     */
+    private static Result page(PostingList[] matches, boolean ascending, long from, int to) {
+        long[] ids = new long[(int) Math.max(0, Math.min(to - from, totalSize(matches)))];
+        Merge merge = new Merge(matches, ascending);
+        int total = 0;
+        while (merge.next()) {
+            if (total >= from && total < to)
+                ids[(int) (total - from)] = merge.id;
+            total++;
+        }
+        return new Result(Arrays.copyOf(ids, (int) Math.max(0, Math.min(to, total) - from)), total);
+    }
+
+    /**
+     * Documents from <code>from</code> to <code>to</code> by rank, keeping only the best <code>to</code> documents.
+     */
+    private static Result top(PostingList[] matches, boolean ascending, long from, int to) {
+        // Documents arrive in ID order, so of two with the same score the later one is worse.
+        Comparator<Hit> worstFirst = Comparator.<Hit>comparingInt(hit -> hit.score)
+                .thenComparing(Comparator.<Hit>comparingInt(hit -> hit.order).reversed());
+        PriorityQueue<Hit> best = new PriorityQueue<>(worstFirst);
+        Merge merge = new Merge(matches, ascending);
+        int total = 0;
+        while (merge.next()) {
+            if (best.size() < to) {
+                best.add(new Hit(merge.id, merge.score, total));
+            } else if (merge.score > best.peek().score) {
+                best.poll();
+                best.add(new Hit(merge.id, merge.score, total));
+            }
+            total++;
+        }
+
+        Hit[] hits = best.toArray(new Hit[0]);
+        Arrays.sort(hits, worstFirst.reversed());
+        int start = (int) Math.min(from, hits.length);
+        long[] ids = new long[hits.length - start];
+        for (int i = start; i < hits.length; i++) {
+            ids[i - start] = hits[i].id;
+        }
+        return new Result(ids, total);
+    }
+
+    private static long totalSize(PostingList[] lists) {
+        long size = 0;
+        for (PostingList list : lists) {
+            size += list.size;
+        }
+        return size;
+    }
+
+    private void removeDocument(long id) {
+        String previous = documents.remove(id);
+        if (previous == null)
+            return;
+        for (long gram : grams(previous)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0)
+                postings.remove(gram);
+        }
+    }
+
+    private static String text(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field == null)
+                continue;
+            if (text.length() > 0)
+                text.append(FIELD_SEPARATOR);
+            text.append(field.toLowerCase(Locale.ROOT));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Every gram of one, two and three characters within a field of the text.
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int length = 1; length <= 3; length++) {
+            grams.addAll(grams(text, length));
+        }
+        return grams;
+    }
+
+    private static Set<Long> grams(String text, int length) {
+        Set<Long> grams = new HashSet<>();
+        positions:
+        for (int i = 0; i + length <= text.length(); i++) {
+            for (int j = i; j < i + length; j++) {
+                if (text.charAt(j) == FIELD_SEPARATOR)
+                    continue positions;
+            }
+            grams.add(gram(text, i, length));
+        }
+        return grams;
+    }
+
+    /**
+     * Key of a gram. The length is kept in the bits above the characters, so grams of different
+     * lengths never share a key.
+     */
+    private static long gram(String text, int start, int length) {
+        long key = length;
+        for (int i = start; i < start + length; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * One page of search results.
+     */
+    public static final class Result {
+
+        private final long[] ids;
+        private final int total;
+
+        private Result(long[] ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        /**
+         * @return IDs of the documents in the page.
+         */
+        public long[] getIds() {
+            return ids;
+        }
+
+        /**
+         * @return Amount of all matching documents.
+         */
+        public int getTotal() {
+            return total;
+        }
+
+    }
+
+    /**
+     * Merges the sorted matches of every term into distinct documents in ID order
+     * with the amount of terms each of them contains.
+     */
+    private static final class Merge {
+
+        private final PostingList[] lists;
+        private final int[] positions;
+        private final boolean ascending;
+        private long id;
+        private int score;
+
+        private Merge(PostingList[] lists, boolean ascending) {
+            this.lists = lists;
+            this.ascending = ascending;
+            this.positions = new int[lists.length];
+            if (!ascending) {
+                for (int i = 0; i < lists.length; i++) {
+                    positions[i] = lists[i].size - 1;
+                }
+            }
+        }
+
+        private boolean next() {
+            boolean found = false;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < 0 || positions[i] >= lists[i].size)
+                    continue;
+                long candidate = lists[i].ids[positions[i]];
+                if (!found || (ascending ? candidate < id : candidate > id)) {
+                    id = candidate;
+                    found = true;
+                }
+            }
+            if (!found)
+                return false;
+            score = 0;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] >= 0 && positions[i] < lists[i].size && lists[i].ids[positions[i]] == id) {
+                    positions[i] += ascending ? 1 : -1;
+                    score++;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    private static final class Hit {
+
+        private final long id;
+        private final int score;
+        private final int order;
+
+        private Hit(long id, int score, int order) {
+            this.id = id;
+            this.score = score;
+            this.order = order;
+        }
+
+    }
+
+    /**
+     * Sorted, growable list of document IDs.
+     * IDs are usually added in increasing order, which is an append.
+     */
+    private static final class PostingList {
+        private static final PostingList EMPTY = new PostingList();
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0)
+                    return;
+                insert(-index - 1, id);
+            } else {
+                insert(size, id);
+            }
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0)
+                return false;
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insert(int index, long id) {
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+    }
+
+}
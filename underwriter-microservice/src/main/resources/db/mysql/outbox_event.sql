@@ -0,0 +1,26 @@
+-- Outbox of the underwriter microservice (MySQL 8, InnoDB).
+-- Matches com.aline.underwritermicroservice.model.OutboxEvent. Hibernate emulates the
+-- outbox_event_seq sequence with a table and reserves 50 IDs per increment.
+
+CREATE TABLE IF NOT EXISTS outbox_event_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO outbox_event_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM outbox_event_seq);
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id              BIGINT        NOT NULL,
+    application_id  BIGINT        NOT NULL,
+    type            VARCHAR(50)   NOT NULL,
+    payload         LONGTEXT      NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    attempts        INT           NOT NULL,
+    last_error      VARCHAR(1000),
+    delivered_to    VARCHAR(1000),
+    dead_at         DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX outbox_event_application_id (application_id, id),
+    INDEX outbox_event_next_attempt_at (next_attempt_at)
+) ENGINE = InnoDB;
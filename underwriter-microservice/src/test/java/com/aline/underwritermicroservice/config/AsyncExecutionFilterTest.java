@@ -0,0 +1,209 @@
+package com.aline.underwritermicroservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Async Execution Filter Test")
+class AsyncExecutionFilterTest {
+
+    ThreadPoolTaskExecutor executor;
+    AsyncExecutionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("request-");
+        executor.initialize();
+        filter = new AsyncExecutionFilter(executor, 10000, Arrays.asList("/applications/export", "/applications/events"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+        executor.shutdown();
+    }
+
+    private static MockHttpServletRequest request() {
+        return request("/applicants/1");
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    /**
+     * @return Latch released once the request completes.
+     */
+    private static CountDownLatch completion(MockHttpServletRequest request) {
+        CountDownLatch completed = new CountDownLatch(1);
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        return completed;
+    }
+
+    @Test
+    void doFilter_runs_the_chain_on_the_request_executor_and_completes_the_request() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        filter.doFilter(request, response, (req, res) -> {
+            thread.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(thread.get().startsWith("request-"));
+        assertNotNull(request.getAsyncContext());
+    }
+
+    @Test
+    void doFilter_responds_serviceUnavailable_when_the_request_executor_is_saturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        FilterChain blocking = (req, res) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        filter.doFilter(request(), new MockHttpServletResponse(), blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request(), rejected, (req, res) -> {
+        });
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_passes_streaming_paths_through_whatever_they_accept() throws Exception {
+        MockHttpServletRequest request = request("/applications/export");
+        request.addHeader("Accept", "*/*");
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> thread.set(Thread.currentThread().getName()));
+
+        assertEquals(Thread.currentThread().getName(), thread.get());
+        assertFalse(request.isAsyncStarted());
+    }
+
+    @Test
+    void timeout_responds_serviceUnavailable_and_skips_a_request_that_did_not_start() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ThreadPoolTaskExecutor queueing = new ThreadPoolTaskExecutor();
+        queueing.setCorePoolSize(1);
+        queueing.setMaxPoolSize(1);
+        queueing.setQueueCapacity(1);
+        queueing.initialize();
+        AsyncExecutionFilter queueingFilter = new AsyncExecutionFilter(queueing, 100, Collections.emptyList());
+        try {
+            queueingFilter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletRequest queued = request();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            AtomicBoolean ran = new AtomicBoolean();
+            queueingFilter.doFilter(queued, response, (req, res) -> ran.set(true));
+            assertTrue(completion(queued).await(5, TimeUnit.SECONDS));
+            release.countDown();
+            queueing.shutdown();
+            queueing.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+            assertFalse(ran.get());
+        } finally {
+            queueingFilter.destroy();
+            queueing.shutdown();
+        }
+    }
+
+    @Test
+    void timeout_leaves_a_running_request_to_its_executor_thread() throws Exception {
+        AsyncExecutionFilter timingOut = new AsyncExecutionFilter(executor, 100, Collections.emptyList());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            timingOut.doFilter(request, response, (req, res) -> {
+                ((HttpServletResponse) res).setStatus(HttpStatus.OK.value());
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CountDownLatch completed = completion(request);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Well past the timeout the request is still running and not completed.
+            assertFalse(completed.await(500, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+        } finally {
+            timingOut.destroy();
+        }
+    }
+
+}
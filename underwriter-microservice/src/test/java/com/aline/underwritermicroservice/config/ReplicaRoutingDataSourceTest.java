@@ -0,0 +1,102 @@
+package com.aline.underwritermicroservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Replica Routing Data Source Test")
+class ReplicaRoutingDataSourceTest {
+
+    DataSource primary;
+    DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    /**
+     * Create a separate in-memory H2 database that knows its own name.
+     */
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                String.format("jdbc:h2:mem:%s-%s;DB_CLOSE_DELAY=-1", name, UUID.randomUUID()), "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String node(DataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void read_only_transactions_use_the_replica_and_others_the_primary() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofSeconds(30));
+
+        assertEquals("replica", node(routing, true));
+        assertEquals("primary", node(routing, false));
+    }
+
+    @Test
+    void read_only_transactions_fall_back_to_the_primary_while_the_replica_is_down() {
+        AtomicInteger attempts = new AtomicInteger();
+        DataSource unavailable = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                attempts.incrementAndGet();
+                throw new SQLException("Replica is down.");
+            }
+        };
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, unavailable, Duration.ofMinutes(1));
+
+        assertEquals("primary", node(routing, true));
+        assertEquals("primary", node(routing, true));
+        assertTrue(routing.isReplicaDown());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void replica_is_tried_again_after_the_cooldown() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, new DelegatingDataSource(replica) {
+            private boolean failed;
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (!failed) {
+                    failed = true;
+                    throw new SQLException("Replica is down.");
+                }
+                return super.getConnection();
+            }
+        }, Duration.ZERO);
+
+        assertEquals("primary", node(routing, true));
+        assertFalse(routing.isReplicaDown());
+        assertEquals("replica", node(routing, true));
+    }
+
+}
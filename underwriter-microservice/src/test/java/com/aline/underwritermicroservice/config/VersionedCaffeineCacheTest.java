@@ -0,0 +1,62 @@
+package com.aline.underwritermicroservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Versioned Caffeine Cache Test")
+class VersionedCaffeineCacheTest {
+
+    VersionedCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VersionedCaffeineCache("test", Caffeine.newBuilder().build(), false);
+    }
+
+    @Test
+    void get_stores_the_value_loaded_after_a_miss() {
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+
+        assertEquals("loaded", cache.get(1L).get());
+        assertEquals("loaded", cache.get(1L, () -> "reloaded"));
+    }
+
+    @Test
+    void get_does_not_store_a_value_loaded_before_an_eviction() {
+        assertEquals("stale", cache.get(1L, () -> {
+            cache.evict(1L);
+            return "stale";
+        }));
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void get_rethrows_a_failed_load_and_the_next_lookup_stores_its_value() {
+        IllegalStateException failure = new IllegalStateException("Database is unavailable.");
+        Cache.ValueRetrievalException thrown = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get(1L, () -> {
+                    throw failure;
+                }));
+        assertSame(failure, thrown.getCause());
+
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+        assertEquals("loaded", cache.get(1L).get());
+    }
+
+    @Test
+    void put_does_not_store_a_value() {
+        cache.put(1L, "put");
+
+        assertNull(cache.get(1L));
+    }
+
+}
@@ -7,6 +7,7 @@ import com.aline.core.model.Applicant;
 import com.aline.core.model.Gender;
 import com.aline.core.repository.ApplicantRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -23,8 +24,13 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import javax.transaction.Transactional;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -193,6 +199,26 @@ class ApplicantControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @Sql(scripts = {"/scripts/applicants.sql", "/scripts/applications.sql"})
+    void deleteApplicant_status_is_conflict_when_applicant_belongs_to_an_application() throws Exception {
+        mock.perform(delete("/applicants/2"))
+                .andExpect(status().isConflict());
+
+        assertTrue(repository.existsById(2L));
+    }
+
+    @Test
+    @Sql(scripts = {"/scripts/applicants.sql", "/scripts/applications.sql"})
+    void deleteApplicants_status_is_conflict_and_nothing_is_deleted_when_an_applicant_belongs_to_an_application() throws Exception {
+        mock.perform(delete("/applicants")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+                .andExpect(status().isConflict());
+
+        assertTrue(repository.existsById(1L));
+    }
+
     @Test
     void deleteApplicant_status_is_notFound_when_applicant_to_delete_does_not_exists() throws Exception {
         mock.perform(delete("/applicants/99"))
@@ -242,6 +268,102 @@ class ApplicantControllerTest {
                 .andExpect(jsonPath("$.content[1].id").value("4"));
     }
 
+    @Test
+    @Sql(scripts = "/scripts/search_applicants.sql")
+    void getApplicants_status_is_ok_and_total_is_not_counted_when_count_is_false() throws Exception {
+        mock.perform(get("/applicants")
+                .param("count", "false")
+                .param("page", "9")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mock.perform(get("/applicants")
+                .param("count", "false")
+                .param("page", "8")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    @Sql(scripts = "/scripts/search_applicants.sql")
+    void getApplicants_with_cursor_returns_every_applicant_once_in_sort_order() throws Exception {
+        Set<Integer> ids = new HashSet<>();
+        String previousLastName = "";
+        String after = "";
+        int pages = 0;
+        do {
+            String body = mock.perform(get("/applicants")
+                    .param("after", after)
+                    .param("size", "15")
+                    .param("sort", "lastName,asc"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            List<Integer> pageIds = JsonPath.read(body, "$.content[*].id");
+            List<String> lastNames = JsonPath.read(body, "$.content[*].lastName");
+            for (String lastName : lastNames) {
+                assertTrue(previousLastName.compareTo(lastName) <= 0);
+                previousLastName = lastName;
+            }
+            pageIds.forEach(id -> assertTrue(ids.add(id)));
+            after = JsonPath.read(body, "$.next");
+            pages++;
+        } while (after != null);
+
+        assertEquals(100, ids.size());
+        assertEquals(7, pages);
+    }
+
+    @Test
+    void getApplicants_with_cursor_status_is_badRequest_when_cursor_is_not_valid() throws Exception {
+        mock.perform(get("/applicants")
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importApplicants_status_is_ok_and_only_valid_unique_rows_are_imported() throws Exception {
+        String csv = "first_name,last_name,gender,date_of_birth,email,phone,social_security,drivers_license,income," +
+                "address,city,state,zipcode,mailing_address,mailing_city,mailing_state,mailing_zipcode\r\n" +
+                "Test,Boy,MALE,1980-05-03,testboy@test.com,(555) 555-5555,555-55-5555,DL555555,4500000," +
+                "\"1234 Address St.\",Townsville,Maine,12345,PO Box 1234,Townsville,Maine,12345\r\n" +
+                "Test,Girl,FEMALE,1981-06-04,johnsmith@email.com,(666) 666-6666,666-66-6666,DL666666,4500000," +
+                "1234 Address St.,Townsville,Maine,12345,PO Box 1234,Townsville,Maine,12345\r\n" +
+                "Test,Man,MALE,1982-07-05,testman@test.com,(777) 777-7777,777-77-7777,DL777777,lots," +
+                "1234 Address St.,Townsville,Maine,12345,PO Box 1234,Townsville,Maine,12345\r\n" +
+                "Test,Woman,FEMALE,1983-08-06,testwoman@test.com,(555) 555-5555,888-88-8888,DL888888,4500000," +
+                "1234 Address St.,Townsville,Maine,12345,PO Box 1234,Townsville,Maine,12345\r\n";
+
+        mock.perform(post("/applicants/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.rows").value(4))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.rejects[*].row").value(contains(2, 3, 4)));
+
+        assertEquals(5, repository.count());
+    }
+
+    @Test
+    void importApplicants_status_is_badRequest_when_column_is_not_an_applicant_field() throws Exception {
+        mock.perform(post("/applicants/import")
+                .contentType("text/csv")
+                .content("first_name,favorite_color\nTest,Blue\n"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test suite for searching for applicants using attribute value based API
      */
@@ -8,6 +8,8 @@ import com.aline.core.model.Gender;
 import com.aline.core.repository.AccountRepository;
 import com.aline.core.repository.MemberRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,9 +25,14 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import javax.transaction.Transactional;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -55,6 +62,9 @@ class ApplicationControllerTest {
     @Autowired
     ObjectMapper mapper;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void getApplicationById_status_is_ok_applicationId_is_equalTo_pathVariable() throws Exception {
         int applicationId = 1;
@@ -109,6 +119,7 @@ class ApplicationControllerTest {
                 .content(body))
                 .andExpect(status().isCreated())
                 .andExpect(header().exists("location"))
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
                 .andDo(print())
                 .andReturn();
 
@@ -187,6 +198,85 @@ class ApplicationControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void apply_records_the_duration_of_every_stage_tagged_by_type_applicants_and_outcome() throws Exception {
+        ApplyRequest request = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .noApplicants(true)
+                .applicantIds(new LinkedHashSet<>(Arrays.asList(1L, 2L, 3L)))
+                .build();
+        String[] stages = {"applicants", "application", "underwriting", "members", "accounts", "save_members"};
+        long[] before = new long[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            before[i] = stageCount(stages[i]);
+        }
+        long appliesBefore = applyCount();
+
+        mock.perform(post("/applications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+
+        assertEquals(appliesBefore + 1, applyCount());
+        for (int i = 0; i < stages.length; i++) {
+            assertEquals(before[i] + 1, stageCount(stages[i]), stages[i]);
+        }
+    }
+
+    @Test
+    void apply_with_the_same_idempotency_key_replays_the_first_response() throws Exception {
+        ApplyRequest request = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .noApplicants(true)
+                .applicantIds(new LinkedHashSet<>(Collections.singletonList(1L)))
+                .build();
+        String key = UUID.randomUUID().toString();
+
+        String first = mock.perform(post("/applications")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+
+        String replay = mock.perform(post("/applications")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, replay);
+
+        ApplyRequest differentRequest = ApplyRequest.builder()
+                .applicationType(ApplicationType.SAVINGS)
+                .noApplicants(true)
+                .applicantIds(new LinkedHashSet<>(Collections.singletonList(1L)))
+                .build();
+        mock.perform(post("/applications")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(differentRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    private long applyCount() {
+        Timer timer = meterRegistry.find("underwriter.apply")
+                .tags("type", "checking", "applicants", "3", "outcome", "approved")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long stageCount(String stage) {
+        Timer timer = meterRegistry.find("underwriter.apply.stage")
+                .tags("stage", stage, "type", "checking", "applicants", "3", "outcome", "approved")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
     @Test
     void apply_status_is_notFound_when_noApplicants_is_true_and_the_applicantIds_are_provided_but_one_id_does_not_exists() throws Exception {
 
@@ -210,6 +300,21 @@ class ApplicationControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void apply_status_is_notFound_and_lists_every_missing_id_when_noApplicants_is_true() throws Exception {
+        ApplyRequest request = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .noApplicants(true)
+                .applicantIds(new LinkedHashSet<>(Arrays.asList(98L, 1L, 99L)))
+                .build();
+
+        mock.perform(post("/applications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Applicants with IDs [98, 99] do not exist."));
+    }
+
     @Test
     void apply_status_is_badRequest_when_noApplicants_is_true_and_the_applicantIds_are_not_provided() throws Exception {
         ApplyRequest request = ApplyRequest.builder()
@@ -239,4 +344,146 @@ class ApplicationControllerTest {
                 .andExpect(status().isBadRequest())
                 .andDo(print());
     }
+
+    @Test
+    void applyAll_status_is_ok_and_every_result_has_its_own_status() throws Exception {
+
+        CreateApplicant.CreateApplicantBuilder createBuilder = CreateApplicant.builder()
+                .firstName("Richard")
+                .lastName("Donovan")
+                .email("rickdonovan@email.com")
+                .phone("(555) 555-5555")
+                .dateOfBirth(LocalDate.of(1990, 8, 9))
+                .gender(Gender.MALE)
+                .socialSecurity("555-55-5555")
+                .driversLicense("ABC123456789")
+                .address("123 Address St")
+                .city("Townsville")
+                .state("Idaho")
+                .zipcode("83202")
+                .mailingAddress("123 Address St")
+                .mailingCity("Townsville")
+                .mailingState("Idaho")
+                .mailingZipcode("83202")
+                .income(4500000);
+
+        ApplyRequest created = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(new LinkedHashSet<>(Collections.singleton(createBuilder.build())))
+                .build();
+
+        ApplyRequest conflict = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(new LinkedHashSet<>(Collections.singleton(createBuilder
+                        .email("johnsmith@email.com") // Already exists in DB
+                        .phone("(666) 666-6666")
+                        .socialSecurity("666-66-6666")
+                        .driversLicense("DL666666")
+                        .build())))
+                .build();
+
+        ApplyRequest notFound = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .noApplicants(true)
+                .applicantIds(new LinkedHashSet<>(Arrays.asList(1L, 99L)))
+                .build();
+
+        ApplyRequest badRequest = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .noApplicants(true)
+                .build();
+
+        String body = mapper.writeValueAsString(Arrays.asList(created, conflict, notFound, badRequest));
+
+        mock.perform(post("/applications/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].response.id").isNumber())
+                .andExpect(jsonPath("$.results[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[2].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[3].status").value("BAD_REQUEST"))
+                .andDo(print());
+    }
+
+    @Test
+    void applyAll_identifiers_of_a_rejected_request_do_not_conflict_with_later_requests() throws Exception {
+
+        CreateApplicant.CreateApplicantBuilder createBuilder = CreateApplicant.builder()
+                .firstName("Richard")
+                .lastName("Donovan")
+                .email("rickdonovan@email.com")
+                .phone("(555) 555-5555")
+                .dateOfBirth(LocalDate.of(1990, 8, 9))
+                .gender(Gender.MALE)
+                .socialSecurity("555-55-5555")
+                .driversLicense("ABC123456789")
+                .address("123 Address St")
+                .city("Townsville")
+                .state("Idaho")
+                .zipcode("83202")
+                .mailingAddress("123 Address St")
+                .mailingCity("Townsville")
+                .mailingState("Idaho")
+                .mailingZipcode("83202")
+                .income(4500000);
+        CreateApplicant applicant = createBuilder.build();
+        CreateApplicant existingApplicant = createBuilder
+                .email("johnsmith@email.com") // Already exists in DB
+                .phone("(666) 666-6666")
+                .socialSecurity("666-66-6666")
+                .driversLicense("DL666666")
+                .build();
+
+        // The first applicant passes before the second one conflicts.
+        ApplyRequest conflict = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(new LinkedHashSet<>(Arrays.asList(applicant, existingApplicant)))
+                .build();
+
+        ApplyRequest created = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(new LinkedHashSet<>(Collections.singleton(applicant)))
+                .build();
+
+        String body = mapper.writeValueAsString(Arrays.asList(conflict, created));
+
+        mock.perform(post("/applications/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+                .andDo(print());
+    }
+
+    @Test
+    void applyAll_status_is_badRequest_when_batch_is_empty() throws Exception {
+        mock.perform(post("/applications/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteApplications_status_is_ok_deletes_existing_and_lists_notFound_ids() throws Exception {
+        mock.perform(delete("/applications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 4, 99, 4]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.notFound[0]").value(99))
+                .andDo(print());
+
+        mock.perform(get("/applications/{id}", 1))
+                .andExpect(status().isNotFound());
+        mock.perform(get("/applications/{id}", 2))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,161 @@
+package com.aline.underwritermicroservice.controller;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Gender;
+import com.aline.core.repository.ApplicantRepository;
+import com.aline.core.repository.ApplicationRepository;
+import com.aline.underwritermicroservice.repository.OutboxEventRepository;
+import com.aline.underwritermicroservice.service.ApplicationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asynchronous applications are underwritten after their transaction commits,
+ * so this test is not transactional and deletes the rows it created.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Async Apply Integration Test")
+class AsyncApplyTest {
+
+    private static final long TIMEOUT = 10_000;
+
+    @Autowired
+    MockMvc mock;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    @Autowired
+    ApplicationService applicationService;
+
+    @Autowired
+    ApplicationRepository applicationRepository;
+
+    @Autowired
+    ApplicantRepository applicantRepository;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final List<Long> applicationIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Long id : applicationIds) {
+                Application application = applicationRepository.findById(id).orElse(null);
+                if (application == null)
+                    continue;
+                List<Long> applicantIds = new ArrayList<>();
+                application.getApplicants().forEach(applicant -> applicantIds.add(applicant.getId()));
+                applicationService.deleteApplication(id);
+                applicantIds.forEach(applicantRepository::deleteById);
+            }
+        });
+        applicationIds.clear();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void apply_status_is_accepted_and_application_is_underwritten_after_commit_when_async_is_true() throws Exception {
+
+        // Without an income the application is denied, so no members or accounts are created.
+        CreateApplicant createApplicant = CreateApplicant.builder()
+                .firstName("Richard")
+                .lastName("Donovan")
+                .email("rickdonovan@email.com")
+                .phone("(555) 555-5555")
+                .dateOfBirth(LocalDate.of(1990, 8, 9))
+                .gender(Gender.MALE)
+                .socialSecurity("555-55-5555")
+                .driversLicense("ABC123456789")
+                .address("123 Address St")
+                .city("Townsville")
+                .state("Idaho")
+                .zipcode("83202")
+                .mailingAddress("123 Address St")
+                .mailingCity("Townsville")
+                .mailingState("Idaho")
+                .mailingZipcode("83202")
+                .build();
+        LinkedHashSet<CreateApplicant> applicants = new LinkedHashSet<>();
+        applicants.add(createApplicant);
+        ApplyRequest applyRequest = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(applicants)
+                .build();
+
+        MvcResult result = mock.perform(post("/applications")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(applyRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("location"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn();
+
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        applicationIds.add(id.longValue());
+
+        String resourceLocation = result.getResponse().getHeader("location");
+        assertNotNull(resourceLocation);
+        assertFalse(resourceLocation.contains("?"));
+
+        assertEquals("DENIED", awaitUnderwriting(resourceLocation));
+    }
+
+    /**
+     * Poll the application until it is no longer pending.
+     * @param location Location of the application.
+     * @return Status of the underwritten application.
+     */
+    private String awaitUnderwriting(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            String body = mock.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String applicationStatus = JsonPath.read(body, "$.applicationStatus");
+            if (!"PENDING".equals(applicationStatus))
+                return applicationStatus;
+            Thread.sleep(50);
+        }
+        return fail("Application was still pending after " + TIMEOUT + " ms.");
+    }
+
+}
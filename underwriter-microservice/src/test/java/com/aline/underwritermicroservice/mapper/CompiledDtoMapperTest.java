@@ -0,0 +1,160 @@
+package com.aline.underwritermicroservice.mapper;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.request.UpdateApplicant;
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Gender;
+import com.aline.underwritermicroservice.config.MapperConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies that {@link CompiledDtoMapper} produces the same output
+ * as the {@link ModelMapperDtoMapper} it replaces.
+ */
+@DisplayName("Compiled DTO Mapper Test")
+class CompiledDtoMapperTest {
+
+    DtoMapper compiled;
+    DtoMapper reference;
+
+    Applicant applicant;
+    Application application;
+
+    @BeforeEach
+    void setUp() {
+        MapperConfig config = new MapperConfig();
+        compiled = new CompiledDtoMapper();
+        reference = new ModelMapperDtoMapper(config.defaultMapper(), config.skipNulMapper());
+
+        applicant = Applicant.builder()
+                .id(1L)
+                .firstName("Test")
+                .middleName("Middle")
+                .lastName("Boy")
+                .gender(Gender.MALE)
+                .dateOfBirth(LocalDate.of(1980, 5, 3))
+                .email("testboy@test.com")
+                .phone("(555) 555-5555")
+                .socialSecurity("555-55-5555")
+                .driversLicense("DL555555")
+                .address("1234 Address St.")
+                .city("Townsville")
+                .state("Maine")
+                .zipcode("12345")
+                .mailingAddress("PO Box 1234")
+                .mailingCity("Townsville")
+                .mailingState("Maine")
+                .mailingZipcode("12345")
+                .income(4500000)
+                .build();
+
+        Applicant authorized = Applicant.builder()
+                .id(2L)
+                .firstName("Mary")
+                .lastName("Smith")
+                .gender(Gender.FEMALE)
+                .build();
+
+        LinkedHashSet<Applicant> applicants = new LinkedHashSet<>();
+        applicants.add(applicant);
+        applicants.add(authorized);
+
+        application = Application.builder()
+                .id(1L)
+                .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .primaryApplicant(applicant)
+                .applicants(applicants)
+                .build();
+    }
+
+    @Test
+    void toApplicant_from_createApplicant_matches_modelMapper() {
+        CreateApplicant createApplicant = CreateApplicant.builder()
+                .firstName("Test")
+                .lastName("Boy")
+                .gender(Gender.MALE)
+                .dateOfBirth(LocalDate.of(1980, 5, 3))
+                .email("testboy@test.com")
+                .phone("(555) 555-5555")
+                .socialSecurity("555-55-5555")
+                .driversLicense("DL555555")
+                .address("1234 Address St.")
+                .city("Townsville")
+                .state("Maine")
+                .zipcode("12345")
+                .mailingAddress("PO Box 1234")
+                .mailingCity("Townsville")
+                .mailingState("Maine")
+                .mailingZipcode("12345")
+                .income(4500000)
+                .build();
+
+        assertEquals(reference.toApplicant(createApplicant), compiled.toApplicant(createApplicant));
+    }
+
+    @Test
+    void toApplicantResponse_matches_modelMapper() {
+        assertEquals(reference.toApplicantResponse(applicant), compiled.toApplicantResponse(applicant));
+    }
+
+    @Test
+    void toApplicant_from_applicantResponse_matches_modelMapper() {
+        ApplicantResponse response = reference.toApplicantResponse(applicant);
+        assertEquals(reference.toApplicant(response), compiled.toApplicant(response));
+    }
+
+    @Test
+    void toApplicationResponse_matches_modelMapper() {
+        ApplicationResponse expected = reference.toApplicationResponse(application);
+        ApplicationResponse actual = compiled.toApplicationResponse(application);
+        assertEquals(expected, actual);
+        assertEquals(2, actual.getApplicants().size());
+    }
+
+    @Test
+    void toApplyResponse_matches_modelMapper() {
+        ApplyResponse expected = reference.toApplyResponse(application);
+        assertEquals(expected, compiled.toApplyResponse(application));
+    }
+
+    @Test
+    void mergeNonNull_skips_null_values_like_skipNullModelMapper() {
+        UpdateApplicant newValues = UpdateApplicant.builder()
+                .firstName("Clark")
+                .email("clarkkent@dailyplanet.com")
+                .build();
+
+        Applicant expected = reference.toApplicant(reference.toApplicantResponse(applicant));
+        Applicant actual = compiled.toApplicant(compiled.toApplicantResponse(applicant));
+
+        reference.mergeNonNull(newValues, expected);
+        compiled.mergeNonNull(newValues, actual);
+
+        assertEquals(expected, actual);
+        assertEquals("Clark", actual.getFirstName());
+        assertEquals("Boy", actual.getLastName());
+    }
+
+    @Test
+    void null_sources_map_to_null() {
+        assertNull(compiled.toApplicantResponse(null));
+        assertNull(compiled.toApplicationResponse(null));
+        assertNull(compiled.toApplyResponse(null));
+    }
+
+}
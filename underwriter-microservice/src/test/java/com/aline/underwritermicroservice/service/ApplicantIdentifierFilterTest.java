@@ -0,0 +1,100 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.exception.conflict.EmailConflictException;
+import com.aline.core.model.Gender;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration test of the uniqueness checks with the {@link ApplicantIdentifierFilter} enabled.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.bloom-filter.enabled=true")
+@DisplayName("Applicant Identifier Filter Integration Test")
+@Sql(scripts = "/scripts/applicants.sql")
+@Transactional
+class ApplicantIdentifierFilterTest {
+
+    @Autowired
+    ApplicantIdentifierFilter filter;
+
+    @Autowired
+    ApplicantService service;
+
+    CreateApplicant.CreateApplicantBuilder createBuilder;
+
+    @BeforeEach
+    void setUp() {
+        createBuilder = CreateApplicant.builder()
+                .firstName("Filter")
+                .lastName("Test")
+                .gender(Gender.FEMALE)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .email("filtertest@email.com")
+                .phone("(333) 333-3333")
+                .socialSecurity("333-33-3333")
+                .driversLicense("DL333333")
+                .address("1234 Address St.")
+                .city("Townsville")
+                .state("Maine")
+                .zipcode("12345")
+                .mailingAddress("PO Box 1234")
+                .mailingCity("Townsville")
+                .mailingState("Maine")
+                .mailingZipcode("12345")
+                .income(4500000);
+    }
+
+    @Test
+    void filter_is_enabled() {
+        assertTrue(filter.isEnabled());
+    }
+
+    @Test
+    void createApplicant_throws_conflict_for_identifier_created_after_the_build() {
+        service.createApplicant(createBuilder.build());
+
+        CreateApplicant duplicate = createBuilder
+                .phone("(333) 333-4444")
+                .socialSecurity("333-33-4444")
+                .driversLicense("DL334444")
+                .build();
+        assertThrows(EmailConflictException.class, () -> service.createApplicant(duplicate));
+    }
+
+    @Test
+    void createApplicant_throws_conflict_for_identifier_in_the_database_when_built() {
+        filter.build();
+
+        CreateApplicant duplicate = createBuilder.email("johnsmith@email.com").build();
+        assertThrows(EmailConflictException.class, () -> service.createApplicant(duplicate));
+    }
+
+    @Test
+    void identifiers_in_the_database_are_probable_after_the_build() {
+        filter.build();
+
+        ApplicantIdentifiers existing = new ApplicantIdentifiers();
+        existing.add("johnsmith@email.com", "(222) 222-2222", "DL222222", "222-22-2222");
+        ApplicantIdentifiers probable = filter.probable(existing);
+
+        assertTrue(probable.getEmails().contains("johnsmith@email.com"));
+        assertTrue(probable.getPhones().contains("(222) 222-2222"));
+        assertTrue(probable.getDriversLicenses().contains("DL222222"));
+        assertTrue(probable.getSocialSecurities().contains("222-22-2222"));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.response.ApplicantResponse;
+import com.aline.core.dto.response.PaginatedResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.repository.ApplicantRepository;
+import com.aline.core.util.SearchSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.transaction.Transactional;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares searches answered by the {@link ApplicantSearchIndex} with the {@link SearchSpecification}
+ * the database answers them with.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.search-index.enabled=true")
+@DisplayName("Applicant Search Index Integration Test")
+@Sql(scripts = "/scripts/applicants.sql")
+@Transactional
+class ApplicantSearchIndexTest {
+
+    @Autowired
+    ApplicantSearchIndex searchIndex;
+
+    @Autowired
+    ApplicantService service;
+
+    @Autowired
+    ApplicantRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.build();
+    }
+
+    private static List<Long> ids(List<ApplicantResponse> applicants) {
+        return applicants.stream().map(ApplicantResponse::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void index_is_ready() {
+        assertTrue(searchIndex.isReady());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"y", "ne", "NEW", "metropolis", "county", "54321", "@email.com", "nobody"})
+    void search_by_id_matches_the_search_specification(String search) {
+        List<Long> expected = repository.findAll(new SearchSpecification<>(search), Sort.by("id")).stream()
+                .map(Applicant::getId)
+                .collect(Collectors.toList());
+
+        PaginatedResponse<ApplicantResponse> page = service.getApplicants(PageRequest.of(0, 10, Sort.by("id")), search);
+
+        assertEquals(expected, ids(page.getContent()));
+        assertEquals(expected.size(), page.getTotalElements());
+    }
+
+    @Test
+    void search_by_id_descending_pages_in_id_order() {
+        PaginatedResponse<ApplicantResponse> page = service.getApplicants(
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id")), "new");
+
+        assertEquals(Collections.singletonList(2L), ids(page.getContent()));
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void search_by_rank_lists_applicants_matching_more_terms_first() {
+        PaginatedResponse<ApplicantResponse> page = service.getApplicants(
+                PageRequest.of(0, 10, Sort.by(ApplicantService.RANK)), "jersey metropolis");
+
+        assertEquals(Arrays.asList(4L, 2L, 3L), ids(page.getContent()));
+    }
+
+}
@@ -10,6 +10,8 @@ import com.aline.core.exception.notfound.ApplicantNotFoundException;
 import com.aline.core.model.Applicant;
 import com.aline.core.model.Gender;
 import com.aline.core.repository.ApplicantRepository;
+import com.aline.underwritermicroservice.repository.ApplicantCustomRepository;
+import com.aline.underwritermicroservice.repository.ApplicantIdentifiers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static com.aline.core.dto.request.CreateApplicant.CreateApplicantBuilder;
@@ -26,6 +29,9 @@ import static com.aline.core.dto.request.UpdateApplicant.UpdateApplicantBuilder;
 import static com.aline.core.model.Applicant.ApplicantBuilder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -49,6 +55,15 @@ class ApplicantServiceTest {
     @MockBean
     ApplicantRepository repository;
 
+    /**
+     * Mocked {@link ApplicantCustomRepository}
+     * <p>
+     *     Mock the single uniqueness query.
+     * </p>
+     */
+    @MockBean
+    ApplicantCustomRepository customRepository;
+
     CreateApplicantBuilder createBuilder;
     UpdateApplicantBuilder updateBuilder;
     Applicant foundApplicant;
@@ -102,15 +117,17 @@ class ApplicantServiceTest {
 
         when(repository.findById(FOUND)).thenReturn(Optional.of(foundApplicant));
         when(repository.findById(NOT_FOUND)).thenReturn(Optional.empty());
+        when(customRepository.findUpdateSnapshot(FOUND)).thenReturn(Optional.of(foundApplicant));
         when(repository.save(applicantBuilder
                 .id(null)
                 .createdAt(null)
                 .lastModifiedAt(null)
                 .build())).thenReturn(applicantBuilder.build());
-        when(repository.existsByEmail("already.exists@email.com")).thenReturn(true);
-        when(repository.existsByPhone("(222) 222-2222")).thenReturn(true);
-        when(repository.existsByDriversLicense("ALREADY_EXISTS")).thenReturn(true);
-        when(repository.existsBySocialSecurity("222-22-2222")).thenReturn(true);
+
+        ApplicantIdentifiers existing = new ApplicantIdentifiers();
+        existing.add("already.exists@email.com", "(222) 222-2222", "ALREADY_EXISTS", "222-22-2222");
+        when(customRepository.findExisting(any()))
+                .thenAnswer(invocation -> invocation.<ApplicantIdentifiers>getArgument(0).intersection(existing));
     }
 
     @Test
@@ -171,6 +188,42 @@ class ApplicantServiceTest {
         assertThrows(ConflictException.class, () -> service.createApplicant(dto));
     }
 
+    @Test
+    void createApplicant_throws_emailConflictException_before_phoneConflictException() {
+        CreateApplicant dto = createBuilder
+                .email("already.exists@email.com")
+                .phone("(222) 222-2222")
+                .build();
+
+        assertThrows(EmailConflictException.class, () -> service.createApplicant(dto));
+    }
+
+    @Test
+    void createApplicants_checks_uniqueness_with_a_single_query() {
+        CreateApplicant first = createBuilder.build();
+        CreateApplicant second = createBuilder
+                .email("second@test.com")
+                .phone("(333) 333-3333")
+                .driversLicense("DL333333")
+                .socialSecurity("333-33-3333")
+                .build();
+
+        service.createApplicants(Arrays.asList(first, second));
+        verify(customRepository, times(1)).findExisting(any());
+    }
+
+    @Test
+    void createApplicants_throws_emailConflictException_when_applicants_share_an_email() {
+        CreateApplicant first = createBuilder.build();
+        CreateApplicant second = createBuilder
+                .phone("(333) 333-3333")
+                .driversLicense("DL333333")
+                .socialSecurity("333-33-3333")
+                .build();
+
+        assertThrows(EmailConflictException.class, () -> service.createApplicants(Arrays.asList(first, second)));
+    }
+
     @Test
     void updateApplicant_throws_emailConflictException_when_email_already_exists() {
         UpdateApplicant dto = updateBuilder
@@ -217,9 +270,31 @@ class ApplicantServiceTest {
     }
 
     @Test
-    void updateApplicant_calls_repository_save_when_applicant_exists() {
-        service.updateApplicant(FOUND, updateBuilder.build());
-        verify(repository, times(1)).save(foundApplicant);
+    void updateApplicant_updates_directly_when_applicant_exists() {
+        when(customRepository.updateNonNull(eq(FOUND), any(), any(), any())).thenReturn(1);
+        service.updateApplicant(FOUND, updateBuilder.firstName("NewName").build());
+        verify(customRepository, times(1)).updateNonNull(eq(FOUND), any(), any(), any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void updateApplicant_does_not_check_uniqueness_of_unchanged_identifiers() {
+        when(customRepository.updateNonNull(eq(FOUND), any(), any(), any())).thenReturn(1);
+        service.updateApplicant(FOUND, updateBuilder
+                .email(foundApplicant.getEmail())
+                .phone(foundApplicant.getPhone())
+                .build());
+        verify(customRepository, never()).findExisting(any());
+    }
+
+    @Test
+    void updateApplicant_throws_conflictException_when_applicant_was_modified_concurrently() {
+        when(customRepository.updateNonNull(eq(FOUND), any(), any(), any())).thenReturn(0);
+        UpdateApplicant dto = updateBuilder
+                .firstName("NewName")
+                .build();
+
+        assertThrows(ConflictException.class, () -> service.updateApplicant(FOUND, dto));
     }
 
     @Test
@@ -228,9 +303,11 @@ class ApplicantServiceTest {
     }
 
     @Test
-    void deleteApplicant_calls_repository_delete_when_applicant_exists() {
+    void deleteApplicant_deletes_directly_when_applicant_exists() {
+        when(customRepository.deleteById(FOUND)).thenReturn(1);
         service.deleteApplicant(FOUND);
-        verify(repository, times(1)).delete(foundApplicant);
+        verify(customRepository, times(1)).deleteById(FOUND);
+        verify(repository, never()).findById(FOUND);
     }
 
 }
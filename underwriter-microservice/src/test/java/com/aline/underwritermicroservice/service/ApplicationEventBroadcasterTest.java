@@ -0,0 +1,95 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.underwritermicroservice.dto.response.ApplicationStatusEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Application Event Broadcaster Test")
+class ApplicationEventBroadcasterTest {
+
+    /**
+     * Send tasks that were handed to the executor but not run, like a subscriber that does not read.
+     */
+    List<Runnable> tasks;
+
+    SimpleMeterRegistry registry;
+
+    ApplicationEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new ArrayList<>();
+        registry = new SimpleMeterRegistry();
+        broadcaster = new ApplicationEventBroadcaster(tasks::add, registry, 2, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    private static ApplicationStatusEvent event(long applicationId, ApplicationType type) {
+        return ApplicationStatusEvent.builder()
+                .applicationId(applicationId)
+                .applicationType(type)
+                .status(ApplicationStatus.APPROVED)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    void publish_skips_subscribers_that_filter_the_event_out() {
+        broadcaster.subscribe(Collections.singletonList(1L), null);
+        broadcaster.subscribe(null, ApplicationType.SAVINGS);
+
+        broadcaster.publish(event(2, ApplicationType.CHECKING));
+
+        assertTrue(tasks.isEmpty());
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void publish_schedules_one_send_per_subscriber_until_it_runs() {
+        broadcaster.subscribe(Collections.singletonList(1L), null);
+
+        broadcaster.publish(event(1, ApplicationType.CHECKING));
+        broadcaster.publish(event(1, ApplicationType.CHECKING));
+
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void publish_disconnects_subscribers_whose_buffer_is_full() {
+        broadcaster.subscribe(null, null);
+
+        broadcaster.publish(event(1, ApplicationType.CHECKING));
+        broadcaster.publish(event(2, ApplicationType.CHECKING));
+        broadcaster.publish(event(3, ApplicationType.CHECKING));
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1, registry.get("underwriter.events.dropped").counter().count());
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void send_disconnects_subscribers_that_read_slower_than_the_write_timeout() {
+        broadcaster = new ApplicationEventBroadcaster(tasks::add, registry, 2, Duration.ofMinutes(1), Duration.ZERO);
+        broadcaster.subscribe(null, null);
+
+        broadcaster.publish(event(1, ApplicationType.CHECKING));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1, registry.get("underwriter.events.dropped").counter().count());
+        assertEquals(1, registry.get("underwriter.events.write").timer().count());
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.response.ApplicationResponse;
+import com.aline.underwritermicroservice.dto.response.CursorPage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Application Fetch Plan Test")
+@Sql(scripts = {"/scripts/applicants.sql", "/scripts/applications.sql"})
+@Transactional
+class ApplicationFetchPlanTest {
+
+    @Autowired
+    ApplicationService service;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Run a read with an empty persistence context.
+     * @return Amount of JDBC statements prepared by the read.
+     */
+    private long statements(Supplier<?> read) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        read.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getApplicationById_fetches_the_applicants_with_the_application() {
+        long statements = statements(() -> service.getApplicationById(1));
+        ApplicationResponse response = service.getApplicationById(1);
+
+        assertEquals(1, statements);
+        assertEquals(2, response.getApplicants().size());
+    }
+
+    @Test
+    void pages_prepare_the_same_amount_of_statements_for_any_amount_of_applications() {
+        PageRequest one = PageRequest.of(0, 1, Sort.by("id"));
+        PageRequest all = PageRequest.of(0, 50, Sort.by("id"));
+
+        long single = statements(() -> service.getApplicationSlice(one, ""));
+        long multiple = statements(() -> service.getApplicationSlice(all, ""));
+        long page = statements(() -> service.getAllApplications(all, ""));
+        Slice<ApplicationResponse> slice = service.getApplicationSlice(all, "");
+
+        assertEquals(single, multiple);
+        assertEquals(multiple, page);
+        assertEquals(4, slice.getNumberOfElements());
+        assertEquals(2, slice.getContent().get(0).getApplicants().size());
+    }
+
+    @Test
+    void getAllApplications_projects_the_same_responses_as_the_mapper() {
+        PageRequest all = PageRequest.of(0, 50, Sort.by("id"));
+
+        List<ApplicationResponse> projected = service.getAllApplications(all, "").getContent();
+        List<ApplicationResponse> mapped = service.getApplicationSlice(all, "").getContent();
+
+        assertEquals(mapped, projected);
+    }
+
+    @Test
+    void cursor_pages_select_ids_first_and_responses_with_one_join() {
+        PageRequest one = PageRequest.of(0, 1, Sort.by("applicationStatus"));
+        PageRequest all = PageRequest.of(0, 50, Sort.by("applicationStatus"));
+
+        long single = statements(() -> service.getAllApplications("", one, ""));
+        long multiple = statements(() -> service.getAllApplications("", all, ""));
+        CursorPage<ApplicationResponse> first = service.getAllApplications("", PageRequest.of(0, 2, Sort.by("id")), "");
+        CursorPage<ApplicationResponse> second = service.getAllApplications(first.getNext(), PageRequest.of(0, 2), "");
+
+        assertEquals(2, single);
+        assertEquals(single, multiple);
+        assertEquals(2, first.getContent().get(0).getApplicants().size());
+        assertEquals(3, second.getContent().get(0).getId());
+        assertEquals(4, second.getContent().get(1).getId());
+    }
+
+}
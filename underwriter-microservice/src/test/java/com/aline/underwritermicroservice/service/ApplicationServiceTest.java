@@ -7,6 +7,7 @@ import com.aline.core.model.Application;
 import com.aline.core.model.ApplicationStatus;
 import com.aline.core.model.ApplicationType;
 import com.aline.core.repository.ApplicationRepository;
+import com.aline.underwritermicroservice.repository.ApplicationCustomRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,7 +23,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +47,9 @@ class ApplicationServiceTest {
     @MockBean
     ApplicationRepository repository;
 
+    @MockBean
+    ApplicationCustomRepository customRepository;
+
     @BeforeEach
     void setUp() {
         Applicant primary = Applicant.builder()
@@ -74,8 +78,8 @@ class ApplicationServiceTest {
         primary.setApplications(Collections.singleton(application));
         primary.setApplications(Collections.singleton(application));
 
-        when(repository.findById(FOUND)).thenReturn(Optional.of(application));
-        when(repository.findById(NOT_FOUND)).thenReturn(Optional.empty());
+        when(customRepository.findWithApplicants(FOUND)).thenReturn(Optional.of(application));
+        when(customRepository.findWithApplicants(NOT_FOUND)).thenReturn(Optional.empty());
     }
 
     @Test
@@ -93,9 +97,11 @@ class ApplicationServiceTest {
     }
 
     @Test
-    void deleteApplication_calls_deleteApplication_if_application_exists() {
+    void deleteApplication_deletes_directly_if_application_exists() {
+        when(customRepository.deleteById(FOUND)).thenReturn(1);
         service.deleteApplication(FOUND);
-        verify(repository).delete(any());
+        verify(customRepository).deleteById(FOUND);
+        verify(repository, never()).findById(FOUND);
     }
 
     @Test
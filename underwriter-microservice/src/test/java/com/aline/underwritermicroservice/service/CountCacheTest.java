@@ -0,0 +1,66 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Count Cache Test")
+class CountCacheTest {
+
+    CountCache cache;
+
+    AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CountCache(new SimpleMeterRegistry(), Duration.ofMinutes(1), 10);
+        queries = new AtomicInteger();
+    }
+
+    private long count(Class<?> type, String search) {
+        return cache.count(type, search, () -> {
+            queries.incrementAndGet();
+            return 42;
+        });
+    }
+
+    @Test
+    void count_is_queried_once_for_equivalent_searches() {
+        assertEquals(42, count(Applicant.class, "John Smith"));
+        assertEquals(42, count(Applicant.class, "  smith   JOHN john "));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void invalidate_only_clears_counts_of_the_written_entity() {
+        count(Applicant.class, "john");
+        count(Application.class, "john");
+        cache.invalidate(Applicant.class);
+        count(Applicant.class, "john");
+        count(Application.class, "john");
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void count_is_always_queried_when_ttl_is_zero() {
+        cache = new CountCache(new SimpleMeterRegistry(), Duration.ZERO, 10);
+        count(Applicant.class, "john");
+        count(Applicant.class, "john");
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void normalize_ignores_case_whitespace_order_and_duplicates() {
+        assertEquals("john smith", CountCache.normalize(" Smith  john SMITH "));
+        assertEquals("", CountCache.normalize("   "));
+    }
+
+}
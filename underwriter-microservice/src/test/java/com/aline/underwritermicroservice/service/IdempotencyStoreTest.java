@@ -0,0 +1,89 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.exception.ConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Idempotency Store Test")
+class IdempotencyStoreTest {
+
+    IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new ObjectMapper(), 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void execute_runs_once_and_replays_the_stored_result() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyStore.Execution<Integer> first = store.execute("key", "request", runs::incrementAndGet);
+        IdempotencyStore.Execution<Integer> second = store.execute("key", "request", runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertEquals(first.getResult(), second.getResult());
+    }
+
+    @Test
+    void execute_waits_for_the_result_of_an_in_flight_duplicate() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<IdempotencyStore.Execution<Integer>> first = CompletableFuture.supplyAsync(() ->
+                store.execute("key", "request", () -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return runs.incrementAndGet();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyStore.Execution<Integer>> second = CompletableFuture.supplyAsync(() ->
+                store.execute("key", "request", runs::incrementAndGet));
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getResult());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).getResult());
+        assertTrue(second.get().isReplayed());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_throws_conflictException_when_key_is_reused_for_a_different_request() {
+        store.execute("key", "request", () -> 1);
+
+        assertThrows(ConflictException.class, () -> store.execute("key", "other request", () -> 2));
+    }
+
+    @Test
+    void execute_releases_the_key_when_the_request_fails() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "request", () -> {
+            throw new IllegalStateException();
+        }));
+
+        IdempotencyStore.Execution<Integer> retry = store.execute("key", "request", () -> 1);
+
+        assertFalse(retry.isReplayed());
+        assertEquals(1, retry.getResult());
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.aline.underwritermicroservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the exports against MySQL, where a streaming result set blocks every other query on its connection
+ * and the fetch size only applies with <code>useCursorFetch=true</code>. Skipped when Docker is not available.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.export.fetch-size=2")
+@DisplayName("MySQL Export Test")
+@Sql(scripts = {"/scripts/applicants.sql", "/scripts/applications.sql"})
+@Transactional
+@Testcontainers(disabledWithoutDocker = true)
+class MySqlExportTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useCursorFetch=true");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQL8Dialect");
+    }
+
+    @Autowired
+    ApplicantService applicantService;
+
+    @Autowired
+    ApplicationService applicationService;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    private String[] lines(ByteArrayOutputStream out) {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void exportApplicants_streams_every_applicant_with_a_cursor() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = applicantService.exportApplicants("", out);
+
+        String[] lines = lines(out);
+        assertEquals(4, exported);
+        for (int i = 0; i < lines.length; i++)
+            assertEquals(i + 1, mapper.readTree(lines[i]).get("id").asLong());
+    }
+
+    @Test
+    void exportApplications_writes_every_application_with_its_applicants_in_chunks() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = applicationService.exportApplications("", out);
+
+        String[] lines = lines(out);
+        assertEquals(4, exported);
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals(2, first.get("applicants").size());
+        assertEquals(4, mapper.readTree(lines[3]).get("id").asLong());
+    }
+
+}
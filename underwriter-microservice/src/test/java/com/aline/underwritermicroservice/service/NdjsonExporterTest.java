@@ -0,0 +1,65 @@
+package com.aline.underwritermicroservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.export.fetch-size=2")
+@DisplayName("NDJSON Export Test")
+@Sql(scripts = {"/scripts/applicants.sql", "/scripts/applications.sql"})
+@Transactional
+class NdjsonExporterTest {
+
+    @Autowired
+    ApplicantService applicantService;
+
+    @Autowired
+    ApplicationService applicationService;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    private String[] lines(ByteArrayOutputStream out) {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void exportApplicants_writes_one_matching_applicant_per_line_sorted_by_id() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = applicantService.exportApplicants("metropolis", out);
+
+        String[] lines = lines(out);
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertEquals(3, mapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(4, mapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void exportApplications_writes_every_application_with_its_applicants() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = applicationService.exportApplications("", out);
+
+        String[] lines = lines(out);
+        assertEquals(4, exported);
+        assertEquals(4, lines.length);
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals(2, first.get("applicants").size());
+    }
+
+}
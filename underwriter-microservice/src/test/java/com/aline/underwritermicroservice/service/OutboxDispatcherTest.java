@@ -0,0 +1,227 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.Applicant;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Gender;
+import com.aline.core.repository.ApplicantRepository;
+import com.aline.core.repository.ApplicationRepository;
+import com.aline.underwritermicroservice.model.OutboxEvent;
+import com.aline.underwritermicroservice.repository.OutboxEventRepository;
+import com.aline.underwritermicroservice.service.function.ApplyResponseConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.outbox.initial-backoff=0s")
+@DisplayName("Outbox Dispatcher Test")
+class OutboxDispatcherTest {
+
+    @Autowired
+    ApplyResponseOutbox outbox;
+
+    @Autowired
+    OutboxDispatcher dispatcher;
+
+    @Autowired
+    OutboxEventRepository repository;
+
+    @Autowired
+    RecordingConsumer consumer;
+
+    @Autowired
+    CountingConsumer countingConsumer;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationService applicationService;
+
+    @Autowired
+    ApplicationRepository applicationRepository;
+
+    @Autowired
+    ApplicantRepository applicantRepository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        consumer.received.clear();
+        countingConsumer.received.clear();
+    }
+
+    private static ApplyResponse response(long applicationId, ApplicationStatus status) {
+        ApplyResponse response = new ApplyResponse();
+        response.setId(applicationId);
+        response.setStatus(status);
+        return response;
+    }
+
+    private List<String> received(long applicationId) {
+        return consumer.received.stream()
+                .filter(response -> response.getId() == applicationId)
+                .map(response -> response.getStatus().name())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void dispatch_delivers_events_in_order_per_application_and_retries_failures() {
+        long lagged = registry.get("underwriter.outbox.lag").timer().count();
+        double retried = registry.get("underwriter.outbox.events").tag("result", "retried").counter().count();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outbox.add(response(10, ApplicationStatus.PENDING));
+            outbox.add(response(10, ApplicationStatus.APPROVED));
+            outbox.add(response(11, ApplicationStatus.DENIED));
+        });
+        consumer.failures.set(1);
+
+        // The first event of application 10 fails and holds back the second one.
+        assertEquals(2, dispatcher.dispatch());
+        assertTrue(received(10).isEmpty());
+        assertThat(received(11), contains("DENIED"));
+
+        while (dispatcher.dispatch() > 0) {
+            // Retry and deliver the remaining events.
+        }
+
+        assertThat(received(10), contains("PENDING", "APPROVED"));
+        assertEquals(0, repository.count());
+        assertEquals(lagged + 3, registry.get("underwriter.outbox.lag").timer().count());
+        assertEquals(retried + 1, registry.get("underwriter.outbox.events").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    void dispatch_retries_an_event_only_for_the_consumers_that_failed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outbox.add(response(20, ApplicationStatus.APPROVED)));
+        consumer.failures.set(1);
+
+        while (dispatcher.dispatch() > 0) {
+            // Retry until every consumer accepted the event.
+        }
+
+        assertThat(received(20), contains("APPROVED"));
+        assertEquals(1, countingConsumer.received.size());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void apply_records_its_response_and_dispatch_delivers_it_after_commit() {
+        // Without an income the application is denied, so no members or accounts are created.
+        CreateApplicant applicant = CreateApplicant.builder()
+                .firstName("Richard")
+                .lastName("Donovan")
+                .email("rickdonovan@email.com")
+                .phone("(555) 555-5555")
+                .dateOfBirth(LocalDate.of(1990, 8, 9))
+                .gender(Gender.MALE)
+                .socialSecurity("555-55-5555")
+                .driversLicense("ABC123456789")
+                .address("123 Address St")
+                .city("Townsville")
+                .state("Idaho")
+                .zipcode("83202")
+                .mailingAddress("123 Address St")
+                .mailingCity("Townsville")
+                .mailingState("Idaho")
+                .mailingZipcode("83202")
+                .build();
+        ApplyResponse response = applicationService.apply(ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING)
+                .applicants(new LinkedHashSet<>(Collections.singleton(applicant)))
+                .build());
+        try {
+            List<OutboxEvent> events = repository.findAll();
+            assertEquals(1, events.size());
+            assertEquals(response.getId(), events.get(0).getApplicationId());
+            assertTrue(received(response.getId()).isEmpty());
+
+            while (dispatcher.dispatch() > 0) {
+                // Deliver the recorded response.
+            }
+
+            assertThat(received(response.getId()), contains(response.getStatus().name()));
+            assertEquals(0, repository.count());
+        } finally {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<Long> applicantIds = applicationRepository.findById(response.getId())
+                        .map(application -> application.getApplicants().stream()
+                                .map(Applicant::getId)
+                                .collect(Collectors.toList()))
+                        .orElse(Collections.emptyList());
+                applicationService.deleteApplication(response.getId());
+                applicantIds.forEach(applicantRepository::deleteById);
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class Consumers {
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+
+        @Bean
+        CountingConsumer countingConsumer() {
+            return new CountingConsumer();
+        }
+
+    }
+
+    static class RecordingConsumer implements ApplyResponseConsumer {
+
+        final List<ApplyResponse> received = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void onRespond(ApplyResponse response) {
+            if (failures.getAndDecrement() > 0)
+                throw new IllegalStateException("Consumer is unavailable.");
+            received.add(response);
+        }
+
+    }
+
+    static class CountingConsumer implements ApplyResponseConsumer {
+
+        final List<ApplyResponse> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onRespond(ApplyResponse response) {
+            received.add(response);
+        }
+
+    }
+
+}
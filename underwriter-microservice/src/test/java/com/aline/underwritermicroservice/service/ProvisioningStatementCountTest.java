@@ -0,0 +1,100 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.dto.request.ApplyRequest;
+import com.aline.core.dto.request.CreateApplicant;
+import com.aline.core.dto.response.ApplyResponse;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.model.Gender;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Provisioning Statement Count Test")
+@Transactional
+class ProvisioningStatementCountTest {
+
+    /**
+     * Statements that do not depend on the amount of applicants: the uniqueness query, the application
+     * insert, the batch of application applicant rows, the status update and the batch of rows joining
+     * members and accounts.
+     */
+    private static final int FIXED_STATEMENTS = 5;
+
+    @Autowired
+    ApplicationService service;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static CreateApplicant applicant(int n) {
+        return CreateApplicant.builder()
+                .firstName("Provisioning")
+                .lastName("Test")
+                .email(String.format("provisioning%d@email.com", n))
+                .phone(String.format("(555) 555-%04d", n))
+                .dateOfBirth(LocalDate.of(1990, 8, 9))
+                .gender(Gender.FEMALE)
+                .socialSecurity(String.format("555-55-%04d", n))
+                .driversLicense(String.format("PT%010d", n))
+                .income(4500000)
+                .address("123 Address St")
+                .city("Townsville")
+                .state("Idaho")
+                .zipcode("83202")
+                .mailingAddress("123 Address St")
+                .mailingCity("Townsville")
+                .mailingState("Idaho")
+                .mailingZipcode("83202")
+                .build();
+    }
+
+    @Test
+    void apply_provisions_an_approved_application_within_a_fixed_amount_of_statements() {
+        int applicants = 3;
+        int accounts = 2;
+        LinkedHashSet<CreateApplicant> createApplicants = new LinkedHashSet<>();
+        for (int i = 1; i <= applicants; i++)
+            createApplicants.add(applicant(i));
+        ApplyRequest request = ApplyRequest.builder()
+                .applicationType(ApplicationType.CHECKING_AND_SAVINGS)
+                .applicants(createApplicants)
+                .build();
+
+        statistics.clear();
+        ApplyResponse response = service.apply(request);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(ApplicationStatus.APPROVED, response.getStatus());
+        assertEquals(applicants, response.getCreatedMembers().size());
+        assertEquals(accounts, response.getCreatedAccounts().size());
+        // Applicants, members and accounts have identity IDs and are inserted one at a time.
+        // Everything else, including the member updates of the old flow, must be batched.
+        long bound = FIXED_STATEMENTS + 2L * applicants + accounts;
+        assertTrue(statements <= bound, String.format("Expected at most %d statements but %d were prepared.", bound, statements));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.aline.underwritermicroservice.service;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import com.aline.core.repository.ApplicationRepository;
+import com.aline.underwritermicroservice.repository.ApplicationCustomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "underwriter.cache.enabled=true")
+@DisplayName("Response Cache Test")
+class ResponseCacheTest {
+
+    private static final long ID = 1;
+
+    @Autowired
+    ApplicationService service;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @MockBean
+    ApplicationRepository repository;
+
+    @MockBean
+    ApplicationCustomRepository customRepository;
+
+    @BeforeEach
+    void setUp() {
+        Applicant primary = Applicant.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Smith")
+                .build();
+
+        Application application = Application.builder()
+                .id(ID)
+                .applicationType(ApplicationType.CHECKING)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .primaryApplicant(primary)
+                .applicants(Collections.singleton(primary))
+                .build();
+
+        when(customRepository.findWithApplicants(ID)).thenReturn(Optional.of(application));
+        when(customRepository.deleteById(ID)).thenReturn(1);
+    }
+
+    @Test
+    void getApplicationById_is_cached_until_application_is_deleted() {
+        service.getApplicationById(ID);
+        service.getApplicationById(ID);
+        verify(customRepository, times(1)).findWithApplicants(ID);
+
+        service.deleteApplication(ID);
+        verify(customRepository, times(1)).findWithApplicants(ID);
+
+        service.getApplicationById(ID);
+        verify(customRepository, times(2)).findWithApplicants(ID);
+
+        FunctionCounter hits = registry.find("cache.gets")
+                .tag("cache", "applications")
+                .tag("result", "hit")
+                .functionCounter();
+        assertNotNull(hits);
+        assertEquals(1, hits.count());
+    }
+
+}
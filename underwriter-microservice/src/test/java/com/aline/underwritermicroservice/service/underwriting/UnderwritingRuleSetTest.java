@@ -0,0 +1,114 @@
+package com.aline.underwritermicroservice.service.underwriting;
+
+import com.aline.core.model.Applicant;
+import com.aline.core.model.Application;
+import com.aline.core.model.ApplicationStatus;
+import com.aline.core.model.ApplicationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Underwriting Rule Set Test")
+class UnderwritingRuleSetTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2021-07-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private static Applicant applicant(int income, LocalDate dateOfBirth) {
+        return Applicant.builder()
+                .firstName("John")
+                .lastName("Smith")
+                .income(income)
+                .dateOfBirth(dateOfBirth)
+                .build();
+    }
+
+    private static Application application(ApplicationType type, Applicant... applicants) {
+        return Application.builder()
+                .applicationType(type)
+                .applicationStatus(ApplicationStatus.PENDING)
+                .primaryApplicant(applicants[0])
+                .applicants(new LinkedHashSet<>(Arrays.asList(applicants)))
+                .build();
+    }
+
+    private static UnderwritingRuleSet ruleSet() {
+        return new UnderwritingRuleSet(Arrays.asList(
+                new ApplicationTypeRule(Arrays.asList(ApplicationType.CHECKING, ApplicationType.SAVINGS)),
+                new MinimumIncomeRule(1500000),
+                new CoApplicantIncomeRule(500000),
+                new MinimumAgeRule(18, CLOCK)));
+    }
+
+    @Test
+    void evaluate_returns_null_when_every_rule_is_met() {
+        Application application = application(ApplicationType.CHECKING,
+                applicant(1500000, LocalDate.of(1990, 1, 1)),
+                applicant(500000, LocalDate.of(2003, 7, 1)));
+        assertNull(ruleSet().evaluate(application));
+    }
+
+    @Test
+    void evaluate_returns_reason_of_first_failing_rule() {
+        Application application = application(ApplicationType.CHECKING,
+                applicant(1000000, LocalDate.of(2010, 1, 1)));
+        assertEquals("Income is not sufficient for approval.", ruleSet().evaluate(application));
+    }
+
+    @Test
+    void evaluate_checks_every_co_applicant() {
+        Application application = application(ApplicationType.SAVINGS,
+                applicant(1500000, LocalDate.of(1990, 1, 1)),
+                applicant(500000, LocalDate.of(1990, 1, 1)),
+                applicant(0, LocalDate.of(1990, 1, 1)));
+        assertEquals("Co-applicant income is not sufficient for approval.", ruleSet().evaluate(application));
+    }
+
+    @Test
+    void evaluate_denies_applicant_younger_than_minimum_age() {
+        Application application = application(ApplicationType.CHECKING,
+                applicant(1500000, LocalDate.of(2003, 7, 2)));
+        assertEquals("All applicants must be at least 18 years old.", ruleSet().evaluate(application));
+    }
+
+    @Test
+    void evaluate_denies_application_type_that_is_not_offered() {
+        Application application = application(ApplicationType.CREDIT_CARD,
+                applicant(1500000, LocalDate.of(1990, 1, 1)));
+        assertEquals("Application type is not offered.", ruleSet().evaluate(application));
+    }
+
+    @Test
+    void evaluate_skips_rules_that_do_not_apply_to_application_type() {
+        UnderwritingRule savingsOnly = new UnderwritingRule() {
+            @Override
+            public boolean appliesTo(ApplicationType applicationType) {
+                return applicationType == ApplicationType.SAVINGS;
+            }
+
+            @Override
+            public boolean test(Application application) {
+                return false;
+            }
+
+            @Override
+            public String getReason() {
+                return "Savings are not offered.";
+            }
+        };
+        UnderwritingRuleSet ruleSet = new UnderwritingRuleSet(Collections.singletonList(savingsOnly));
+
+        assertNull(ruleSet.evaluate(application(ApplicationType.CHECKING, applicant(0, null))));
+        assertEquals("Savings are not offered.", ruleSet.evaluate(application(ApplicationType.SAVINGS, applicant(0, null))));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.aline.underwritermicroservice.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Counting Bloom Filter Test")
+class CountingBloomFilterTest {
+
+    private static final int VALUES = 10000;
+
+    CountingBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CountingBloomFilter(VALUES, 0.01);
+        for (int i = 0; i < VALUES; i++) {
+            filter.put(email(i));
+        }
+    }
+
+    private static String email(int i) {
+        return String.format("applicant%d@email.com", i);
+    }
+
+    @Test
+    void mightContain_is_true_for_every_added_value() {
+        for (int i = 0; i < VALUES; i++) {
+            assertTrue(filter.mightContain(email(i)));
+        }
+        assertEquals(VALUES, filter.insertions());
+    }
+
+    @Test
+    void false_positive_rate_is_close_to_the_configured_rate() {
+        int falsePositives = 0;
+        for (int i = VALUES; i < VALUES * 2; i++) {
+            if (filter.mightContain(email(i)))
+                falsePositives++;
+        }
+        assertTrue(falsePositives < VALUES * 0.02, "False positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void removed_values_are_no_longer_contained_and_others_are_kept() {
+        int stillContained = 0;
+        for (int i = 0; i < VALUES / 2; i++) {
+            filter.remove(email(i));
+        }
+        for (int i = 0; i < VALUES / 2; i++) {
+            if (filter.mightContain(email(i)))
+                stillContained++;
+        }
+        for (int i = VALUES / 2; i < VALUES; i++) {
+            assertTrue(filter.mightContain(email(i)));
+        }
+        assertTrue(stillContained < VALUES * 0.02, "Still contained: " + stillContained);
+        assertEquals(VALUES / 2, filter.insertions());
+    }
+
+    @Test
+    void null_values_are_ignored() {
+        filter.put(null);
+        assertFalse(filter.mightContain(null));
+        assertEquals(VALUES, filter.insertions());
+    }
+
+    @Test
+    void constructor_throws_illegalArgumentException_when_parameters_are_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1));
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.aline.underwritermicroservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("CSV Reader Test")
+class CsvReaderTest {
+
+    @Test
+    void readRecord_splits_fields_and_records() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\nx"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), reader.readRecord());
+        assertEquals(Arrays.asList("1", "", "3"), reader.readRecord());
+        assertEquals(Collections.singletonList("x"), reader.readRecord());
+        assertNull(reader.readRecord());
+        assertEquals(3, reader.getRecordNumber());
+    }
+
+    @Test
+    void readRecord_keeps_commas_line_breaks_and_escaped_quotes_of_quoted_fields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"line\r\nbreak\",\"say \"\"hi\"\"\"\nnext\n"));
+
+        assertEquals(Arrays.asList("a,b", "line\r\nbreak", "say \"hi\""), reader.readRecord());
+        assertEquals(Collections.singletonList("next"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readRecord_reads_records_larger_than_its_buffer() throws IOException {
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            field.append((char) ('a' + i % 26));
+        }
+        CsvReader reader = new CsvReader(new StringReader(field + ",end\r\n" + field + "\r\n"));
+
+        assertEquals(Arrays.asList(field.toString(), "end"), reader.readRecord());
+        assertEquals(Collections.singletonList(field.toString()), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+}
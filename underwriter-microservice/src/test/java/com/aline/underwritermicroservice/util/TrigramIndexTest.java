@@ -0,0 +1,86 @@
+package com.aline.underwritermicroservice.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Trigram Index Test")
+class TrigramIndexTest {
+
+    TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, "Bruce", "Wayne", "Gotham", "Illinois", "Metropolis");
+        index.put(2, "Barry", "Allen", "Central City", "New Jersey", "Metropolis");
+        index.put(3, "Peter", "Parker", "Los Angeles", "California");
+        index.put(4, "Tony", "Stark", "Detroit", "Michigan", "Los Angeles");
+        index.put(5, "Diana", "Prince", "Lansing", "Michigan");
+    }
+
+    @Test
+    void search_is_case_insensitive_substring_search() {
+        assertArrayEquals(new long[] {1, 2}, index.search("METROPOLIS", true));
+        assertArrayEquals(new long[] {1, 2}, index.search("ropol", true));
+        assertArrayEquals(new long[] {4}, index.search("stark", true));
+    }
+
+    @Test
+    void search_ranks_documents_matching_more_terms_first() {
+        assertArrayEquals(new long[] {4, 3, 5}, index.search("los angeles michigan", true));
+        assertArrayEquals(new long[] {5, 4}, index.search("michigan", false));
+    }
+
+    @Test
+    void search_matches_short_terms() {
+        assertArrayEquals(new long[] {3, 4, 5}, index.search("an", true));
+    }
+
+    @Test
+    void search_pages_in_id_order_unless_ranked() {
+        TrigramIndex.Result page = index.search("los angeles michigan", false, true, 1, 2);
+        assertArrayEquals(new long[] {4, 5}, page.getIds());
+        assertEquals(3, page.getTotal());
+
+        page = index.search("los angeles michigan", false, false, 0, 2);
+        assertArrayEquals(new long[] {5, 4}, page.getIds());
+    }
+
+    @Test
+    void search_keeps_only_the_ranked_page() {
+        TrigramIndex.Result page = index.search("los angeles michigan", true, true, 1, 1);
+        assertArrayEquals(new long[] {3}, page.getIds());
+        assertEquals(3, page.getTotal());
+
+        assertEquals(0, index.search("los angeles michigan", true, true, 3, 1).getIds().length);
+    }
+
+    @Test
+    void search_matches_short_terms_within_a_field() {
+        assertArrayEquals(new long[] {1, 2, 3, 4, 5}, index.search("e", true));
+        assertArrayEquals(new long[] {2}, index.search("ew", true));
+        assertEquals(0, index.search("rp", true).length);
+    }
+
+    @Test
+    void search_does_not_match_across_fields() {
+        assertEquals(0, index.search("ceway", true).length);
+        assertEquals(0, index.search("", true).length);
+    }
+
+    @Test
+    void put_replaces_and_remove_deletes_a_document() {
+        index.put(5, "Diana", "Prince", "Themyscira");
+        assertArrayEquals(new long[] {4}, index.search("michigan", true));
+        assertArrayEquals(new long[] {5}, index.search("themyscira", true));
+
+        index.remove(4);
+        assertEquals(0, index.search("michigan", true).length);
+        assertEquals(4, index.size());
+    }
+
+}